@@ -0,0 +1,72 @@
+/*
+ * Copyright The Original Author or Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.jenkins.plugins.opentelemetry.api;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.NoBenchmarksException;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>
+ * Runs the JMH benchmarks matching the regexp passed as first argument with 1, 8 and 64 threads, reporting the
+ * throughput and the allocation rate measured by the {@link GCProfiler}.
+ * </p>
+ * <p>
+ * The benchmarks made of thread groups, see {@link #GROUPED_BENCHMARKS}, are left out of the sweep as setting the
+ * number of threads overrides their {@link org.openjdk.jmh.annotations.GroupThreads}, they are run once with the
+ * threads of their groups.
+ * </p>
+ * <p>
+ * Usage: {@code mvn -Pjmh test-compile exec:exec [-Djmh.includes=MetricsBenchmark]}, the results are written in
+ * {@code target/jmh-result-<threads>-threads.json} and {@code target/jmh-result-grouped.json}.
+ * </p>
+ */
+public class BenchmarkRunner {
+
+    static final int[] THREADS = {1, 8, 64};
+
+    /**
+     * Benchmarks whose methods are run concurrently by thread groups
+     */
+    static final List<Class<?>> GROUPED_BENCHMARKS = List.of(ReconfigurationBenchmark.class);
+
+    public static void main(String[] args) throws RunnerException {
+        String includes = args.length > 0 ? args[0] : BenchmarkRunner.class.getPackageName() + ".*Benchmark";
+        String groupedBenchmarks = GROUPED_BENCHMARKS.stream()
+                .map(benchmark -> Pattern.quote(benchmark.getName() + "."))
+                .collect(Collectors.joining("|"));
+        for (int threads : THREADS) {
+            run(newOptionsBuilder(includes, "target/jmh-result-" + threads + "-threads.json")
+                    .exclude(groupedBenchmarks)
+                    .threads(threads));
+        }
+        // exclude the benchmarks that are not grouped
+        run(newOptionsBuilder(includes, "target/jmh-result-grouped.json").exclude("^(?!" + groupedBenchmarks + ")"));
+    }
+
+    private static ChainedOptionsBuilder newOptionsBuilder(String includes, String result) {
+        return new OptionsBuilder()
+                .include(includes)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result);
+    }
+
+    private static void run(ChainedOptionsBuilder options) throws RunnerException {
+        try {
+            new Runner(options.build()).run();
+        } catch (NoBenchmarksException e) {
+            // no benchmark matching the includes in this run
+        }
+    }
+}
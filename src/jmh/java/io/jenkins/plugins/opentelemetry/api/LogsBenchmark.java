@@ -0,0 +1,64 @@
+/*
+ * Copyright The Original Author or Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.jenkins.plugins.opentelemetry.api;
+
+import io.opentelemetry.api.logs.Logger;
+import io.opentelemetry.sdk.logs.SdkLoggerProvider;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of emitting log records through the {@link ReconfigurableLoggerProvider} loggers compared to the loggers of the
+ * bare {@link SdkLoggerProvider}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LogsBenchmark {
+
+    SdkLoggerProvider sdkLoggerProvider;
+
+    Logger sdkLogger;
+    Logger reconfigurableLogger;
+
+    @Setup
+    public void setup() {
+        sdkLoggerProvider = SdkLoggerProvider.builder().build();
+        ReconfigurableLoggerProvider reconfigurableLoggerProvider = new ReconfigurableLoggerProvider();
+        reconfigurableLoggerProvider.setDelegate(sdkLoggerProvider);
+
+        sdkLogger = sdkLoggerProvider.get("benchmark.sdk");
+        reconfigurableLogger = reconfigurableLoggerProvider.get("benchmark.reconfigurable");
+    }
+
+    @TearDown
+    public void tearDown() {
+        sdkLoggerProvider.shutdown().join(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public void sdkLogRecord() {
+        sdkLogger.logRecordBuilder().setBody("benchmark").emit();
+    }
+
+    @Benchmark
+    public void reconfigurableLogRecord() {
+        reconfigurableLogger.logRecordBuilder().setBody("benchmark").emit();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright The Original Author or Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.jenkins.plugins.opentelemetry.api;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of recording measurements through the {@link ReconfigurableMeterProvider} instruments compared to the
+ * instruments of the bare {@link SdkMeterProvider}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+
+    static final Attributes ATTRIBUTES = Attributes.of(AttributeKey.stringKey("ci.pipeline.id"), "my-pipeline");
+
+    SdkMeterProvider sdkMeterProvider;
+
+    LongCounter sdkLongCounter;
+    LongCounter reconfigurableLongCounter;
+    DoubleHistogram sdkDoubleHistogram;
+    DoubleHistogram reconfigurableDoubleHistogram;
+
+    @Setup
+    public void setup() {
+        sdkMeterProvider = SdkMeterProvider.builder()
+                .registerMetricReader(InMemoryMetricReader.create())
+                .build();
+        ReconfigurableMeterProvider reconfigurableMeterProvider = new ReconfigurableMeterProvider();
+        reconfigurableMeterProvider.setDelegate(sdkMeterProvider);
+
+        Meter sdkMeter = sdkMeterProvider.get("benchmark.sdk");
+        sdkLongCounter = sdkMeter.counterBuilder("benchmark.counter").build();
+        sdkDoubleHistogram = sdkMeter.histogramBuilder("benchmark.histogram").build();
+
+        Meter reconfigurableMeter = reconfigurableMeterProvider.get("benchmark.reconfigurable");
+        reconfigurableLongCounter = reconfigurableMeter.counterBuilder("benchmark.counter").build();
+        reconfigurableDoubleHistogram = reconfigurableMeter.histogramBuilder("benchmark.histogram").build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sdkMeterProvider.shutdown().join(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public void sdkLongCounterAdd() {
+        sdkLongCounter.add(1, ATTRIBUTES);
+    }
+
+    @Benchmark
+    public void reconfigurableLongCounterAdd() {
+        reconfigurableLongCounter.add(1, ATTRIBUTES);
+    }
+
+    @Benchmark
+    public void sdkDoubleHistogramRecord() {
+        sdkDoubleHistogram.record(12.5, ATTRIBUTES);
+    }
+
+    @Benchmark
+    public void reconfigurableDoubleHistogramRecord() {
+        reconfigurableDoubleHistogram.record(12.5, ATTRIBUTES);
+    }
+}
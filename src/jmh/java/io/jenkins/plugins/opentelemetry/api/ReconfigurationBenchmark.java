@@ -0,0 +1,112 @@
+/*
+ * Copyright The Original Author or Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.jenkins.plugins.opentelemetry.api;
+
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>
+ * Latency of {@link ReconfigurableMeterProvider#setDelegate(io.opentelemetry.api.metrics.MeterProvider)} as a function
+ * of the number of registered instruments (counters, histograms, observable gauges and batch callbacks, see
+ * {@link ReconfigurableMeterProviderITTest#registerInstruments(io.opentelemetry.api.metrics.Meter, int)}).
+ * </p>
+ * <p>
+ * The {@code reconfiguration} group runs one thread reconfiguring the meter provider in a loop while other threads
+ * record measurements, the sampled percentiles of {@code reconfiguration:record} give the recording latency seen
+ * during reconfigurations.
+ * </p>
+ * <p>
+ * As in {@link ReconfigurableOpenTelemetry}, the replaced SDK meter provider is shut down asynchronously, outside of
+ * the measured reconfiguration.
+ * </p>
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class ReconfigurationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int instrumentCount;
+
+    ReconfigurableMeterProvider reconfigurableMeterProvider;
+    SdkMeterProvider sdkMeterProvider;
+    List<LongCounter> longCounters;
+    ExecutorService shutdownExecutor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        shutdownExecutor = Executors.newSingleThreadExecutor();
+        reconfigurableMeterProvider = new ReconfigurableMeterProvider();
+        sdkMeterProvider = newSdkMeterProvider();
+        reconfigurableMeterProvider.setDelegate(sdkMeterProvider);
+        longCounters = ReconfigurableMeterProviderITTest.registerInstruments(
+                reconfigurableMeterProvider.get("benchmark"), instrumentCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        shutdownExecutor.shutdown();
+        shutdownExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        sdkMeterProvider.shutdown().join(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    @Group("reconfiguration")
+    @GroupThreads(1)
+    public void reconfigure() {
+        SdkMeterProvider previousSdkMeterProvider = sdkMeterProvider;
+        sdkMeterProvider = newSdkMeterProvider();
+        reconfigurableMeterProvider.setDelegate(sdkMeterProvider);
+        shutdownExecutor.execute(previousSdkMeterProvider::shutdown);
+    }
+
+    @Benchmark
+    @Group("reconfiguration")
+    @GroupThreads(3)
+    public void record(RecorderState recorderState) {
+        longCounters.get(recorderState.next(longCounters.size())).add(1);
+    }
+
+    @State(Scope.Thread)
+    public static class RecorderState {
+        int index;
+
+        int next(int size) {
+            index = index + 1 == size ? 0 : index + 1;
+            return index;
+        }
+    }
+
+    static SdkMeterProvider newSdkMeterProvider() {
+        return SdkMeterProvider.builder()
+                .registerMetricReader(InMemoryMetricReader.create())
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright The Original Author or Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.jenkins.plugins.opentelemetry.api;
+
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of creating spans through the {@link ReconfigurableTracerProvider} tracers compared to the tracers of the bare
+ * {@link SdkTracerProvider}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TracesBenchmark {
+
+    SdkTracerProvider sdkTracerProvider;
+
+    Tracer sdkTracer;
+    Tracer reconfigurableTracer;
+
+    @Setup
+    public void setup() {
+        sdkTracerProvider = SdkTracerProvider.builder().build();
+        ReconfigurableTracerProvider reconfigurableTracerProvider = new ReconfigurableTracerProvider();
+        reconfigurableTracerProvider.setDelegate(sdkTracerProvider);
+
+        sdkTracer = sdkTracerProvider.get("benchmark.sdk");
+        reconfigurableTracer = reconfigurableTracerProvider.get("benchmark.reconfigurable");
+    }
+
+    @TearDown
+    public void tearDown() {
+        sdkTracerProvider.shutdown().join(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public void sdkSpan() {
+        sdkTracer.spanBuilder("benchmark").startSpan().end();
+    }
+
+    @Benchmark
+    public void reconfigurableSpan() {
+        reconfigurableTracer.spanBuilder("benchmark").startSpan().end();
+    }
+}
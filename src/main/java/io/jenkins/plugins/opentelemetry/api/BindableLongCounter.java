@@ -0,0 +1,34 @@
+/*
+ * Copyright The Original Author or Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.jenkins.plugins.opentelemetry.api;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+
+/**
+ * <p>
+ * {@link LongCounter} created by the {@link ExtendedOpenTelemetry} meters that can be bound to a set of
+ * {@link Attributes}.
+ * </p>
+ * <p>
+ * Bind the attribute combinations known upfront (per executor, per label...) once and record through the
+ * {@link BoundLongCounter} rather than invoking {@link #add(long, Attributes)} each time: the cardinality limit of the
+ * bound attributes is checked and the target of the measurements is resolved when the counter is bound, and resolved
+ * again only after a reconfiguration. When the counter is pre-aggregated (see {@link PreAggregatableCounterBuilder}),
+ * recording through the bound counter increments the cell of the bound attributes without any lookup. Otherwise the
+ * OpenTelemetry SDK, that doesn't expose bound instruments, still looks up the series of the bound attributes on each
+ * measurement.
+ * </p>
+ */
+public interface BindableLongCounter extends LongCounter {
+
+    /**
+     * @param attributes the attributes of all the measurements recorded through the returned counter
+     * @return a counter recording measurements with the given attributes. The bound counter remains valid when the
+     * OpenTelemetry SDK is reconfigured, it transparently records in the new SDK.
+     */
+    BoundLongCounter bind(Attributes attributes);
+}
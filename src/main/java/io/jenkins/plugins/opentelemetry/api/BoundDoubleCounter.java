@@ -0,0 +1,31 @@
+/*
+ * Copyright The Original Author or Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.jenkins.plugins.opentelemetry.api;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.context.Context;
+
+/**
+ * {@link BindableDoubleCounter} bound to a set of {@link Attributes}, see
+ * {@link BindableDoubleCounter#bind(Attributes)}
+ */
+public interface BoundDoubleCounter {
+
+    /**
+     * Records a value with the bound attributes
+     *
+     * @param value the increment amount, must be non-negative
+     */
+    void add(double value);
+
+    /**
+     * Records a value with the bound attributes
+     *
+     * @param value the increment amount, must be non-negative
+     * @param context the explicit context to associate with this measurement
+     */
+    void add(double value, Context context);
+}
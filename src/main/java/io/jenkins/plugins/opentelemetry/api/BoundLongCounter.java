@@ -0,0 +1,30 @@
+/*
+ * Copyright The Original Author or Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.jenkins.plugins.opentelemetry.api;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.context.Context;
+
+/**
+ * {@link BindableLongCounter} bound to a set of {@link Attributes}, see {@link BindableLongCounter#bind(Attributes)}
+ */
+public interface BoundLongCounter {
+
+    /**
+     * Records a value with the bound attributes
+     *
+     * @param value the increment amount, must be non-negative
+     */
+    void add(long value);
+
+    /**
+     * Records a value with the bound attributes
+     *
+     * @param value the increment amount, must be non-negative
+     * @param context the explicit context to associate with this measurement
+     */
+    void add(long value, Context context);
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright The Original Author or Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.jenkins.plugins.opentelemetry.api;
+
+import io.opentelemetry.api.metrics.DoubleHistogramBuilder;
+import io.opentelemetry.api.metrics.LongHistogramBuilder;
+
+/**
+ * <p>
+ * {@link DoubleHistogramBuilder} or {@link LongHistogramBuilder} created by the {@link ExtendedOpenTelemetry} meters
+ * that can opt in the buffering of the measurements.
+ * </p>
+ * <p>
+ * Each thread recording in a buffered histogram appends its measurements to its own small buffer of primitives, the
+ * buffer is drained into the OpenTelemetry SDK histogram when it's full and right before each metric collection. The
+ * threads therefore don't contend on the synchronization of the SDK histogram, intended for the histograms recorded
+ * by hundreds of threads such as the durations of the steps or of the HTTP requests. The measurements recorded with
+ * an explicit {@link io.opentelemetry.context.Context} are buffered the same way and therefore don't produce
+ * exemplars, a warning is logged for each buffered histogram unless the exemplars are disabled with
+ * {@code otel.metrics.exemplar.filter=always_off}. The measurements recorded with {@code null} attributes are drained
+ * without attributes. The advice given to the builder (bucket boundaries, attributes) applies as usual.
+ * </p>
+ * <pre>{@code
+ * DoubleHistogramBuilder builder = meter.histogramBuilder("jenkins.step.duration");
+ * if (builder instanceof BufferableHistogramBuilder) {
+ *     ((BufferableHistogramBuilder) builder).setBuffered(true);
+ * }
+ * DoubleHistogram histogram = builder.build();
+ * }</pre>
+ */
+public interface BufferableHistogramBuilder {
+
+    /**
+     * @param buffered {@code true} to buffer the measurements of the built histogram. Buffering is enabled for good on
+     * the histogram as soon as one builder of the histogram requests it.
+     */
+    void setBuffered(boolean buffered);
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright The Original Author or Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.jenkins.plugins.opentelemetry.api;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.jenkins.plugins.opentelemetry.api.instrumentation.resource.JenkinsResourceProvider;
+import io.opentelemetry.common.ComponentLoader;
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigurationException;
+import io.opentelemetry.sdk.autoconfigure.spi.ResourceProvider;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * <p>
+ * {@link ComponentLoader} of the SDK autoconfiguration caching the SPI implementations discovered through the
+ * {@link java.util.ServiceLoader} between the reconfigurations, see
+ * {@link io.opentelemetry.sdk.autoconfigure.AutoConfiguredOpenTelemetrySdkBuilder#setComponentLoader(ComponentLoader)}.
+ * The discovered implementations are handed to the SDK as is, the SDK applies the
+ * {@code otel.java.enabled.resource.providers} and {@code otel.java.disabled.resource.providers} properties on their
+ * class names.
+ * </p>
+ * <p>
+ * The host, OS, process and container {@link ResourceProvider}s memoize their resource for the lifetime of the JVM,
+ * but their first detection may block on the resolution of the hostname or on the parsing of the container id. Each
+ * {@link ResourceProvider} is therefore detected once in the background, keyed by its class so that the detection
+ * survives the invalidation of the cache, and the providers whose first detection doesn't complete within
+ * {@value #RESOURCE_DETECTION_TIMEOUT_PROPERTY} are left out of the SDK being built. Once such a late detection
+ * completes, the listener set by {@link #setLateResourceDetectionListener(Runnable)} rebuilds the SDK to apply the
+ * complete resource. The providers computing their resource from the configuration only, such as
+ * {@link JenkinsResourceProvider}, are invoked inline by the SDK without timeout so that attributes like
+ * {@code service.name} and {@code jenkins.url} are never left out.
+ * </p>
+ * <p>
+ * The cache is invalidated when the discovery context, the installed plugins, changes.
+ * </p>
+ */
+@ThreadSafe
+class CachingComponentLoader implements ComponentLoader {
+    private static final Logger logger = Logger.getLogger(CachingComponentLoader.class.getName());
+
+    /**
+     * Maximum duration the SDK autoconfiguration waits for the first detection of the {@link ResourceProvider}s
+     */
+    static final String RESOURCE_DETECTION_TIMEOUT_PROPERTY = "otel.jenkins.resource.detection.timeout";
+
+    static final Duration DEFAULT_RESOURCE_DETECTION_TIMEOUT = Duration.ofSeconds(5);
+
+    /**
+     * {@link ResourceProvider}s computing their resource from the configuration properties only
+     */
+    static final Set<String> CONFIGURATION_ONLY_RESOURCE_PROVIDERS = Set.of(JenkinsResourceProvider.class.getName());
+
+    private final ComponentLoader delegate;
+
+    private final Map<Class<?>, List<?>> components = new ConcurrentHashMap<>();
+
+    /**
+     * First detection of each {@link ResourceProvider} class
+     */
+    private final ConcurrentMap<Class<?>, Detection> detections = new ConcurrentHashMap<>();
+
+    private final ThreadPoolExecutor detectionExecutor;
+
+    private volatile Duration resourceDetectionTimeout = DEFAULT_RESOURCE_DETECTION_TIMEOUT;
+
+    private volatile Runnable lateResourceDetectionListener = () -> {};
+
+    @Nullable
+    private volatile Object discoveryContext;
+
+    CachingComponentLoader(ClassLoader classLoader) {
+        this(ComponentLoader.forClassLoader(classLoader));
+    }
+
+    CachingComponentLoader(ComponentLoader delegate) {
+        this.delegate = delegate;
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        this.detectionExecutor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                30,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("OpenTelemetry resource detection-%d")
+                        .setDaemon(true)
+                        .build());
+        this.detectionExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Iterable<T> load(Class<T> spiClass) {
+        List<T> components = (List<T>) this.components.computeIfAbsent(spiClass, this::discover);
+        if (spiClass == ResourceProvider.class) {
+            return (Iterable<T>) getDetectedResourceProviders((List<ResourceProvider>) components);
+        }
+        return components;
+    }
+
+    private List<?> discover(Class<?> spiClass) {
+        long startNanos = System.nanoTime();
+        List<Object> discovered = new ArrayList<>();
+        delegate.load(spiClass).forEach(discovered::add);
+        logger.log(
+                Level.FINE,
+                () -> "Discovered " + discovered.size() + " " + spiClass.getName() + " in "
+                        + Duration.ofNanos(System.nanoTime() - startNanos).toMillis() + "ms");
+        return Collections.unmodifiableList(discovered);
+    }
+
+    /**
+     * Invalidates the cache if the given discovery context differs from the one of the previous invocation
+     */
+    void setDiscoveryContext(Object discoveryContext) {
+        if (!discoveryContext.equals(this.discoveryContext)) {
+            if (this.discoveryContext != null) {
+                logger.log(Level.FINE, "Discovery context changed, invalidate the discovered components");
+            }
+            components.clear();
+            this.discoveryContext = discoveryContext;
+        }
+    }
+
+    /**
+     * @param config configuration of the SDK being built, read for {@value #RESOURCE_DETECTION_TIMEOUT_PROPERTY}
+     */
+    void setResourceDetectionTimeout(ConfigProperties config) {
+        try {
+            this.resourceDetectionTimeout =
+                    config.getDuration(RESOURCE_DETECTION_TIMEOUT_PROPERTY, DEFAULT_RESOURCE_DETECTION_TIMEOUT);
+        } catch (ConfigurationException e) {
+            logger.log(
+                    Level.WARNING,
+                    "Invalid " + RESOURCE_DETECTION_TIMEOUT_PROPERTY + ", use " + DEFAULT_RESOURCE_DETECTION_TIMEOUT,
+                    e);
+            this.resourceDetectionTimeout = DEFAULT_RESOURCE_DETECTION_TIMEOUT;
+        }
+    }
+
+    /**
+     * @param lateResourceDetectionListener invoked on a background thread when the first detection of a
+     * {@link ResourceProvider} left out of an SDK build completes
+     */
+    void setLateResourceDetectionListener(Runnable lateResourceDetectionListener) {
+        this.lateResourceDetectionListener = lateResourceDetectionListener;
+    }
+
+    /**
+     * Starts in parallel the first detection of the given providers and waits for them within the timeout, the
+     * {@link #CONFIGURATION_ONLY_RESOURCE_PROVIDERS} are not detected ahead of the SDK
+     *
+     * @return the given providers whose first detection is completed
+     */
+    private List<ResourceProvider> getDetectedResourceProviders(List<ResourceProvider> resourceProviders) {
+        long deadlineNanos = System.nanoTime() + resourceDetectionTimeout.toNanos();
+        List<Detection> detections = new ArrayList<>();
+        for (ResourceProvider resourceProvider : resourceProviders) {
+            detections.add(
+                    CONFIGURATION_ONLY_RESOURCE_PROVIDERS.contains(resourceProvider.getClass().getName())
+                            ? null
+                            : detect(resourceProvider));
+        }
+        List<ResourceProvider> detectedResourceProviders = new ArrayList<>();
+        for (int i = 0; i < resourceProviders.size(); i++) {
+            ResourceProvider resourceProvider = resourceProviders.get(i);
+            Detection detection = detections.get(i);
+            if (detection == null || detection.await(deadlineNanos)) {
+                detectedResourceProviders.add(resourceProvider);
+            } else {
+                logger.log(
+                        Level.WARNING,
+                        "Resource detection of " + resourceProvider.getClass().getName() + " not completed within "
+                                + resourceDetectionTimeout + ", continue in the background");
+                detection.leaveOut();
+            }
+        }
+        return detectedResourceProviders;
+    }
+
+    private Detection detect(ResourceProvider resourceProvider) {
+        return detections.computeIfAbsent(resourceProvider.getClass(), resourceProviderClass -> {
+            Detection detection = new Detection(resourceProvider, this::notifyLateResourceDetection);
+            try {
+                detectionExecutor.execute(detection);
+            } catch (RejectedExecutionException e) {
+                detection.run();
+            }
+            return detection;
+        });
+    }
+
+    /**
+     * Notifies the listener on another thread as the late detection may complete while an SDK build holds the
+     * configuration lock
+     */
+    private void notifyLateResourceDetection() {
+        try {
+            detectionExecutor.execute(lateResourceDetectionListener);
+        } catch (RejectedExecutionException e) {
+            logger.log(Level.FINE, "Late resource detection not notified", e);
+        }
+    }
+
+    /**
+     * First detection of the resource of a {@link ResourceProvider}, the failures are left to the SDK that invokes the
+     * provider again
+     */
+    private static final class Detection extends FutureTask<Void> {
+        private final ResourceProvider resourceProvider;
+        private final Runnable lateDetectionListener;
+        private volatile long startNanos;
+
+        @GuardedBy("this")
+        private boolean leftOut;
+
+        Detection(ResourceProvider resourceProvider, Runnable lateDetectionListener) {
+            super(() -> resourceProvider.createResource(ConfigPropertiesUtils.emptyConfig()), null);
+            this.resourceProvider = resourceProvider;
+            this.lateDetectionListener = lateDetectionListener;
+        }
+
+        @Override
+        public void run() {
+            startNanos = System.nanoTime();
+            super.run();
+        }
+
+        /**
+         * @return {@code true} if the detection completed before the given deadline
+         */
+        boolean await(long deadlineNanos) {
+            try {
+                get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+                return true;
+            } catch (ExecutionException e) {
+                return true;
+            } catch (TimeoutException e) {
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        /**
+         * Records that the provider was left out of an SDK build, the listener is notified once when the detection
+         * completes
+         */
+        void leaveOut() {
+            synchronized (this) {
+                if (!isDone()) {
+                    leftOut = true;
+                    return;
+                }
+            }
+            lateDetectionListener.run();
+        }
+
+        @Override
+        protected void done() {
+            logger.log(
+                    Level.FINE,
+                    () -> "Detected resource of " + resourceProvider.getClass().getName() + " in "
+                            + Duration.ofNanos(System.nanoTime() - startNanos).toMillis() + "ms");
+            boolean leftOut;
+            synchronized (this) {
+                leftOut = this.leftOut;
+            }
+            if (leftOut) {
+                lateDetectionListener.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright The Original Author or Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.jenkins.plugins.opentelemetry.api;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.export.MemoryMode;
+import io.opentelemetry.sdk.metrics.Aggregation;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.AggregationTemporalitySelector;
+import io.opentelemetry.sdk.metrics.export.CollectionRegistration;
+import io.opentelemetry.sdk.metrics.export.MetricReader;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * {@link MetricReader} preparing each of its collections through the {@link ReconfigurableMeterProvider}, whether the
+ * collection is triggered by the periodic export, by a pull exporter like Prometheus, by {@link #forceFlush()} or by
+ * the final collection of {@link #shutdown()}: the measurements pre-aggregated by the meter provider are flushed and,
+ * when enabled, the callbacks of the observable instruments are started in parallel for this very collection, see
+ * {@link ObservableCallbackExecutor}.
+ * </p>
+ * <p>
+ * The {@link CollectionRegistration} given by the SDK is wrapped rather than the collection methods of the reader
+ * because the readers collect through their registration.
+ * </p>
+ */
+class CollectionPreparingMetricReader implements MetricReader {
+    private final MetricReader delegate;
+    private final Collector collector;
+
+    CollectionPreparingMetricReader(MetricReader delegate, Collector collector) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.collector = Objects.requireNonNull(collector, "collector");
+    }
+
+    @Override
+    public void register(CollectionRegistration registration) {
+        delegate.register(new CollectionRegistration() {
+            @Override
+            public Collection<MetricData> collectAllMetrics() {
+                return collector.collect(delegate, registration::collectAllMetrics);
+            }
+        });
+    }
+
+    @Override
+    public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+        return delegate.getAggregationTemporality(instrumentType);
+    }
+
+    @Override
+    public Aggregation getDefaultAggregation(InstrumentType instrumentType) {
+        return delegate.getDefaultAggregation(instrumentType);
+    }
+
+    @Override
+    public MemoryMode getMemoryMode() {
+        return delegate.getMemoryMode();
+    }
+
+    @Override
+    public CompletableResultCode forceFlush() {
+        return delegate.forceFlush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return delegate.shutdown();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    @Override
+    public String toString() {
+        return "CollectionPreparingMetricReader{" + delegate + "}";
+    }
+
+    /**
+     * Runs the collection of the SDK for the given reader, see
+     * {@link ReconfigurableMeterProvider#collect(AggregationTemporalitySelector, Supplier)}
+     */
+    @FunctionalInterface
+    interface Collector {
+        Collection<MetricData> collect(
+                AggregationTemporalitySelector temporalitySelector, Supplier<Collection<MetricData>> collection);
+    }
+}
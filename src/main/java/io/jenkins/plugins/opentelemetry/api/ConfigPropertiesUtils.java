@@ -32,6 +32,17 @@ class ConfigPropertiesUtils {
         return DefaultConfigProperties.createFromMap(Collections.emptyMap());
     }
 
+    /**
+     * @param config    config properties computed by the SDK autoconfiguration or {@link #emptyConfig()}, the SDK
+     *                  autoconfiguration computes {@link DefaultConfigProperties}
+     * @param overrides properties to override, a {@code null} value removing the property
+     * @return the given config properties, including the properties added by the properties customizers, with the
+     * given properties overridden
+     */
+    static ConfigProperties withOverrides(ConfigProperties config, Map<String, String> overrides) {
+        return ((DefaultConfigProperties) config).withOverrides(overrides);
+    }
+
     static String prettyPrintOtelSdkConfig(ConfigProperties configProperties, Resource resource) {
         return "SDK [" + "config: "
                 + prettyPrintConfiguration(configProperties) + ", " + "resource: "
@@ -0,0 +1,143 @@
+/*
+ * Copyright The Original Author or Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.jenkins.plugins.opentelemetry.api;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.api.logs.LoggerProvider;
+import io.opentelemetry.api.logs.Severity;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.MeterProvider;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * Times the phases of a {@link ReconfigurableOpenTelemetry#configure(Map, io.opentelemetry.sdk.resources.Resource,
+ * boolean)} to track the regressions of the startup and of the reconfigurations across the upgrades.
+ * </p>
+ * <p>
+ * Each {@link #lap(Phase)} attributes the time elapsed since the previous lap to the given phase. The durations are
+ * published in the {@value #PHASE_DURATION_HISTOGRAM_NAME} and {@value #DURATION_HISTOGRAM_NAME} histograms of the
+ * {@value ReconfigurableMeterProvider#INSTRUMENTATION_SCOPE_NAME} meter and logged at INFO, in a log record and in
+ * the Jenkins logs.
+ * </p>
+ * <p>
+ * The drain of the replaced SDK isn't timed, it completes asynchronously after the configuration, see
+ * {@link ReconfigurableOpenTelemetry#getSdkDrain()}.
+ * </p>
+ * <p>
+ * Not thread safe, each configuration of {@link ReconfigurableOpenTelemetry} uses its own timer on the thread
+ * configuring the SDK.
+ * </p>
+ */
+class ConfigurationPhaseTimer {
+    private static final Logger logger = Logger.getLogger(ConfigurationPhaseTimer.class.getName());
+
+    static final String PHASE_DURATION_HISTOGRAM_NAME = "jenkins.opentelemetry.configuration.phase.duration";
+
+    static final String DURATION_HISTOGRAM_NAME = "jenkins.opentelemetry.configuration.duration";
+
+    static final AttributeKey<String> PHASE = AttributeKey.stringKey("jenkins.opentelemetry.configuration.phase");
+
+    enum Phase {
+        /**
+         * Comparison with the previous configuration, reads the {@code otel.*} system properties and the
+         * {@code OTEL_*} environment variables
+         */
+        FINGERPRINT,
+        /**
+         * SPI lookups of the SDK autoconfiguration and evaluation of the property customizers
+         */
+        PROPERTIES,
+        /**
+         * Resource detection by the {@code ResourceProvider}s and evaluation of the resource customizer
+         */
+        RESOURCE,
+        /**
+         * Creation of the exporters, of the metric readers and of the SDK providers
+         */
+        EXPORTERS,
+        /**
+         * Swap of the delegates of the reconfigurable providers and rebinding of their registries
+         */
+        REBIND,
+        /**
+         * Notification of the {@link OpenTelemetryLifecycleListener}s
+         */
+        LISTENERS;
+
+        final String attributeValue() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final long startNanos = System.nanoTime();
+
+    private long lapNanos = startNanos;
+
+    private final Map<Phase, Long> durationsNanos = new EnumMap<>(Phase.class);
+
+    /**
+     * Attributes the time elapsed since the previous lap to the given phase
+     */
+    void lap(Phase phase) {
+        long nanos = System.nanoTime();
+        durationsNanos.merge(phase, nanos - lapNanos, Long::sum);
+        lapNanos = nanos;
+    }
+
+    /**
+     * Publishes the durations of the phases, invoked once all the phases are completed
+     */
+    void publish(MeterProvider meterProvider, LoggerProvider loggerProvider) {
+        long durationNanos = System.nanoTime() - startNanos;
+        Meter meter = meterProvider.get(ReconfigurableMeterProvider.INSTRUMENTATION_SCOPE_NAME);
+        DoubleHistogram phaseDurationHistogram = meter.histogramBuilder(PHASE_DURATION_HISTOGRAM_NAME)
+                .setDescription("Duration of the phases of the configurations of OpenTelemetry")
+                .setUnit("s")
+                .build();
+        DoubleHistogram durationHistogram = meter.histogramBuilder(DURATION_HISTOGRAM_NAME)
+                .setDescription("Duration of the configurations of OpenTelemetry")
+                .setUnit("s")
+                .build();
+        AttributesBuilder logRecordAttributes = Attributes.builder();
+        durationsNanos.forEach((phase, phaseDurationNanos) -> {
+            phaseDurationHistogram.record(toSeconds(phaseDurationNanos), Attributes.of(PHASE, phase.attributeValue()));
+            logRecordAttributes.put(
+                    PHASE_DURATION_HISTOGRAM_NAME + "." + phase.attributeValue(), toSeconds(phaseDurationNanos));
+        });
+        durationHistogram.record(toSeconds(durationNanos));
+        logRecordAttributes.put(DURATION_HISTOGRAM_NAME, toSeconds(durationNanos));
+
+        loggerProvider
+                .get(ReconfigurableMeterProvider.INSTRUMENTATION_SCOPE_NAME)
+                .logRecordBuilder()
+                .setSeverity(Severity.INFO)
+                .setSeverityText("INFO")
+                .setBody("OpenTelemetry configured in " + TimeUnit.NANOSECONDS.toMillis(durationNanos) + "ms")
+                .setAllAttributes(logRecordAttributes.build())
+                .emit();
+        logger.log(
+                Level.INFO,
+                () -> "OpenTelemetry configured in " + TimeUnit.NANOSECONDS.toMillis(durationNanos) + "ms: "
+                        + durationsNanos.entrySet().stream()
+                                .map(entry -> entry.getKey().attributeValue() + "="
+                                        + TimeUnit.NANOSECONDS.toMillis(entry.getValue()) + "ms")
+                                .collect(Collectors.joining(", ")));
+    }
+
+    private static double toSeconds(long nanos) {
+        return nanos / 1_000_000_000d;
+    }
+}
@@ -10,10 +10,16 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 /**
+ * <p>
  * <a href="https://opentelemetry.io/docs/concepts/instrumentation-scope/">OpenTelemetry instrumentation scope</a>,
  * data structured used by the {@link ReconfigurableOpenTelemetry} implementation
+ * </p>
+ * <p>
+ * Immutable, the hash code is computed once as instrumentation scopes are used as keys of the tracer and logger
+ * registries.
+ * </p>
  */
-class InstrumentationScope {
+final class InstrumentationScope {
     @Nonnull
     final String instrumentationScopeName;
 
@@ -23,17 +29,19 @@ class InstrumentationScope {
     @Nullable
     final String instrumentationScopeVersion;
 
+    private final int hashCode;
+
     public InstrumentationScope(
             String instrumentationScopeName, @Nullable String schemaUrl, @Nullable String instrumentationScopeVersion) {
         this.instrumentationScopeName = Objects.requireNonNull(instrumentationScopeName);
         this.schemaUrl = schemaUrl;
         this.instrumentationScopeVersion = instrumentationScopeVersion;
+        this.hashCode = 31 * (31 * instrumentationScopeName.hashCode() + Objects.hashCode(schemaUrl))
+                + Objects.hashCode(instrumentationScopeVersion);
     }
 
     public InstrumentationScope(@Nonnull String instrumentationScopeName) {
-        this.instrumentationScopeName = instrumentationScopeName;
-        this.schemaUrl = null;
-        this.instrumentationScopeVersion = null;
+        this(instrumentationScopeName, null, null);
     }
 
     @Override
@@ -49,13 +57,14 @@ class InstrumentationScope {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         InstrumentationScope that = (InstrumentationScope) o;
-        return Objects.equals(instrumentationScopeName, that.instrumentationScopeName)
+        return hashCode == that.hashCode
+                && instrumentationScopeName.equals(that.instrumentationScopeName)
                 && Objects.equals(schemaUrl, that.schemaUrl)
                 && Objects.equals(instrumentationScopeVersion, that.instrumentationScopeVersion);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(instrumentationScopeName, schemaUrl, instrumentationScopeVersion);
+        return hashCode;
     }
 }
@@ -0,0 +1,181 @@
+/*
+ * Copyright The Original Author or Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.jenkins.plugins.opentelemetry.api;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * <p>
+ * Notifies the {@link OpenTelemetryLifecycleListener}s after each configuration of the OpenTelemetry SDK.
+ * </p>
+ * <p>
+ * By default, the listeners are notified one after the other on the thread configuring the SDK, in the order of
+ * their {@link OpenTelemetryLifecycleListener#ordinal()}. In the parallel mode, the listeners of a same ordinal are
+ * notified in parallel and the listeners of the next ordinal are only notified once all the listeners of the previous
+ * ordinal have completed or timed out. A listener that doesn't complete within the timeout is cancelled, its thread
+ * is interrupted, so that a slow listener doesn't stall the save of the configuration. A listener that ignores the
+ * interruption keeps running in the background while the listeners of the next ordinals are notified. A listener that
+ * fails is logged rather than failing the configuration. The listeners are notified on at most {@link #MAX_THREADS}
+ * threads, the others are notified on the thread configuring the SDK without timeout.
+ * </p>
+ * <p>
+ * The duration of the notification of each listener is recorded in the {@value #LISTENER_DURATION_HISTOGRAM_NAME}
+ * histogram.
+ * </p>
+ */
+@ThreadSafe
+class LifecycleListenerNotifier {
+    private static final Logger logger = Logger.getLogger(LifecycleListenerNotifier.class.getName());
+
+    static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
+    static final String LISTENER_DURATION_HISTOGRAM_NAME = "jenkins.opentelemetry.lifecycle.listener.duration";
+
+    static final AttributeKey<String> LISTENER_NAME = AttributeKey.stringKey("listener.name");
+
+    /**
+     * Maximum number of listeners notified in parallel
+     */
+    static final int MAX_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    private final ThreadPoolExecutor executor;
+
+    private final Supplier<DoubleHistogram> durationHistogramSupplier;
+
+    @Nullable
+    private volatile DoubleHistogram durationHistogram;
+
+    private volatile boolean parallel;
+
+    private volatile Duration timeout = DEFAULT_TIMEOUT;
+
+    LifecycleListenerNotifier(Supplier<DoubleHistogram> durationHistogramSupplier) {
+        this.durationHistogramSupplier = durationHistogramSupplier;
+        this.executor = new ThreadPoolExecutor(
+                0,
+                MAX_THREADS,
+                30,
+                TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("OpenTelemetry lifecycle listener-%d")
+                        .setDaemon(true)
+                        .build());
+    }
+
+    /**
+     * @param parallel {@code true} to notify the listeners of a same ordinal in parallel
+     */
+    void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * @param timeout maximum duration of the notification of each listener in the parallel mode
+     */
+    void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Notifies the given listeners in the order of their {@link OpenTelemetryLifecycleListener#ordinal()}
+     */
+    void notify(Collection<OpenTelemetryLifecycleListener> listeners, Consumer<OpenTelemetryLifecycleListener> event) {
+        Map<Integer, List<OpenTelemetryLifecycleListener>> listenersByOrdinal = new TreeMap<>();
+        listeners.stream().sorted().forEach(listener -> listenersByOrdinal
+                .computeIfAbsent(listener.ordinal(), ordinal -> new ArrayList<>())
+                .add(listener));
+        for (List<OpenTelemetryLifecycleListener> group : listenersByOrdinal.values()) {
+            if (parallel && group.size() > 1) {
+                notifyInParallel(group, event);
+            } else {
+                group.forEach(listener -> notify(listener, event));
+            }
+        }
+    }
+
+    private void notifyInParallel(
+            List<OpenTelemetryLifecycleListener> group, Consumer<OpenTelemetryLifecycleListener> event) {
+        List<Future<?>> notifications = new ArrayList<>(group.size());
+        for (OpenTelemetryLifecycleListener listener : group) {
+            try {
+                notifications.add(executor.submit(() -> notify(listener, event)));
+            } catch (RejectedExecutionException e) {
+                logger.log(Level.FINE, e, () -> "Notify " + listener + " on the calling thread");
+                notify(listener, event);
+                notifications.add(null);
+            }
+        }
+        long deadlineNanos = System.nanoTime() + timeout.toNanos();
+        for (int i = 0; i < group.size(); i++) {
+            Future<?> notification = notifications.get(i);
+            if (notification == null) {
+                continue;
+            }
+            try {
+                notification.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // interrupt the listener rather than letting it run concurrently with the next ordinals
+                notification.cancel(true);
+                logger.log(
+                        Level.WARNING,
+                        "Notification of " + group.get(i) + " not completed within " + timeout + ", cancelled");
+            } catch (ExecutionException e) {
+                logger.log(Level.WARNING, "Failure to notify " + group.get(i), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void notify(OpenTelemetryLifecycleListener listener, Consumer<OpenTelemetryLifecycleListener> event) {
+        long startNanos = System.nanoTime();
+        try {
+            event.accept(listener);
+        } finally {
+            getDurationHistogram()
+                    .record(
+                            (System.nanoTime() - startNanos) / 1_000_000_000d,
+                            Attributes.of(LISTENER_NAME, listener.getClass().getName()));
+        }
+    }
+
+    private DoubleHistogram getDurationHistogram() {
+        DoubleHistogram histogram = durationHistogram;
+        if (histogram == null) {
+            histogram = durationHistogramSupplier.get();
+            durationHistogram = histogram;
+        }
+        return histogram;
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+}
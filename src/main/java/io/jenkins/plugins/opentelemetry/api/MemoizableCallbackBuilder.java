@@ -0,0 +1,44 @@
+/*
+ * Copyright The Original Author or Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.jenkins.plugins.opentelemetry.api;
+
+import io.opentelemetry.api.metrics.DoubleCounterBuilder;
+import io.opentelemetry.api.metrics.DoubleGaugeBuilder;
+import io.opentelemetry.api.metrics.DoubleUpDownCounterBuilder;
+import io.opentelemetry.api.metrics.LongCounterBuilder;
+import io.opentelemetry.api.metrics.LongGaugeBuilder;
+import io.opentelemetry.api.metrics.LongUpDownCounterBuilder;
+import java.time.Duration;
+
+/**
+ * <p>
+ * {@link LongCounterBuilder}, {@link DoubleCounterBuilder}, {@link LongGaugeBuilder}, {@link DoubleGaugeBuilder},
+ * {@link LongUpDownCounterBuilder} or {@link DoubleUpDownCounterBuilder} created by the {@link ExtendedOpenTelemetry}
+ * meters that can opt in the memoization of the callback of the observable instrument.
+ * </p>
+ * <p>
+ * The measurements of a memoized callback are replayed in the collections happening within the TTL rather than
+ * invoking the callback again, so that the metric readers configured together, for example a Prometheus exporter and
+ * an OTLP exporter, don't each pay for an expensive callback such as the ones iterating over all the jobs. A batch
+ * callback is memoized when all its observable measurements are built with a TTL, the shortest TTL applies.
+ * </p>
+ * <pre>{@code
+ * LongGaugeBuilder builder = meter.gaugeBuilder("jenkins.job.count").ofLongs();
+ * if (builder instanceof MemoizableCallbackBuilder) {
+ *     ((MemoizableCallbackBuilder) builder).setCallbackMemoizationTtl(Duration.ofSeconds(30));
+ * }
+ * ObservableLongGauge gauge = builder.buildWithCallback(measurement -> measurement.record(countJobs()));
+ * }</pre>
+ */
+public interface MemoizableCallbackBuilder {
+
+    /**
+     * @param callbackMemoizationTtl duration during which the measurements of the callback of the built observable
+     * instrument are replayed rather than invoking the callback again, {@link Duration#ZERO} by default. The longest
+     * TTL requested by the builders of the instrument applies.
+     */
+    void setCallbackMemoizationTtl(Duration callbackMemoizationTtl);
+}
@@ -0,0 +1,453 @@
+/*
+ * Copyright The Original Author or Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.jenkins.plugins.opentelemetry.api;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.ObservableDoubleMeasurement;
+import io.opentelemetry.api.metrics.ObservableLongMeasurement;
+import io.opentelemetry.api.metrics.ObservableMeasurement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * <p>
+ * Executes the callbacks of the observable instruments and the batch callbacks registered through the
+ * {@link ReconfigurableMeterProvider} on a bounded pool of threads, each callback being time-boxed. Disabled by
+ * default (see {@link #setParallel(boolean)}), the SDK then invokes the callbacks directly on the thread of the
+ * collection.
+ * </p>
+ * <p>
+ * The OpenTelemetry SDK invokes the callbacks one after the other during the collection and ignores the measurements
+ * recorded after a callback returns. All the callbacks are therefore started in parallel right before the collection
+ * (see {@link #collect(Supplier)}), their measurements are captured in a {@link Recording}, and the callback invoked
+ * by the SDK on the thread of the collection waits for the execution prepared for this very collection and replays
+ * its recording in the measurements of the SDK. The collections of several metric readers therefore each wait for
+ * their own executions. The timeout is a deadline of the whole collection rather than of each callback: a callback
+ * that doesn't complete before it, including a callback that couldn't start because the threads are busy with stuck
+ * callbacks, is interrupted and its measurements are dropped for this collection. A callback not completing
+ * {@value #MAX_CONSECUTIVE_TIMEOUTS} times in a row is disabled until the next reconfiguration. The callbacks waiting
+ * for a thread are bounded to {@value #MAX_QUEUED_CALLBACKS}, the callbacks submitted beyond are skipped for the
+ * collection. The duration of each executed callback is recorded in the {@value #CALLBACK_DURATION_HISTOGRAM_NAME}
+ * histogram.
+ * </p>
+ * <p>
+ * Callbacks whose collection is not prepared, for example when the SDK was not built by
+ * {@link ReconfigurableOpenTelemetry}, are started when the SDK invokes them and are only time-boxed.
+ * </p>
+ * <p>
+ * The recording of a callback memoized by its instrument, see {@link MemoizableCallbackBuilder}, is replayed in the
+ * collections that happen within the TTL rather than invoking the callback again.
+ * </p>
+ */
+@ThreadSafe
+class ObservableCallbackExecutor {
+    private static final Logger logger = Logger.getLogger(ObservableCallbackExecutor.class.getName());
+
+    static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+
+    static final int MAX_CONSECUTIVE_TIMEOUTS = 3;
+
+    static final int MAX_QUEUED_CALLBACKS = 1024;
+
+    static final String CALLBACK_DURATION_HISTOGRAM_NAME = "jenkins.opentelemetry.metric.callback.duration";
+
+    /**
+     * Executions started for the collection in progress on the current thread, see {@link #collect(Supplier)}
+     */
+    private static final ThreadLocal<PreparedCollection> PREPARED_COLLECTION = new ThreadLocal<>();
+
+    private final Set<TimeBoxedCallback> callbacks = ConcurrentHashMap.newKeySet();
+
+    private final ThreadPoolExecutor executor;
+
+    private final Supplier<DoubleHistogram> durationHistogramSupplier;
+
+    @Nullable
+    private volatile DoubleHistogram durationHistogram;
+
+    private volatile boolean parallel;
+
+    private volatile Duration timeout = DEFAULT_TIMEOUT;
+
+    ObservableCallbackExecutor(Supplier<DoubleHistogram> durationHistogramSupplier) {
+        this.durationHistogramSupplier = durationHistogramSupplier;
+        int threads = Math.min(8, Math.max(4, Runtime.getRuntime().availableProcessors()));
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                30,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(MAX_QUEUED_CALLBACKS),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("OpenTelemetry observable callback-%d")
+                        .setDaemon(true)
+                        .build());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * @param parallel {@code true} to execute the callbacks in parallel on the threads of this executor
+     */
+    void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    void register(TimeBoxedCallback callback) {
+        callback.consecutiveTimeouts.set(0);
+        callback.disabled = false;
+        callbacks.add(callback);
+    }
+
+    /**
+     * The execution prepared for a collection in progress is cancelled at the end of the collection
+     */
+    void unregister(TimeBoxedCallback callback) {
+        callbacks.remove(callback);
+        callback.memoizedRecording = null;
+    }
+
+    /**
+     * @return {@code true} if the given callback must be invoked through {@link #invoke(TimeBoxedCallback,
+     * ObservableMeasurement)} rather than directly by the SDK: the callbacks are executed in parallel or the
+     * recording of the given callback is memoized
+     */
+    boolean isExecuted(TimeBoxedCallback callback) {
+        return parallel || !callback.memoizationTtl.isZero();
+    }
+
+    /**
+     * Runs the given collection of the SDK, the enabled callbacks being started in parallel right before and having
+     * to complete within the timeout from now. The executions not consumed by the collection, for example the
+     * callbacks of the instruments dropped by a view, are cancelled once the collection completes.
+     */
+    <T> T collect(Supplier<T> collection) {
+        if (!parallel) {
+            return collection.get();
+        }
+        PreparedCollection preparedCollection = new PreparedCollection(System.nanoTime() + timeout.toNanos());
+        for (TimeBoxedCallback callback : callbacks) {
+            if (!callback.disabled && getMemoizedRecording(callback) == null) {
+                preparedCollection.executions.put(callback, execute(callback));
+            }
+        }
+        PreparedCollection outerPreparedCollection = PREPARED_COLLECTION.get();
+        PREPARED_COLLECTION.set(preparedCollection);
+        try {
+            return collection.get();
+        } finally {
+            if (outerPreparedCollection == null) {
+                PREPARED_COLLECTION.remove();
+            } else {
+                PREPARED_COLLECTION.set(outerPreparedCollection);
+            }
+            preparedCollection.executions.values().forEach(execution -> execution.cancel(true));
+        }
+    }
+
+    /**
+     * Invoked by the SDK in place of the callback: waits for the execution of the callback and replays its
+     * measurements. Without parallel execution, the memoized callbacks are executed on the thread of the collection.
+     *
+     * @param measurement measurement given by the SDK to the callback of an observable instrument, {@code null} for a
+     *                    batch callback
+     */
+    void invoke(TimeBoxedCallback callback, @Nullable ObservableMeasurement measurement) {
+        if (callback.disabled) {
+            return;
+        }
+        MemoizedRecording memoizedRecording = getMemoizedRecording(callback);
+        if (memoizedRecording != null) {
+            memoizedRecording.recording.replay(measurement);
+            return;
+        }
+        PreparedCollection preparedCollection = PREPARED_COLLECTION.get();
+        Execution execution = preparedCollection == null ? null : preparedCollection.executions.remove(callback);
+        if (execution == null) {
+            if (parallel) {
+                execution = execute(callback);
+            } else {
+                execution = new Execution(callback);
+                execution.run();
+            }
+        }
+        if (execution.isCancelled()) {
+            logger.log(Level.FINE, () -> "Skip the callback of " + callback.name + ", too many callbacks are queued");
+            return;
+        }
+        long remainingNanos;
+        if (preparedCollection != null) {
+            remainingNanos = preparedCollection.deadlineNanos - System.nanoTime();
+        } else {
+            long timeoutNanos = timeout.toNanos();
+            long startNanos = execution.startNanos;
+            remainingNanos = startNanos == 0 ? timeoutNanos : startNanos + timeoutNanos - System.nanoTime();
+        }
+        try {
+            Recording recording = execution.get(Math.max(remainingNanos, 0), TimeUnit.NANOSECONDS);
+            callback.consecutiveTimeouts.set(0);
+            if (!callback.memoizationTtl.isZero()) {
+                callback.memoizedRecording = new MemoizedRecording(recording, execution.startNanos);
+            }
+            recording.replay(measurement);
+        } catch (TimeoutException e) {
+            execution.cancel(true);
+            String outcome = execution.startNanos == 0 ? " not started within " : " timed out after ";
+            if (callback.consecutiveTimeouts.incrementAndGet() >= MAX_CONSECUTIVE_TIMEOUTS) {
+                callback.disabled = true;
+                logger.log(
+                        Level.WARNING,
+                        "Disable the callback of " + callback.name + " that did not complete within " + timeout + " "
+                                + MAX_CONSECUTIVE_TIMEOUTS + " times in a row, it will be enabled again on the next"
+                                + " reconfiguration");
+            } else {
+                logger.log(Level.FINE, () -> "Callback of " + callback.name + outcome + timeout);
+            }
+        } catch (ExecutionException e) {
+            logger.log(Level.WARNING, "Exception invoking the callback of " + callback.name, e.getCause());
+        } catch (InterruptedException e) {
+            execution.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Nullable
+    private MemoizedRecording getMemoizedRecording(TimeBoxedCallback callback) {
+        MemoizedRecording memoizedRecording = callback.memoizedRecording;
+        long memoizationTtlNanos = callback.memoizationTtl.toNanos();
+        if (memoizedRecording == null
+                || memoizationTtlNanos <= 0
+                || System.nanoTime() - memoizedRecording.startNanos >= memoizationTtlNanos) {
+            return null;
+        }
+        return memoizedRecording;
+    }
+
+    /**
+     * @return the execution of the given callback, cancelled if the queue of the executor is full
+     */
+    private Execution execute(TimeBoxedCallback callback) {
+        Execution execution = new Execution(callback);
+        try {
+            executor.execute(execution);
+        } catch (RejectedExecutionException e) {
+            execution.cancel(false);
+        }
+        return execution;
+    }
+
+    private void recordDuration(TimeBoxedCallback callback, long durationNanos) {
+        DoubleHistogram durationHistogram = this.durationHistogram;
+        if (durationHistogram == null) {
+            durationHistogram = durationHistogramSupplier.get();
+            this.durationHistogram = durationHistogram;
+        }
+        durationHistogram.record(durationNanos / 1_000_000_000d, callback.durationAttributes);
+    }
+
+    /**
+     * Callback executed by the {@link ObservableCallbackExecutor}
+     */
+    static final class TimeBoxedCallback {
+        final String name;
+        final Attributes durationAttributes;
+        private final Consumer<Recording> callback;
+        private final AtomicInteger consecutiveTimeouts = new AtomicInteger();
+        private volatile boolean disabled;
+
+        /**
+         * Duration during which the recording of the callback is replayed rather than invoking the callback again,
+         * {@link Duration#ZERO} to disable the memoization
+         */
+        private volatile Duration memoizationTtl = Duration.ZERO;
+
+        @Nullable
+        private volatile MemoizedRecording memoizedRecording;
+
+        /**
+         * @param name     name of the observable instrument, or of the first measurement of the batch callback
+         * @param callback invokes the callback of the instrument recording the measurements in the given
+         *                 {@link Recording}
+         */
+        TimeBoxedCallback(String name, Consumer<Recording> callback) {
+            this.name = name;
+            this.durationAttributes = Attributes.of(ReconfigurableMeterProvider.CardinalityLimiter.METRIC_NAME, name);
+            this.callback = callback;
+        }
+
+        /**
+         * Memoize the recording of the callback for the given TTL if longer than the current one
+         */
+        synchronized void memoize(Duration memoizationTtl) {
+            if (memoizationTtl.compareTo(this.memoizationTtl) > 0) {
+                this.memoizationTtl = memoizationTtl;
+            }
+        }
+    }
+
+    private final class Execution extends FutureTask<Recording> {
+        private final TimeBoxedCallback callback;
+
+        /**
+         * {@code 0} until the execution starts
+         */
+        volatile long startNanos;
+
+        Execution(TimeBoxedCallback callback) {
+            this(callback, new Recording());
+        }
+
+        private Execution(TimeBoxedCallback callback, Recording recording) {
+            super(
+                    () -> {
+                        Recording.CURRENT.set(recording);
+                        try {
+                            callback.callback.accept(recording);
+                        } finally {
+                            Recording.CURRENT.remove();
+                        }
+                    },
+                    recording);
+            this.callback = callback;
+        }
+
+        @Override
+        public void run() {
+            long startNanos = System.nanoTime();
+            this.startNanos = startNanos;
+            try {
+                super.run();
+            } finally {
+                recordDuration(callback, System.nanoTime() - startNanos);
+            }
+        }
+    }
+
+    /**
+     * Executions started for a collection and the deadline of the collection
+     */
+    private static final class PreparedCollection {
+        final Map<TimeBoxedCallback, Execution> executions = new HashMap<>();
+        final long deadlineNanos;
+
+        PreparedCollection(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+
+    /**
+     * {@link Recording} of a callback and the start of its execution
+     */
+    private static final class MemoizedRecording {
+        final Recording recording;
+        final long startNanos;
+
+        MemoizedRecording(Recording recording, long startNanos) {
+            this.recording = recording;
+            this.startNanos = startNanos;
+        }
+    }
+
+    /**
+     * <p>
+     * Measurements recorded by a callback executed by the {@link ObservableCallbackExecutor}, replayed in the
+     * measurements of the SDK when the SDK invokes the callback.
+     * </p>
+     * <p>
+     * Written by the thread executing the callback and read by the thread of the collection once the execution is
+     * completed.
+     * </p>
+     */
+    static final class Recording {
+        /**
+         * Recording of the callback executed by the current thread, used by the observable measurements of the batch
+         * callbacks
+         */
+        static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+        private final List<Consumer<ObservableMeasurement>> measurements = new ArrayList<>();
+
+        /**
+         * @param measurement records the measurement in the measurement of the SDK given to the callback, or ignores
+         *                    it and records in the current delegate of the batch callback measurement
+         */
+        synchronized void add(Consumer<ObservableMeasurement> measurement) {
+            measurements.add(measurement);
+        }
+
+        synchronized void replay(@Nullable ObservableMeasurement measurement) {
+            for (Consumer<ObservableMeasurement> recordedMeasurement : measurements) {
+                recordedMeasurement.accept(measurement);
+            }
+        }
+    }
+
+    /**
+     * Measurement given to the callbacks of the observable long instruments
+     */
+    static final class RecordingObservableLongMeasurement implements ObservableLongMeasurement {
+        private final Recording recording;
+
+        RecordingObservableLongMeasurement(Recording recording) {
+            this.recording = recording;
+        }
+
+        @Override
+        public void record(long value) {
+            recording.add(measurement -> ((ObservableLongMeasurement) measurement).record(value));
+        }
+
+        @Override
+        public void record(long value, Attributes attributes) {
+            recording.add(measurement -> ((ObservableLongMeasurement) measurement).record(value, attributes));
+        }
+    }
+
+    /**
+     * Measurement given to the callbacks of the observable double instruments
+     */
+    static final class RecordingObservableDoubleMeasurement implements ObservableDoubleMeasurement {
+        private final Recording recording;
+
+        RecordingObservableDoubleMeasurement(Recording recording) {
+            this.recording = recording;
+        }
+
+        @Override
+        public void record(double value) {
+            recording.add(measurement -> ((ObservableDoubleMeasurement) measurement).record(value));
+        }
+
+        @Override
+        public void record(double value, Attributes attributes) {
+            recording.add(measurement -> ((ObservableDoubleMeasurement) measurement).record(value, attributes));
+        }
+    }
+}
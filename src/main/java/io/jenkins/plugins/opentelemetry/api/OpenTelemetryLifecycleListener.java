@@ -12,6 +12,12 @@ public interface OpenTelemetryLifecycleListener extends ExtensionPoint, Comparab
 
     default void afterConfiguration(ConfigProperties configProperties) {}
 
+    /**
+     * Invoked instead of {@link #afterConfiguration(ConfigProperties)} when the OpenTelemetry SDK is not rebuilt
+     * because neither the configuration properties nor the resource changed.
+     */
+    default void afterConfigurationUnchanged(ConfigProperties configProperties) {}
+
     /**
      * @return the ordinal of this otel component to execute step handlers in predictable order. The smallest ordinal is handled first.
      */
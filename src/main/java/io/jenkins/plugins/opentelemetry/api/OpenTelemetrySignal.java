@@ -0,0 +1,73 @@
+/*
+ * Copyright The Original Author or Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.jenkins.plugins.opentelemetry.api;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * OpenTelemetry signals that can be reconfigured independently of each other by
+ * {@link ReconfigurableOpenTelemetry#configure(java.util.Map, io.opentelemetry.sdk.resources.Resource, boolean)}.
+ * The SDK providers of the signals that are not reconfigured are kept, their exporters are not rebuilt and their
+ * exporter customizers are not invoked again. The SDK isn't rebuilt when no signal is reconfigured.
+ */
+enum OpenTelemetrySignal {
+    TRACES("otel.traces.exporter", "traces", "otel.bsp.", "otel.span.", "otel.exporter.zipkin."),
+    METRICS("otel.metrics.exporter", "metrics", "otel.metric.", "otel.exporter.prometheus."),
+    LOGS("otel.logs.exporter", "logs", "otel.blrp.");
+
+    /**
+     * Property selecting the exporter of the signal
+     */
+    final String exporterPropertyName;
+
+    /**
+     * Signal name used in the property names, e.g. {@code otel.traces.sampler} or
+     * {@code otel.exporter.otlp.traces.endpoint}
+     */
+    private final String name;
+
+    /**
+     * Prefixes of the properties specific to the signal
+     */
+    private final String[] propertyNamePrefixes;
+
+    OpenTelemetrySignal(String exporterPropertyName, String name, String... propertyNamePrefixes) {
+        this.exporterPropertyName = exporterPropertyName;
+        this.name = name;
+        this.propertyNamePrefixes = propertyNamePrefixes;
+    }
+
+    /**
+     * @return the signals whose SDK provider must be rebuilt when the given configuration property changes.
+     * Properties of the Jenkins instrumentations ({@code otel.instrumentation.*}, {@code otel.jenkins.*}) don't affect
+     * any signal, properties that are not specific to a signal affect all of them.
+     */
+    static Set<OpenTelemetrySignal> affectedBy(String propertyName) {
+        if (propertyName.startsWith("otel.instrumentation.") || propertyName.startsWith("otel.jenkins.")) {
+            return Collections.emptySet();
+        }
+        for (OpenTelemetrySignal signal : values()) {
+            if (signal.isSpecificProperty(propertyName)) {
+                return EnumSet.of(signal);
+            }
+        }
+        return EnumSet.allOf(OpenTelemetrySignal.class);
+    }
+
+    private boolean isSpecificProperty(String propertyName) {
+        if (propertyName.contains("." + name + ".")) {
+            return true;
+        }
+        for (String propertyNamePrefix : propertyNamePrefixes) {
+            if (propertyName.startsWith(propertyNamePrefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
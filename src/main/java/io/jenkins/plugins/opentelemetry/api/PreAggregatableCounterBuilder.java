@@ -0,0 +1,41 @@
+/*
+ * Copyright The Original Author or Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.jenkins.plugins.opentelemetry.api;
+
+import io.opentelemetry.api.metrics.DoubleCounterBuilder;
+import io.opentelemetry.api.metrics.LongCounterBuilder;
+
+/**
+ * <p>
+ * {@link LongCounterBuilder} or {@link DoubleCounterBuilder} created by the {@link ExtendedOpenTelemetry} meters that
+ * can opt in the pre-aggregation of the measurements.
+ * </p>
+ * <p>
+ * A pre-aggregated counter accumulates the increments in striped cells per set of attributes and only adds the sums
+ * to the OpenTelemetry SDK right before each metric collection, so the cost of the SDK calls and the contention
+ * scale with the collections rather than with the increments. Intended for the counters incremented millions of
+ * times per minute such as the bytes transferred by the agents. The measurements recorded with an explicit
+ * {@link io.opentelemetry.context.Context} are aggregated the same way and therefore don't produce exemplars, a
+ * warning is logged for each pre-aggregated counter unless the exemplars are disabled with
+ * {@code otel.metrics.exemplar.filter=always_off}. The measurements without attributes, including the ones recorded
+ * with {@code null} attributes, are aggregated together.
+ * </p>
+ * <pre>{@code
+ * LongCounterBuilder builder = meter.counterBuilder("jenkins.remoting.bytes");
+ * if (builder instanceof PreAggregatableCounterBuilder) {
+ *     ((PreAggregatableCounterBuilder) builder).setPreAggregated(true);
+ * }
+ * LongCounter counter = builder.build();
+ * }</pre>
+ */
+public interface PreAggregatableCounterBuilder {
+
+    /**
+     * @param preAggregated {@code true} to pre-aggregate the measurements of the built counter. Pre-aggregation is
+     * enabled for good on the counter as soon as one builder of the counter requests it.
+     */
+    void setPreAggregated(boolean preAggregated);
+}
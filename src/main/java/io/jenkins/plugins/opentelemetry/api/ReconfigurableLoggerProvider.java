@@ -6,6 +6,7 @@
 package io.jenkins.plugins.opentelemetry.api;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.MapMaker;
 import io.opentelemetry.api.incubator.logs.ExtendedLogRecordBuilder;
 import io.opentelemetry.api.incubator.logs.ExtendedLogger;
 import io.opentelemetry.api.logs.Logger;
@@ -13,10 +14,7 @@ import io.opentelemetry.api.logs.LoggerBuilder;
 import io.opentelemetry.api.logs.LoggerProvider;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * <p>
@@ -24,96 +22,79 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  * </p>
  * <p>
  * We need reconfigurability because Jenkins supports changing the configuration of the OpenTelemetry params at runtime.
- * All instantiated loggers are reconfigured when the configuration changes, when
- * {@link ReconfigurableLoggerProvider#setDelegate(LoggerProvider)} is invoked.
+ * {@link ReconfigurableLoggerProvider#setDelegate(LoggerProvider)} only swaps the delegate provider, the instantiated
+ * loggers rebind themselves to the new delegate provider the first time they are used after the change.
+ * </p>
+ * <p>
+ *     IMPORTANT: requires the OpenTelemetry API incubator module to be on the classpath for provided
+ *     {@link LoggerProvider} to create {@link ExtendedLogger}s.
  * </p>
- *  * <p>
- *  *     IMPORTANT: requires the OpenTelemetry API incubator module to be on the classpath for provided
- *  *     {@link LoggerProvider} to create {@link ExtendedLogger}s.
- *  * </p>
  */
 class ReconfigurableLoggerProvider implements LoggerProvider {
 
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile LoggerProvider delegate;
 
-    private LoggerProvider delegate;
+    /**
+     * Weak values: the loggers bind lazily to the delegate provider so the loggers no longer used, for example the
+     * loggers of the unloaded plugins, can be garbage collected
+     */
+    private final ConcurrentMap<InstrumentationScope, ReconfigurableExtendedLogger> loggers =
+            new MapMaker().weakValues().makeMap();
 
-    private final ConcurrentMap<InstrumentationScope, ReconfigurableExtendedLogger> loggers = new ConcurrentHashMap<>();
+    /**
+     * Loggers of the instrumentation scopes only defined by their name, the most common case, looked up without
+     * allocating an {@link InstrumentationScope}
+     */
+    private final ConcurrentMap<String, ReconfigurableExtendedLogger> loggersByName =
+            new MapMaker().weakValues().makeMap();
 
     public ReconfigurableLoggerProvider() {
         this(LoggerProvider.noop());
     }
 
     public ReconfigurableLoggerProvider(LoggerProvider delegate) {
-        this.delegate = delegate;
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
     }
 
     @Override
     public LoggerBuilder loggerBuilder(String instrumentationScopeName) {
-        lock.readLock().lock();
-        try {
-            return new ReconfigurableLoggerBuilder(
-                    delegate.loggerBuilder(instrumentationScopeName), instrumentationScopeName, lock);
-        } finally {
-            lock.readLock().unlock();
-        }
+        return new ReconfigurableLoggerBuilder(instrumentationScopeName);
     }
 
     @Override
     public Logger get(String instrumentationScopeName) {
-        lock.readLock().lock();
-        try {
-            InstrumentationScope instrumentationScope = new InstrumentationScope(instrumentationScopeName);
-            return loggers.computeIfAbsent(
-                    instrumentationScope,
-                    scope -> new ReconfigurableExtendedLogger(delegate.get(instrumentationScopeName), lock));
-        } finally {
-            lock.readLock().unlock();
+        ReconfigurableExtendedLogger logger = loggersByName.get(instrumentationScopeName);
+        if (logger == null) {
+            logger = loggers.computeIfAbsent(
+                    new InstrumentationScope(instrumentationScopeName), ReconfigurableExtendedLogger::new);
+            loggersByName.putIfAbsent(instrumentationScopeName, logger);
         }
+        return logger;
     }
 
     public void setDelegate(LoggerProvider delegate) {
-        lock.writeLock().lock();
-        try {
-            this.delegate = delegate;
-            loggers.forEach((instrumentationScope, reconfigurableTracer) -> {
-                LoggerBuilder loggerBuilder = delegate.loggerBuilder(instrumentationScope.instrumentationScopeName);
-                Optional.ofNullable(instrumentationScope.instrumentationScopeVersion)
-                        .ifPresent(loggerBuilder::setInstrumentationVersion);
-                Optional.ofNullable(instrumentationScope.schemaUrl).ifPresent(loggerBuilder::setSchemaUrl);
-                reconfigurableTracer.setDelegate(loggerBuilder.build());
-            });
-        } finally {
-            lock.writeLock().unlock();
-        }
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
     }
 
     @VisibleForTesting
     protected class ReconfigurableLoggerBuilder implements LoggerBuilder {
-        final LoggerBuilder delegate;
         final String instrumentationScopeName;
         String schemaUrl;
         String instrumentationScopeVersion;
-        final ReadWriteLock lock;
 
-        public ReconfigurableLoggerBuilder(
-                LoggerBuilder delegate, String instrumentationScopeName, ReadWriteLock lock) {
-            this.delegate = Objects.requireNonNull(delegate);
+        public ReconfigurableLoggerBuilder(String instrumentationScopeName) {
             this.instrumentationScopeName = Objects.requireNonNull(instrumentationScopeName);
-            this.lock = lock;
         }
 
         @Override
         public LoggerBuilder setSchemaUrl(String schemaUrl) {
             this.schemaUrl = schemaUrl;
-            delegate.setSchemaUrl(schemaUrl);
             return this;
         }
 
         @Override
         public LoggerBuilder setInstrumentationVersion(String instrumentationScopeVersion) {
             this.instrumentationScopeVersion = instrumentationScopeVersion;
-            delegate.setInstrumentationVersion(instrumentationScopeVersion);
             return this;
         }
 
@@ -121,48 +102,57 @@ class ReconfigurableLoggerProvider implements LoggerProvider {
         public Logger build() {
             InstrumentationScope instrumentationScope =
                     new InstrumentationScope(instrumentationScopeName, schemaUrl, instrumentationScopeVersion);
-            return loggers.computeIfAbsent(
-                    instrumentationScope, scope -> new ReconfigurableExtendedLogger(delegate.build(), lock));
+            return loggers.computeIfAbsent(instrumentationScope, ReconfigurableExtendedLogger::new);
         }
     }
 
+    /**
+     * <p>
+     * {@link ExtendedLogger} bound lazily to the delegate {@link LoggerProvider} of the
+     * {@link ReconfigurableLoggerProvider}, the delegate provider instance acting as the epoch of the binding.
+     * </p>
+     */
     @VisibleForTesting
-    protected static class ReconfigurableExtendedLogger implements ExtendedLogger {
-        ReadWriteLock lock;
-        ExtendedLogger delegate;
+    protected class ReconfigurableExtendedLogger implements ExtendedLogger {
+        final InstrumentationScope instrumentationScope;
+
+        private volatile Binding binding = Binding.UNBOUND;
 
-        public ReconfigurableExtendedLogger(Logger delegate, ReadWriteLock lock) {
-            this.delegate = requiresExtendedLogger(delegate);
-            this.lock = lock;
+        ReconfigurableExtendedLogger(InstrumentationScope instrumentationScope) {
+            this.instrumentationScope = Objects.requireNonNull(instrumentationScope, "instrumentationScope");
         }
 
         @Override
         public ExtendedLogRecordBuilder logRecordBuilder() {
-            lock.readLock().lock();
-            try {
-                return delegate.logRecordBuilder();
-            } finally {
-                lock.readLock().unlock();
+            return getDelegate().logRecordBuilder();
+        }
+
+        public ExtendedLogger getDelegate() {
+            Binding binding = this.binding;
+            LoggerProvider loggerProvider = delegate;
+            if (binding.loggerProvider != loggerProvider) {
+                binding = rebind(loggerProvider);
             }
+            return binding.logger;
         }
 
-        public void setDelegate(Logger delegate) {
-            lock.writeLock().lock();
-            try {
-                this.delegate = requiresExtendedLogger(delegate);
-            } finally {
-                lock.writeLock().unlock();
+        private synchronized Binding rebind(LoggerProvider loggerProvider) {
+            Binding binding = this.binding;
+            if (binding.loggerProvider != loggerProvider) {
+                LoggerBuilder loggerBuilder =
+                        loggerProvider.loggerBuilder(instrumentationScope.instrumentationScopeName);
+                Optional.ofNullable(instrumentationScope.instrumentationScopeVersion)
+                        .ifPresent(loggerBuilder::setInstrumentationVersion);
+                Optional.ofNullable(instrumentationScope.schemaUrl).ifPresent(loggerBuilder::setSchemaUrl);
+                binding = new Binding(loggerProvider, requiresExtendedLogger(loggerBuilder.build()));
+                this.binding = binding;
             }
+            return binding;
         }
 
         @Override
         public boolean isEnabled() {
-            lock.readLock().lock();
-            try {
-                return delegate.isEnabled();
-            } finally {
-                lock.readLock().unlock();
-            }
+            return getDelegate().isEnabled();
         }
 
         private static ExtendedLogger requiresExtendedLogger(Logger logger) {
@@ -183,4 +173,19 @@ class ReconfigurableLoggerProvider implements LoggerProvider {
             return (ExtendedLogger) logger;
         }
     }
+
+    /**
+     * Delegate logger and the delegate provider it was built from, published together.
+     */
+    private static final class Binding {
+        static final Binding UNBOUND = new Binding(null, null);
+
+        final LoggerProvider loggerProvider;
+        final ExtendedLogger logger;
+
+        Binding(LoggerProvider loggerProvider, ExtendedLogger logger) {
+            this.loggerProvider = loggerProvider;
+            this.logger = logger;
+        }
+    }
 }
@@ -6,6 +6,7 @@
 package io.jenkins.plugins.opentelemetry.api;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.MapMaker;
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.incubator.metrics.ExtendedDoubleCounter;
@@ -44,17 +45,33 @@ import io.opentelemetry.api.metrics.ObservableMeasurement;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfoBuilder;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.AggregationTemporalitySelector;
+import io.opentelemetry.sdk.metrics.export.MetricReader;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
@@ -68,17 +85,75 @@ import javax.annotation.concurrent.ThreadSafe;
  * All instantiated meters are reconfigured when the configuration changes, when
  * {@link ReconfigurableMeterProvider#setDelegate(MeterProvider)} is invoked.
  * </p>
+ * <p>
+ * Recording a measurement doesn't acquire any lock: the instruments publish their delegate through a volatile field
+ * and each measurement reads it exactly once. Synchronous instruments are not rebound by
+ * {@link ReconfigurableMeterProvider#setDelegate(MeterProvider)}, they rebind themselves on their first use after
+ * the change (see {@link LazilyBoundInstrument}). A measurement recorded concurrently with
+ * {@link ReconfigurableMeterProvider#setDelegate(MeterProvider)} is therefore recorded exactly once, either in the
+ * previous or in the new delegate. Locks are only used to keep the registries of meters and instruments consistent
+ * with reconfiguration: the provider lock guards the registry of meters and each meter has its own lock guarding its
+ * registry of instruments.
+ * </p>
+ * <p>
+ * The registries only hold weakly the meters and the synchronous instruments so that the meters of the unloaded
+ * plugins or of short-lived instrumentation scopes can be garbage collected, synchronous instruments bind lazily so
+ * they don't need to be reachable from the provider to be reconfigured. The observable instruments and the batch
+ * callbacks are held strongly until they are closed as the code registering them usually doesn't keep a reference
+ * to them, their meter is then pinned by the provider.
+ * </p>
  */
 @ThreadSafe
 class ReconfigurableMeterProvider implements MeterProvider {
     static final Logger logger = Logger.getLogger(ReconfigurableMeterProvider.class.getName());
 
+    /**
+     * Instrumentation scope of the telemetry of the OpenTelemetry API plugin itself
+     */
+    static final String INSTRUMENTATION_SCOPE_NAME = "io.jenkins.opentelemetry.api";
+
     @GuardedBy("lock")
     private MeterProvider delegate;
 
+    /**
+     * See {@link #setExemplarsEnabled(boolean)}
+     */
+    @GuardedBy("lock")
+    private boolean exemplarsEnabled;
+
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
-    private final ConcurrentMap<InstrumentationScopeInfo, ReconfigurableMeter> meters = new ConcurrentHashMap<>();
+    /**
+     * Weak values, see {@link #pinnedMeters}
+     */
+    private final ConcurrentMap<InstrumentationScopeInfo, ReconfigurableMeter> meters =
+            new MapMaker().weakValues().makeMap();
+
+    /**
+     * Meters of the instrumentation scopes only defined by their name, the most common case, looked up without
+     * allocating an {@link InstrumentationScopeInfo}
+     */
+    private final ConcurrentMap<String, ReconfigurableMeter> metersByName = new MapMaker().weakValues().makeMap();
+
+    /**
+     * Meters that must survive even if no longer referenced by the code that created them because they have
+     * instruments or callbacks invoked at collection time
+     */
+    private final Set<ReconfigurableMeter> pinnedMeters = ConcurrentHashMap.newKeySet();
+
+    final ObservableCallbackExecutor callbackExecutor =
+            new ObservableCallbackExecutor(() -> get(INSTRUMENTATION_SCOPE_NAME)
+                    .histogramBuilder(ObservableCallbackExecutor.CALLBACK_DURATION_HISTOGRAM_NAME)
+                    .setDescription("Duration of the callbacks of the observable instruments")
+                    .setUnit("s")
+                    .build());
+
+    final CardinalityLimiter cardinalityLimiter = new CardinalityLimiter(() -> get(INSTRUMENTATION_SCOPE_NAME)
+            .counterBuilder(CardinalityLimiter.OVERFLOW_COUNTER_NAME)
+            .setDescription("Measurements recorded in the overflow series of the instruments exceeding the cardinality"
+                    + " limit")
+            .setUnit("{measurement}")
+            .build());
 
     public ReconfigurableMeterProvider() {
         this(MeterProvider.noop());
@@ -90,42 +165,131 @@ class ReconfigurableMeterProvider implements MeterProvider {
 
     @Override
     public Meter get(String instrumentationScopeName) {
+        ReconfigurableMeter meter = metersByName.get(instrumentationScopeName);
+        if (meter != null) {
+            return meter;
+        }
         lock.readLock().lock();
         try {
-            return meters.computeIfAbsent(
+            meter = meters.computeIfAbsent(
                     InstrumentationScopeInfo.create(instrumentationScopeName),
-                    instrumentationScopeInfo ->
-                            new ReconfigurableMeter(delegate.get(instrumentationScopeInfo.getName()), lock));
+                    instrumentationScopeInfo -> newMeter(delegate.get(instrumentationScopeInfo.getName())));
+            metersByName.putIfAbsent(instrumentationScopeName, meter);
+            return meter;
         } finally {
             lock.readLock().unlock();
         }
     }
 
-    public void setDelegate(MeterProvider delegate) {
+    /**
+     * <p>
+     * The provider write lock is only held while swapping the delegate: meters created afterward are created with
+     * the new delegate and the meters registered before are then rebound one by one, each one only blocking the
+     * threads that create instruments on this very meter.
+     * </p>
+     * <p>
+     * Reconfigurations are serialized so that two concurrent invocations can't leave meters bound to different
+     * delegates.
+     * </p>
+     */
+    public synchronized void setDelegate(MeterProvider delegate) {
         lock.writeLock().lock();
         try {
             this.delegate = delegate;
-            meters.forEach((instrumentationScopeInfo, reconfigurableMeter) -> {
-                MeterBuilder meterBuilder = delegate.meterBuilder(instrumentationScopeInfo.getName());
-                Optional.ofNullable(instrumentationScopeInfo.getVersion())
-                        .ifPresent(meterBuilder::setInstrumentationVersion);
-                Optional.ofNullable(instrumentationScopeInfo.getSchemaUrl()).ifPresent(meterBuilder::setSchemaUrl);
-                reconfigurableMeter.setDelegate(meterBuilder.build());
-            });
         } finally {
             lock.writeLock().unlock();
         }
+        meters.forEach((instrumentationScopeInfo, reconfigurableMeter) ->
+                reconfigurableMeter.setDelegate(buildDelegate(delegate, instrumentationScopeInfo)));
     }
 
-    @Override
-    public MeterBuilder meterBuilder(String instrumentationScopeName) {
-        lock.readLock().lock();
+    @GuardedBy("lock")
+    private ReconfigurableMeter newMeter(Meter delegate) {
+        ReconfigurableMeter meter =
+                new ReconfigurableMeter(delegate, cardinalityLimiter, callbackExecutor, pinnedMeters);
+        meter.setExemplarsEnabled(exemplarsEnabled);
+        return meter;
+    }
+
+    /**
+     * @param exemplarsEnabled {@code true} if the delegate records exemplars, a warning is then logged for each
+     * pre-aggregated counter and buffered histogram as their measurements don't produce exemplars, see
+     * {@link PreAggregatableCounterBuilder} and {@link BufferableHistogramBuilder}
+     */
+    void setExemplarsEnabled(boolean exemplarsEnabled) {
+        lock.writeLock().lock();
         try {
-            return new ReconfigurableMeterBuilder(
-                    delegate.meterBuilder(instrumentationScopeName), instrumentationScopeName, lock);
+            this.exemplarsEnabled = exemplarsEnabled;
         } finally {
-            lock.readLock().unlock();
+            lock.writeLock().unlock();
         }
+        meters.values().forEach(meter -> meter.setExemplarsEnabled(exemplarsEnabled));
+    }
+
+    /**
+     * @param cardinalityLimit maximum number of attribute sets recorded by each synchronous instrument, see
+     * {@link CardinalityLimiter}. A non-positive value disables the limit.
+     */
+    void setCardinalityLimit(int cardinalityLimit) {
+        cardinalityLimiter.limit = cardinalityLimit;
+    }
+
+    /**
+     * @param callbackTimeout maximum duration of each callback of the observable instruments, see
+     * {@link ObservableCallbackExecutor}
+     */
+    void setCallbackTimeout(Duration callbackTimeout) {
+        callbackExecutor.setTimeout(callbackTimeout);
+    }
+
+    /**
+     * @param callbackParallel {@code true} to execute the callbacks of the observable instruments in parallel, see
+     * {@link ObservableCallbackExecutor}
+     */
+    void setCallbackParallel(boolean callbackParallel) {
+        callbackExecutor.setParallel(callbackParallel);
+    }
+
+    /**
+     * Runs the given collection of the SDK once the pre-aggregated measurements are flushed, the callbacks of the
+     * observable instruments being started in parallel right before the collection when enabled. The attribute sets
+     * tracked by the {@link CardinalityLimiter} for the instruments aggregated with the delta temporality are forgotten
+     * after the collection, like their series by the SDK.
+     */
+    Collection<MetricData> collect(
+            AggregationTemporalitySelector temporalitySelector, Supplier<Collection<MetricData>> collection) {
+        flushPreAggregatedMeasurements();
+        Collection<MetricData> metrics = callbackExecutor.collect(collection);
+        meters.values().forEach(meter -> meter.resetDeltaAttributeSets(temporalitySelector));
+        return metrics;
+    }
+
+    /**
+     * Adds the measurements accumulated by the pre-aggregated counters to the delegate meters, see
+     * {@link PreAggregatableCounterBuilder}
+     */
+    void flushPreAggregatedMeasurements() {
+        meters.values().forEach(ReconfigurableMeter::flushPreAggregatedMeasurements);
+    }
+
+    /**
+     * @return the given {@link MetricReader} running each of its collections through
+     * {@link #collect(AggregationTemporalitySelector, Supplier)}
+     */
+    MetricReader preparingCollections(MetricReader metricReader) {
+        return new CollectionPreparingMetricReader(metricReader, this::collect);
+    }
+
+    private static Meter buildDelegate(MeterProvider delegate, InstrumentationScopeInfo instrumentationScopeInfo) {
+        MeterBuilder meterBuilder = delegate.meterBuilder(instrumentationScopeInfo.getName());
+        Optional.ofNullable(instrumentationScopeInfo.getVersion()).ifPresent(meterBuilder::setInstrumentationVersion);
+        Optional.ofNullable(instrumentationScopeInfo.getSchemaUrl()).ifPresent(meterBuilder::setSchemaUrl);
+        return meterBuilder.build();
+    }
+
+    @Override
+    public MeterBuilder meterBuilder(String instrumentationScopeName) {
+        return new ReconfigurableMeterBuilder(instrumentationScopeName);
     }
 
     public MeterProvider getDelegate() {
@@ -139,54 +303,45 @@ class ReconfigurableMeterProvider implements MeterProvider {
 
     @VisibleForTesting
     protected class ReconfigurableMeterBuilder implements MeterBuilder {
-        final ReadWriteLock lock;
-        final MeterBuilder delegate;
         final InstrumentationScopeInfoBuilder instrumentationScopeInfoBuilder;
 
-        public ReconfigurableMeterBuilder(MeterBuilder delegate, String instrumentationScopeName, ReadWriteLock lock) {
-            this.delegate = Objects.requireNonNull(delegate);
+        public ReconfigurableMeterBuilder(String instrumentationScopeName) {
             this.instrumentationScopeInfoBuilder = InstrumentationScopeInfo.builder(instrumentationScopeName);
-            this.lock = lock;
         }
 
         @Override
         public MeterBuilder setSchemaUrl(String schemaUrl) {
-            lock.readLock().lock();
-            try {
-                delegate.setSchemaUrl(schemaUrl);
-                this.instrumentationScopeInfoBuilder.setSchemaUrl(schemaUrl);
-                return this;
-            } finally {
-                lock.readLock().unlock();
-            }
+            this.instrumentationScopeInfoBuilder.setSchemaUrl(schemaUrl);
+            return this;
         }
 
         @Override
         public MeterBuilder setInstrumentationVersion(String instrumentationScopeVersion) {
-            lock.readLock().lock();
-            try {
-                delegate.setInstrumentationVersion(instrumentationScopeVersion);
-                this.instrumentationScopeInfoBuilder.setVersion(instrumentationScopeVersion);
-                return this;
-            } finally {
-                lock.readLock().unlock();
-            }
+            this.instrumentationScopeInfoBuilder.setVersion(instrumentationScopeVersion);
+            return this;
         }
 
+        /**
+         * An existing meter is returned without locking nor creating a delegate meter builder, the provider read lock
+         * is only acquired to create the delegate of a new meter.
+         */
         @Override
         public Meter build() {
+            InstrumentationScopeInfo instrumentationScopeInfo = this.instrumentationScopeInfoBuilder.build();
+            ReconfigurableMeter meter = meters.get(instrumentationScopeInfo);
+            if (meter != null) {
+                return meter;
+            }
             lock.readLock().lock();
             try {
-                InstrumentationScopeInfo instrumentationScopeInfo = this.instrumentationScopeInfoBuilder.build();
-                return meters.computeIfAbsent(
-                        instrumentationScopeInfo, k -> new ReconfigurableMeter(delegate.build(), lock));
+                return meters.computeIfAbsent(instrumentationScopeInfo, k -> newMeter(buildDelegate(delegate, k)));
             } finally {
                 lock.readLock().unlock();
             }
         }
     }
 
-    static class InstrumentKey {
+    static class InstrumentKey extends RegistryKey {
         final String name;
 
         @Nullable
@@ -198,19 +353,24 @@ class ReconfigurableMeterProvider implements MeterProvider {
         @Nullable
         final List<AttributeKey<?>> attributes;
 
+        private final int hashCode;
+
         public InstrumentKey(
+                InstrumentKind kind,
                 String name,
                 @Nullable String description,
                 @Nullable String unit,
                 @Nullable List<AttributeKey<?>> attributes) {
-            this.name = name;
+            super(kind);
+            this.name = Objects.requireNonNull(name, "name");
             this.description = description;
             this.unit = unit;
-            this.attributes = attributes;
+            this.attributes = attributes == null ? null : List.copyOf(attributes);
+            this.hashCode = hash(hash(hash(hash(kind.ordinal(), name), description), unit), this.attributes);
         }
 
-        public InstrumentKey(String name, @Nullable String description, @Nullable String unit) {
-            this(name, description, unit, null);
+        public InstrumentKey(InstrumentKind kind, String name, @Nullable String description, @Nullable String unit) {
+            this(kind, name, description, unit, null);
         }
 
         @Override
@@ -218,7 +378,9 @@ class ReconfigurableMeterProvider implements MeterProvider {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             InstrumentKey that = (InstrumentKey) o;
-            return Objects.equals(name, that.name)
+            return hashCode == that.hashCode
+                    && kind == that.kind
+                    && name.equals(that.name)
                     && Objects.equals(description, that.description)
                     && Objects.equals(unit, that.unit)
                     && Objects.equals(attributes, that.attributes);
@@ -226,7 +388,17 @@ class ReconfigurableMeterProvider implements MeterProvider {
 
         @Override
         public int hashCode() {
-            return Objects.hash(name, description, unit, attributes);
+            return hashCode;
+        }
+
+        @Override
+        String instrumentName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return kind + " " + name;
         }
     }
 
@@ -234,14 +406,18 @@ class ReconfigurableMeterProvider implements MeterProvider {
         @Nullable
         final List<T> bucketBoundaries;
 
+        private final int histogramHashCode;
+
         public HistogramKey(
+                InstrumentKind kind,
                 String name,
                 @Nullable String description,
                 @Nullable String unit,
                 @Nullable List<AttributeKey<?>> attributes,
                 @Nullable List<T> bucketBoundaries) {
-            super(name, description, unit, attributes);
-            this.bucketBoundaries = bucketBoundaries;
+            super(kind, name, description, unit, attributes);
+            this.bucketBoundaries = bucketBoundaries == null ? null : List.copyOf(bucketBoundaries);
+            this.histogramHashCode = hash(super.hashCode(), this.bucketBoundaries);
         }
 
         @Override
@@ -255,11 +431,11 @@ class ReconfigurableMeterProvider implements MeterProvider {
 
         @Override
         public int hashCode() {
-            return Objects.hash(super.hashCode(), bucketBoundaries);
+            return histogramHashCode;
         }
     }
 
-    static class ObservableLongMeasurementCallbackKey {
+    static class ObservableLongMeasurementCallbackKey extends RegistryKey {
         final String name;
 
         @Nullable
@@ -270,15 +446,20 @@ class ReconfigurableMeterProvider implements MeterProvider {
 
         final Consumer<ObservableLongMeasurement> callback;
 
+        private final int hashCode;
+
         public ObservableLongMeasurementCallbackKey(
+                InstrumentKind kind,
                 String name,
                 @Nullable String description,
                 @Nullable String unit,
                 Consumer<ObservableLongMeasurement> callback) {
-            this.name = name;
+            super(kind);
+            this.name = Objects.requireNonNull(name, "name");
             this.description = description;
             this.unit = unit;
-            this.callback = callback;
+            this.callback = Objects.requireNonNull(callback, "callback");
+            this.hashCode = hash(hash(hash(hash(kind.ordinal(), name), description), unit), callback);
         }
 
         @Override
@@ -286,7 +467,9 @@ class ReconfigurableMeterProvider implements MeterProvider {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             ObservableLongMeasurementCallbackKey that = (ObservableLongMeasurementCallbackKey) o;
-            return Objects.equals(name, that.name)
+            return hashCode == that.hashCode
+                    && kind == that.kind
+                    && name.equals(that.name)
                     && Objects.equals(description, that.description)
                     && Objects.equals(unit, that.unit)
                     && Objects.equals(callback, that.callback);
@@ -294,11 +477,21 @@ class ReconfigurableMeterProvider implements MeterProvider {
 
         @Override
         public int hashCode() {
-            return Objects.hash(name, description, unit, callback);
+            return hashCode;
+        }
+
+        @Override
+        String instrumentName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return kind + " " + name;
         }
     }
 
-    static class ObservableDoubleMeasurementCallbackKey {
+    static class ObservableDoubleMeasurementCallbackKey extends RegistryKey {
         final String name;
 
         @Nullable
@@ -309,15 +502,20 @@ class ReconfigurableMeterProvider implements MeterProvider {
 
         final Consumer<ObservableDoubleMeasurement> callback;
 
+        private final int hashCode;
+
         public ObservableDoubleMeasurementCallbackKey(
+                InstrumentKind kind,
                 String name,
                 @Nullable String description,
                 @Nullable String unit,
                 Consumer<ObservableDoubleMeasurement> callback) {
-            this.name = name;
+            super(kind);
+            this.name = Objects.requireNonNull(name, "name");
             this.description = description;
             this.unit = unit;
-            this.callback = callback;
+            this.callback = Objects.requireNonNull(callback, "callback");
+            this.hashCode = hash(hash(hash(hash(kind.ordinal(), name), description), unit), callback);
         }
 
         @Override
@@ -325,7 +523,9 @@ class ReconfigurableMeterProvider implements MeterProvider {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             ObservableDoubleMeasurementCallbackKey that = (ObservableDoubleMeasurementCallbackKey) o;
-            return Objects.equals(name, that.name)
+            return hashCode == that.hashCode
+                    && kind == that.kind
+                    && name.equals(that.name)
                     && Objects.equals(description, that.description)
                     && Objects.equals(unit, that.unit)
                     && Objects.equals(callback, that.callback);
@@ -333,75 +533,89 @@ class ReconfigurableMeterProvider implements MeterProvider {
 
         @Override
         public int hashCode() {
-            return Objects.hash(name, description, unit, callback);
+            return hashCode;
+        }
+
+        @Override
+        String instrumentName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return kind + " " + name;
         }
     }
 
+    /**
+     * {@link Meter} with its own lock so that meters are rebound independently of each other. Instrument builders
+     * only hold the settings of the instrument, they look up existing instruments without locking and only touch
+     * the delegate meter to register a new observable instrument or callback.
+     */
     @ThreadSafe
     @VisibleForTesting
     protected static class ReconfigurableMeter implements Meter {
-        final ReadWriteLock lock;
-
-        @GuardedBy("lock")
-        Meter delegate;
-
-        // COUNTERS
-        // long counters
-        final ConcurrentMap<InstrumentKey, ReconfigurableLongCounter> longCounters = new ConcurrentHashMap<>();
-        final ConcurrentMap<ObservableLongMeasurementCallbackKey, ReconfigurableObservableLongCounter>
-                observableLongCounters = new ConcurrentHashMap<>();
-        final ConcurrentMap<InstrumentKey, ReconfigurableObservableLongMeasurement> observableLongCounterMeasurements =
-                new ConcurrentHashMap<>();
-        // double counters
-        final ConcurrentMap<InstrumentKey, ReconfigurableDoubleCounter> doubleCounters = new ConcurrentHashMap<>();
-        final ConcurrentMap<ObservableDoubleMeasurementCallbackKey, ReconfigurableObservableDoubleCounter>
-                observableDoubleCounters = new ConcurrentHashMap<>();
-        final ConcurrentMap<InstrumentKey, ReconfigurableObservableDoubleMeasurement>
-                observableDoubleCounterMeasurements = new ConcurrentHashMap<>();
-
-        // GAUGES
-        // Long gauges
-        final ConcurrentMap<InstrumentKey, ReconfigurableLongGauge> longGauges = new ConcurrentHashMap<>();
-        final ConcurrentMap<ObservableLongMeasurementCallbackKey, ReconfigurableObservableLongGauge>
-                observableLongGauges = new ConcurrentHashMap<>();
-        final ConcurrentMap<InstrumentKey, ReconfigurableObservableLongMeasurement> observableLongGaugeMeasurements =
-                new ConcurrentHashMap<>();
-        // double gauges
-        final ConcurrentMap<InstrumentKey, ReconfigurableDoubleGauge> doubleGauges = new ConcurrentHashMap<>();
-        final ConcurrentMap<ObservableDoubleMeasurementCallbackKey, ReconfigurableObservableDoubleGauge>
-                observableDoubleGauges = new ConcurrentHashMap<>();
-        final ConcurrentMap<InstrumentKey, ReconfigurableObservableDoubleMeasurement>
-                observableDoubleGaugeMeasurements = new ConcurrentHashMap<>();
-
-        // UP DOWN COUNTERS
-        // Long counters
-        final ConcurrentMap<InstrumentKey, ReconfigurableLongUpDownCounter> longUpDownCounters =
-                new ConcurrentHashMap<>();
-        final ConcurrentMap<ObservableLongMeasurementCallbackKey, ReconfigurableObservableLongUpDownCounter>
-                observableLongUpDownCounters = new ConcurrentHashMap<>();
-        final ConcurrentMap<InstrumentKey, ReconfigurableObservableLongMeasurement>
-                observableLongUpDownCounterMeasurements = new ConcurrentHashMap<>();
-        // double counters
-        final ConcurrentMap<InstrumentKey, ReconfigurableDoubleUpDownCounter> doubleUpDownCounters =
-                new ConcurrentHashMap<>();
-        final ConcurrentMap<ObservableDoubleMeasurementCallbackKey, ReconfigurableObservableDoubleUpDownCounter>
-                observableDoubleUpDownCounters = new ConcurrentHashMap<>();
-        final ConcurrentMap<InstrumentKey, ReconfigurableObservableDoubleMeasurement>
-                observableDoubleUpDownCounterMeasurements = new ConcurrentHashMap<>();
-
-        // HISTOGRAMS
-        // Long histograms
-        final ConcurrentMap<HistogramKey<Long>, ReconfigurableLongHistogram> longHistograms = new ConcurrentHashMap<>();
-        // Double histograms
-        final ConcurrentMap<HistogramKey<Double>, ReconfigurableDoubleHistogram> doubleHistograms =
-                new ConcurrentHashMap<>();
-
-        // BATCH CALLBACKS
-        final ConcurrentMap<BatchCallbackKey, ReconfigurableBatchCallback> batchCallbacks = new ConcurrentHashMap<>();
-
-        public ReconfigurableMeter(Meter delegate, ReadWriteLock lock) {
+        final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        /**
+         * Written under the write {@link #lock}, read without locking by the synchronous instruments.
+         */
+        volatile Meter delegate;
+
+        final InstrumentRegistry registry = new InstrumentRegistry();
+
+        final CardinalityLimiter cardinalityLimiter;
+
+        final ObservableCallbackExecutor callbackExecutor;
+
+        /**
+         * Meters strongly held by the provider, see {@link #updatePinning()}
+         */
+        private final Set<ReconfigurableMeter> pinnedMeters;
+
+        /**
+         * Counters accumulating their measurements until the next collection, see {@link PreAggregatableCounterBuilder}
+         */
+        final Set<PreAggregatingInstrument> preAggregatingInstruments = ConcurrentHashMap.newKeySet();
+
+        /**
+         * See {@link ReconfigurableMeterProvider#setExemplarsEnabled(boolean)}
+         */
+        @GuardedBy("this")
+        private boolean exemplarsEnabled;
+
+        /**
+         * Attribute sets recorded by the synchronous instruments, see {@link CardinalityLimiter}. Held strongly, unlike
+         * the instruments, so that the attribute sets outlive the instruments garbage collected and built again, for
+         * example by the code invoking {@code counterBuilder(name).build()} on each use, as the series live as long as
+         * the delegate meter. Cleared when the delegate meter changes and, for the instruments aggregated with the
+         * delta temporality, after each collection.
+         */
+        final ConcurrentMap<InstrumentKey, CardinalityLimiter.AttributeSets> attributeSets = new ConcurrentHashMap<>();
+
+        public ReconfigurableMeter(Meter delegate) {
+            this(
+                    delegate,
+                    new CardinalityLimiter(() -> MeterProvider.noop()
+                            .get(INSTRUMENTATION_SCOPE_NAME)
+                            .counterBuilder(CardinalityLimiter.OVERFLOW_COUNTER_NAME)
+                            .build()),
+                    new ObservableCallbackExecutor(() -> MeterProvider.noop()
+                            .get(INSTRUMENTATION_SCOPE_NAME)
+                            .histogramBuilder(ObservableCallbackExecutor.CALLBACK_DURATION_HISTOGRAM_NAME)
+                            .build()),
+                    ConcurrentHashMap.newKeySet());
+        }
+
+        ReconfigurableMeter(
+                Meter delegate,
+                CardinalityLimiter cardinalityLimiter,
+                ObservableCallbackExecutor callbackExecutor,
+                Set<ReconfigurableMeter> pinnedMeters) {
             this.delegate = delegate;
-            this.lock = lock;
+            this.cardinalityLimiter = cardinalityLimiter;
+            this.callbackExecutor = callbackExecutor;
+            this.pinnedMeters = pinnedMeters;
         }
 
         @Override
@@ -409,1747 +623,2207 @@ class ReconfigurableMeterProvider implements MeterProvider {
                 Runnable callback,
                 ObservableMeasurement observableMeasurement,
                 ObservableMeasurement... additionalMeasurements) {
-            lock.readLock().lock();
-            // io.opentelemetry.sdk.metrics.SdkMeter.batchCallback require the original ObservableMeasurement
-            // see
-            // https://github.com/open-telemetry/opentelemetry-java/blob/v1.39.0/sdk/metrics/src/main/java/io/opentelemetry/sdk/metrics/SdkMeter.java#L130
-            try {
-                BatchCallbackKey key = new BatchCallbackKey(callback, observableMeasurement, additionalMeasurements);
-                ObservableMeasurement originalObservableMeasurement =
-                        ((ReconfigurableObservableMeasurement<?>) observableMeasurement).getDelegate();
-                ObservableMeasurement[] originalAdditionalMeasurements = Arrays.stream(additionalMeasurements)
-                        .map(additionalMeasurement -> ((ReconfigurableObservableMeasurement<
-                                                ? extends ObservableMeasurement>)
-                                        additionalMeasurement)
-                                .getDelegate())
-                        .toArray(ObservableMeasurement[]::new);
-                return this.batchCallbacks.computeIfAbsent(
-                        key,
-                        k -> new ReconfigurableBatchCallback(
-                                delegate.batchCallback(
-                                        callback, originalObservableMeasurement, originalAdditionalMeasurements),
-                                lock));
-            } finally {
-                lock.readLock().unlock();
-            }
+            return getOrRegister(
+                    new BatchCallbackKey(callback, observableMeasurement, additionalMeasurements),
+                    k -> new ReconfigurableBatchCallback(this, k));
         }
 
         @Override
         public DoubleGaugeBuilder gaugeBuilder(String name) {
-            lock.readLock().lock();
-            try {
-                return new ReconfigurableDoubleGaugeBuilder(
-                        delegate.gaugeBuilder(name),
-                        name,
-                        doubleGauges,
-                        observableDoubleGauges,
-                        observableDoubleGaugeMeasurements,
-                        longGauges,
-                        observableLongGauges,
-                        observableLongGaugeMeasurements,
-                        lock);
-            } finally {
-                lock.readLock().unlock();
-            }
+            return new ReconfigurableDoubleGaugeBuilder(name, this);
         }
 
         @Override
         public DoubleHistogramBuilder histogramBuilder(String name) {
-            lock.readLock().lock();
-            try {
-                DoubleHistogramBuilder doubleHistogramBuilder = delegate.histogramBuilder(name);
-                if (doubleHistogramBuilder instanceof ExtendedDoubleHistogramBuilder) {
-                    ExtendedDoubleHistogramBuilder histogramBuilder =
-                            (ExtendedDoubleHistogramBuilder) doubleHistogramBuilder;
-                    return new ReconfigurableDoubleHistogramBuilder(
-                            histogramBuilder, name, doubleHistograms, longHistograms, lock);
-                } else {
-                    return new ReconfigurableDoubleHistogramBuilder(
-                            doubleHistogramBuilder, name, doubleHistograms, longHistograms, lock);
-                }
-            } finally {
-                lock.readLock().unlock();
-            }
+            return new ReconfigurableDoubleHistogramBuilder(name, this);
         }
 
         @Override
         public LongUpDownCounterBuilder upDownCounterBuilder(String name) {
-            lock.readLock().lock();
-            try {
-                return new ReconfigurableLongUpDownCounterBuilder(
-                        delegate.upDownCounterBuilder(name),
-                        name,
-                        longUpDownCounters,
-                        doubleUpDownCounters,
-                        observableLongUpDownCounters,
-                        observableLongUpDownCounterMeasurements,
-                        observableDoubleUpDownCounters,
-                        observableDoubleUpDownCounterMeasurements,
-                        lock);
-            } finally {
-                lock.readLock().unlock();
-            }
+            return new ReconfigurableLongUpDownCounterBuilder(name, this);
         }
 
         @Override
         public LongCounterBuilder counterBuilder(String name) {
-            lock.readLock().lock();
-            try {
-                return new ReconfigurableLongCounterBuilder(
-                        delegate.counterBuilder(name),
-                        name,
-                        longCounters,
-                        doubleCounters,
-                        observableLongCounters,
-                        observableLongCounterMeasurements,
-                        observableDoubleCounters,
-                        observableDoubleCounterMeasurements,
-                        lock);
-            } finally {
-                lock.readLock().unlock();
-            }
+            return new ReconfigurableLongCounterBuilder(name, this);
         }
 
-        public void setDelegate(Meter delegate) {
-            lock.writeLock().lock();
-            try {
-                this.delegate = delegate;
-                // COUNTERS
-                // Long counters
-                this.longCounters.forEach((counterKey, reconfigurableLongCounter) -> {
-                    LongCounterBuilder longCounterBuilder = delegate.counterBuilder(counterKey.name);
-                    Optional.ofNullable(counterKey.description).ifPresent(longCounterBuilder::setDescription);
-                    Optional.ofNullable(counterKey.unit).ifPresent(longCounterBuilder::setUnit);
-                    logger.log(Level.FINE, () -> "Reconfiguring long counter " + counterKey.name);
-                    reconfigurableLongCounter.setDelegate(longCounterBuilder.build());
-                });
-                this.observableLongCounters.forEach((callbackKey, reconfigurableObservableLongCounter) -> {
-                    LongCounterBuilder longCounterBuilder = delegate.counterBuilder(callbackKey.name);
-                    Optional.ofNullable(callbackKey.description).ifPresent(longCounterBuilder::setDescription);
-                    Optional.ofNullable(callbackKey.unit).ifPresent(longCounterBuilder::setUnit);
-                    logger.log(Level.FINE, () -> "Reconfiguring observable long counter " + callbackKey.name);
-                    reconfigurableObservableLongCounter.setDelegate(
-                            longCounterBuilder.buildWithCallback(callbackKey.callback));
-                });
-                this.observableLongCounterMeasurements.forEach(
-                        (counterKey, reconfigurableObservableLongMeasurement) -> {
-                            LongCounterBuilder longCounterBuilder = delegate.counterBuilder(counterKey.name);
-                            Optional.ofNullable(counterKey.description).ifPresent(longCounterBuilder::setDescription);
-                            Optional.ofNullable(counterKey.unit).ifPresent(longCounterBuilder::setUnit);
-                            logger.log(
-                                    Level.FINE, () -> "Reconfiguring observable long measurement " + counterKey.name);
-                            reconfigurableObservableLongMeasurement.setDelegate(longCounterBuilder.buildObserver());
-                        });
-
-                // Double counters
-                this.doubleCounters.forEach((counterKey, reconfigurableDoubleCounter) -> {
-                    DoubleCounterBuilder doubleCounterBuilder =
-                            delegate.counterBuilder(counterKey.name).ofDoubles();
-                    Optional.ofNullable(counterKey.description).ifPresent(doubleCounterBuilder::setDescription);
-                    Optional.ofNullable(counterKey.unit).ifPresent(doubleCounterBuilder::setUnit);
-                    logger.log(Level.FINE, () -> "Reconfiguring double counter " + counterKey.name);
-                    reconfigurableDoubleCounter.setDelegate(doubleCounterBuilder.build());
-                });
-                this.observableDoubleCounters.forEach((callbackKey, reconfigurableObservableDoubleCounter) -> {
-                    DoubleCounterBuilder doubleCounterBuilder =
-                            delegate.counterBuilder(callbackKey.name).ofDoubles();
-                    Optional.ofNullable(callbackKey.description).ifPresent(doubleCounterBuilder::setDescription);
-                    Optional.ofNullable(callbackKey.unit).ifPresent(doubleCounterBuilder::setUnit);
-                    logger.log(Level.FINE, () -> "Reconfiguring observable double counter " + callbackKey.name);
-                    reconfigurableObservableDoubleCounter.setDelegate(
-                            doubleCounterBuilder.buildWithCallback(callbackKey.callback));
-                });
-                this.observableDoubleCounterMeasurements.forEach(
-                        (counterKey, reconfigurableObservableDoubleMeasurement) -> {
-                            DoubleCounterBuilder doubleCounterBuilder =
-                                    delegate.counterBuilder(counterKey.name).ofDoubles();
-                            Optional.ofNullable(counterKey.description).ifPresent(doubleCounterBuilder::setDescription);
-                            Optional.ofNullable(counterKey.unit).ifPresent(doubleCounterBuilder::setUnit);
-                            logger.log(
-                                    Level.FINE, () -> "Reconfiguring observable double measurement " + counterKey.name);
-                            reconfigurableObservableDoubleMeasurement.setDelegate(doubleCounterBuilder.buildObserver());
-                        });
-
-                // GAUGES
-                // Double gauges
-                this.doubleGauges.forEach((counterKey, reconfigurableDoubleGauge) -> {
-                    DoubleGaugeBuilder doubleGaugeBuilder = delegate.gaugeBuilder(counterKey.name);
-                    Optional.ofNullable(counterKey.description).ifPresent(doubleGaugeBuilder::setDescription);
-                    Optional.ofNullable(counterKey.unit).ifPresent(doubleGaugeBuilder::setUnit);
-                    logger.log(Level.FINE, () -> "Reconfiguring double gauge " + counterKey.name);
-                    reconfigurableDoubleGauge.setDelegate(doubleGaugeBuilder.build());
-                });
-                this.observableDoubleGauges.forEach((callbackKey, reconfigurableObservableDoubleGauge) -> {
-                    DoubleGaugeBuilder doubleGaugeBuilder = delegate.gaugeBuilder(callbackKey.name);
-                    Optional.ofNullable(callbackKey.description).ifPresent(doubleGaugeBuilder::setDescription);
-                    Optional.ofNullable(callbackKey.unit).ifPresent(doubleGaugeBuilder::setUnit);
-                    logger.log(Level.FINE, () -> "Reconfiguring observable double gauge " + callbackKey.name);
-                    reconfigurableObservableDoubleGauge.setDelegate(
-                            doubleGaugeBuilder.buildWithCallback(callbackKey.callback));
-                });
-                this.observableDoubleGaugeMeasurements.forEach(
-                        (counterKey, reconfigurableObservableDoubleMeasurement) -> {
-                            DoubleGaugeBuilder doubleGaugeBuilder = delegate.gaugeBuilder(counterKey.name);
-                            Optional.ofNullable(counterKey.description).ifPresent(doubleGaugeBuilder::setDescription);
-                            Optional.ofNullable(counterKey.unit).ifPresent(doubleGaugeBuilder::setUnit);
-                            logger.log(
-                                    Level.FINE, () -> "Reconfiguring observable double measurement " + counterKey.name);
-                            reconfigurableObservableDoubleMeasurement.setDelegate(doubleGaugeBuilder.buildObserver());
-                        });
-
-                // Long gauges
-                this.longGauges.forEach((counterKey, reconfigurableLongGauge) -> {
-                    LongGaugeBuilder longGaugeBuilder =
-                            delegate.gaugeBuilder(counterKey.name).ofLongs();
-                    Optional.ofNullable(counterKey.description).ifPresent(longGaugeBuilder::setDescription);
-                    Optional.ofNullable(counterKey.unit).ifPresent(longGaugeBuilder::setUnit);
-                    logger.log(Level.FINE, () -> "Reconfiguring long gauge " + counterKey.name);
-                    reconfigurableLongGauge.setDelegate(longGaugeBuilder.build());
-                });
-                this.observableLongGauges.forEach((callbackKey, reconfigurableObservableLongGauge) -> {
-                    LongGaugeBuilder longGaugeBuilder =
-                            delegate.gaugeBuilder(callbackKey.name).ofLongs();
-                    Optional.ofNullable(callbackKey.description).ifPresent(longGaugeBuilder::setDescription);
-                    Optional.ofNullable(callbackKey.unit).ifPresent(longGaugeBuilder::setUnit);
-                    logger.log(Level.FINE, () -> "Reconfiguring observable long gauge " + callbackKey.name);
-                    reconfigurableObservableLongGauge.setDelegate(
-                            longGaugeBuilder.buildWithCallback(callbackKey.callback));
-                });
-                this.observableLongGaugeMeasurements.forEach((counterKey, reconfigurableObservableLongMeasurement) -> {
-                    LongGaugeBuilder longGaugeBuilder =
-                            delegate.gaugeBuilder(counterKey.name).ofLongs();
-                    Optional.ofNullable(counterKey.description).ifPresent(longGaugeBuilder::setDescription);
-                    Optional.ofNullable(counterKey.unit).ifPresent(longGaugeBuilder::setUnit);
-                    logger.log(Level.FINE, () -> "Reconfiguring observable long measurement " + counterKey.name);
-                    reconfigurableObservableLongMeasurement.setDelegate(longGaugeBuilder.buildObserver());
-                });
-
-                // UPDOWN COUNTERS
-                // Long updown counters
-                this.longUpDownCounters.forEach((counterKey, reconfigurableLongUpDownCounter) -> {
-                    LongUpDownCounterBuilder longUpDownCounterBuilder = delegate.upDownCounterBuilder(counterKey.name);
-                    Optional.ofNullable(counterKey.description).ifPresent(longUpDownCounterBuilder::setDescription);
-                    Optional.ofNullable(counterKey.unit).ifPresent(longUpDownCounterBuilder::setUnit);
-                    logger.log(Level.FINE, () -> "Reconfiguring long updown counter " + counterKey.name);
-                    reconfigurableLongUpDownCounter.setDelegate(longUpDownCounterBuilder.build());
-                });
-                this.observableLongUpDownCounters.forEach((callbackKey, reconfigurableObservableLongUpDownCounter) -> {
-                    LongUpDownCounterBuilder longUpDownCounterBuilder = delegate.upDownCounterBuilder(callbackKey.name);
-                    Optional.ofNullable(callbackKey.description).ifPresent(longUpDownCounterBuilder::setDescription);
-                    Optional.ofNullable(callbackKey.unit).ifPresent(longUpDownCounterBuilder::setUnit);
-                    logger.log(Level.FINE, () -> "Reconfiguring observable long updown counter " + callbackKey.name);
-                    reconfigurableObservableLongUpDownCounter.setDelegate(
-                            longUpDownCounterBuilder.buildWithCallback(callbackKey.callback));
-                });
-                this.observableLongUpDownCounterMeasurements.forEach(
-                        (counterKey, reconfigurableObservableLongMeasurement) -> {
-                            LongUpDownCounterBuilder longUpDownCounterBuilder =
-                                    delegate.upDownCounterBuilder(counterKey.name);
-                            Optional.ofNullable(counterKey.description)
-                                    .ifPresent(longUpDownCounterBuilder::setDescription);
-                            Optional.ofNullable(counterKey.unit).ifPresent(longUpDownCounterBuilder::setUnit);
-                            logger.log(
-                                    Level.FINE,
-                                    () -> "Reconfiguring observable long updown measurement " + counterKey.name);
-                            reconfigurableObservableLongMeasurement.setDelegate(
-                                    longUpDownCounterBuilder.buildObserver());
-                        });
-
-                // Double updown counters
-                this.doubleUpDownCounters.forEach((counterKey, reconfigurableDoubleUpDownCounter) -> {
-                    DoubleUpDownCounterBuilder doubleUpDownCounterBuilder =
-                            delegate.upDownCounterBuilder(counterKey.name).ofDoubles();
-                    Optional.ofNullable(counterKey.description).ifPresent(doubleUpDownCounterBuilder::setDescription);
-                    Optional.ofNullable(counterKey.unit).ifPresent(doubleUpDownCounterBuilder::setUnit);
-                    logger.log(Level.FINE, () -> "Reconfiguring double updown counter " + counterKey.name);
-                    reconfigurableDoubleUpDownCounter.setDelegate(doubleUpDownCounterBuilder.build());
-                });
-                this.observableDoubleUpDownCounters.forEach(
-                        (callbackKey, reconfigurableObservableDoubleUpDownCounter) -> {
-                            DoubleUpDownCounterBuilder doubleUpDownCounterBuilder = delegate.upDownCounterBuilder(
-                                            callbackKey.name)
-                                    .ofDoubles();
-                            Optional.ofNullable(callbackKey.description)
-                                    .ifPresent(doubleUpDownCounterBuilder::setDescription);
-                            Optional.ofNullable(callbackKey.unit).ifPresent(doubleUpDownCounterBuilder::setUnit);
-                            logger.log(
-                                    Level.FINE,
-                                    () -> "Reconfiguring observable double updown counter " + callbackKey.name);
-                            reconfigurableObservableDoubleUpDownCounter.setDelegate(
-                                    doubleUpDownCounterBuilder.buildWithCallback(callbackKey.callback));
-                        });
-                this.observableDoubleUpDownCounterMeasurements.forEach(
-                        (counterKey, reconfigurableObservableDoubleMeasurement) -> {
-                            DoubleUpDownCounterBuilder doubleUpDownCounterBuilder = delegate.upDownCounterBuilder(
-                                            counterKey.name)
-                                    .ofDoubles();
-                            Optional.ofNullable(counterKey.description)
-                                    .ifPresent(doubleUpDownCounterBuilder::setDescription);
-                            Optional.ofNullable(counterKey.unit).ifPresent(doubleUpDownCounterBuilder::setUnit);
-                            logger.log(
-                                    Level.FINE,
-                                    () -> "Reconfiguring observable double updown measurement " + counterKey.name);
-                            reconfigurableObservableDoubleMeasurement.setDelegate(
-                                    doubleUpDownCounterBuilder.buildObserver());
-                        });
-
-                // HISTOGRAMS
-                // Long histograms
-                this.longHistograms.forEach((histogramKey, reconfigurableLongHistogram) -> {
-                    LongHistogramBuilder longHistogramBuilder =
-                            delegate.histogramBuilder(histogramKey.name).ofLongs();
-                    Optional.ofNullable(histogramKey.description).ifPresent(longHistogramBuilder::setDescription);
-                    Optional.ofNullable(histogramKey.unit).ifPresent(longHistogramBuilder::setUnit);
-                    Optional.ofNullable(histogramKey.bucketBoundaries)
-                            .ifPresent(longHistogramBuilder::setExplicitBucketBoundariesAdvice);
-                    if (longHistogramBuilder instanceof ExtendedLongHistogramBuilder) {
-                        Optional.ofNullable(histogramKey.attributes)
-                                .ifPresent(((ExtendedLongHistogramBuilder) longHistogramBuilder)::setAttributesAdvice);
-                    }
-                    logger.log(Level.FINE, () -> "Reconfiguring long histogram " + histogramKey.name);
-                    reconfigurableLongHistogram.setDelegate(longHistogramBuilder.build());
-                });
-                // Double histograms
-                this.doubleHistograms.forEach((counterKey, reconfigurableDoubleHistogram) -> {
-                    DoubleHistogramBuilder doubleHistogramBuilder = delegate.histogramBuilder(counterKey.name);
-                    Optional.ofNullable(counterKey.description).ifPresent(doubleHistogramBuilder::setDescription);
-                    Optional.ofNullable(counterKey.unit).ifPresent(doubleHistogramBuilder::setUnit);
-                    Optional.ofNullable(counterKey.bucketBoundaries)
-                            .ifPresent(doubleHistogramBuilder::setExplicitBucketBoundariesAdvice);
-                    if (doubleHistogramBuilder instanceof ExtendedDoubleHistogramBuilder) {
-                        Optional.ofNullable(counterKey.attributes).ifPresent(((ExtendedDoubleHistogramBuilder)
-                                doubleHistogramBuilder)::setAttributesAdvice);
-                    }
-                    logger.log(Level.FINE, () -> "Reconfiguring double histogram " + counterKey.name);
-                    reconfigurableDoubleHistogram.setDelegate(doubleHistogramBuilder.build());
-                });
-
-                // BATCH CALLBACKS
-                this.batchCallbacks.forEach((batchCallbackKey, reconfigurableBatchCallback) -> {
-
-                    // close previous call back to prevent
-                    // "WARNING	i.o.s.internal.ThrottlingLogger#doLog: Instrument xyz has recorded multiple values for
-                    // the same attributes: {...}"
-                    reconfigurableBatchCallback.close();
-
-                    // io.opentelemetry.sdk.metrics.SdkMeter.batchCallback require the original ObservableMeasurement
-                    // see
-                    // https://github.com/open-telemetry/opentelemetry-java/blob/v1.39.0/sdk/metrics/src/main/java/io/opentelemetry/sdk/metrics/SdkMeter.java#L130
-
-                    ObservableMeasurement originalObservableMeasurement = ((ReconfigurableObservableMeasurement<?>)
-                                    batchCallbackKey.observableMeasurement)
-                            .getDelegate();
-                    ObservableMeasurement[] originalAdditionalMeasurements = Arrays.stream(
-                                    batchCallbackKey.additionalObservableMeasurements)
-                            .map(additionalMeasurement -> ((ReconfigurableObservableMeasurement<
-                                                    ? extends ObservableMeasurement>)
-                                            additionalMeasurement)
-                                    .getDelegate())
-                            .toArray(ObservableMeasurement[]::new);
-
-                    logger.log(
-                            Level.FINE,
-                            () -> "Reconfiguring batch callback " + batchCallbackKey.observableMeasurement + " "
-                                    + Arrays.toString(batchCallbackKey.additionalObservableMeasurements));
-                    reconfigurableBatchCallback.setDelegate(delegate.batchCallback(
-                            batchCallbackKey.callback, originalObservableMeasurement, originalAdditionalMeasurements));
-                });
-            } finally {
-                lock.writeLock().unlock();
-            }
+        /**
+         * Returns the registered synchronous instrument or registers a new one. Neither a hit nor a miss acquire the
+         * {@link #lock} as synchronous instruments bind lazily to the delegate meter on their first use.
+         */
+        <K extends InstrumentKey, V extends LazilyBoundInstrument<K, ?>> V getOrCreate(
+                K key, Function<? super K, ? extends V> factory) {
+            V instrument = registry.get(key);
+            return instrument == null ? registry.computeIfAbsent(key, factory) : instrument;
         }
 
-        public synchronized Meter getDelegate() {
+        /**
+         * Returns the registered instrument or callback invoked by the delegate meter at collection time or registers
+         * a new one. A hit doesn't acquire any lock nor create any delegate builder, a miss binds the new instrument to
+         * the delegate meter under the read {@link #lock} so that it can't be missed by a concurrent
+         * {@link #setDelegate(Meter)}.
+         */
+        <K extends RegistryKey, V extends EagerlyBoundInstrument> V getOrRegister(
+                K key, Function<? super K, ? extends V> factory) {
+            V instrument = registry.get(key);
+            if (instrument != null) {
+                return instrument;
+            }
             lock.readLock().lock();
             try {
-                return delegate;
+                instrument = registry.computeIfAbsent(key, k -> {
+                    V newInstrument = factory.apply(k);
+                    newInstrument.rebind(delegate);
+                    return newInstrument;
+                });
             } finally {
                 lock.readLock().unlock();
             }
+            updatePinning();
+            return instrument;
         }
-    }
 
-    @VisibleForTesting
-    protected static class ReconfigurableObservableLongMeasurement
-            implements ObservableLongMeasurement, ReconfigurableObservableMeasurement<ObservableLongMeasurement> {
-        final ReadWriteLock lock;
-        private ObservableLongMeasurement delegate;
+        CardinalityLimiter.AttributeSets getAttributeSets(InstrumentKey key) {
+            CardinalityLimiter.AttributeSets attributeSets = this.attributeSets.get(key);
+            return attributeSets == null
+                    ? this.attributeSets.computeIfAbsent(key, CardinalityLimiter.AttributeSets::new)
+                    : attributeSets;
+        }
 
-        ReconfigurableObservableLongMeasurement(ObservableLongMeasurement delegate, ReadWriteLock lock) {
-            this.delegate = delegate;
-            this.lock = lock;
+        /**
+         * Forgets the attribute sets of the instruments aggregated with the delta temporality by the given reader, the
+         * SDK forgets their series on each collection
+         */
+        void resetDeltaAttributeSets(AggregationTemporalitySelector temporalitySelector) {
+            attributeSets.forEach((key, attributeSets) -> {
+                if (temporalitySelector.getAggregationTemporality(key.kind.getInstrumentType())
+                        == AggregationTemporality.DELTA) {
+                    attributeSets.clear();
+                }
+            });
         }
 
-        @Override
-        public void record(long value) {
-            lock.readLock().lock();
-            try {
-                delegate.record(value);
-            } finally {
-                lock.readLock().unlock();
+        void addPreAggregatingInstrument(PreAggregatingInstrument instrument) {
+            preAggregatingInstruments.add(instrument);
+            updatePinning();
+            synchronized (this) {
+                if (exemplarsEnabled) {
+                    warnExemplarsDropped(instrument);
+                }
             }
         }
 
-        @Override
-        public void record(long value, Attributes attributes) {
-            lock.readLock().lock();
-            try {
-                delegate.record(value, attributes);
-            } finally {
-                lock.readLock().unlock();
+        synchronized void setExemplarsEnabled(boolean exemplarsEnabled) {
+            if (exemplarsEnabled && !this.exemplarsEnabled) {
+                preAggregatingInstruments.forEach(ReconfigurableMeter::warnExemplarsDropped);
             }
+            this.exemplarsEnabled = exemplarsEnabled;
         }
 
-        @Override
-        public ObservableLongMeasurement getDelegate() {
-            lock.readLock().lock();
-            try {
-                return delegate;
-            } finally {
-                lock.readLock().unlock();
+        private static void warnExemplarsDropped(PreAggregatingInstrument instrument) {
+            logger.log(
+                    Level.WARNING,
+                    "The measurements of " + instrument.getKey().name + " are accumulated before being recorded and"
+                            + " don't produce exemplars although exemplars are enabled, disable the pre-aggregation or"
+                            + " the buffering of this instrument or set otel.metrics.exemplar.filter=always_off");
+        }
+
+        /**
+         * Pins this meter in the registry of the provider while it has instruments or callbacks that must be rebound
+         * or flushed even if the code that created them no longer references them, see
+         * {@link ReconfigurableMeterProvider}
+         */
+        synchronized void updatePinning() {
+            if (registry.hasEagerlyBoundInstruments() || !preAggregatingInstruments.isEmpty()) {
+                pinnedMeters.add(this);
+            } else {
+                pinnedMeters.remove(this);
             }
         }
 
-        @Override
-        public void setDelegate(ObservableLongMeasurement delegate) {
+        /**
+         * Adds the pre-aggregated measurements to the current delegate meter
+         */
+        void flushPreAggregatedMeasurements() {
+            preAggregatingInstruments.forEach(PreAggregatingInstrument::flush);
+        }
+
+        public void setDelegate(Meter delegate) {
             lock.writeLock().lock();
             try {
+                // the pending pre-aggregated measurements belong to the previous delegate which is drained afterward
+                flushPreAggregatedMeasurements();
                 this.delegate = delegate;
+                // the new delegate meter doesn't hold any series yet
+                attributeSets.values().forEach(CardinalityLimiter.AttributeSets::clear);
+                // Synchronous instruments rebind lazily on their next use, only the instruments invoked by the
+                // delegate meter at collection time are rebound here. Batch callbacks are rebound last as they are
+                // registered with the delegates of the observable measurements.
+                registry.forEach((key, instrument) -> {
+                    if (key.kind != InstrumentKind.BATCH_CALLBACK && instrument instanceof EagerlyBoundInstrument) {
+                        logger.log(Level.FINE, () -> "Reconfiguring " + key);
+                        ((EagerlyBoundInstrument) instrument).rebind(delegate);
+                    }
+                });
+                registry.forEach((key, instrument) -> {
+                    if (key.kind == InstrumentKind.BATCH_CALLBACK) {
+                        logger.log(Level.FINE, () -> "Reconfiguring " + key);
+                        ((EagerlyBoundInstrument) instrument).rebind(delegate);
+                    }
+                });
             } finally {
                 lock.writeLock().unlock();
             }
         }
 
-        @Override
-        public String toString() {
-            return "ReconfigurableObservableLongMeasurement{" + "delegate=" + delegate + '}';
+        public Meter getDelegate() {
+            return delegate;
         }
     }
 
-    static class ReconfigurableLongCounterBuilder implements LongCounterBuilder {
-        final ReadWriteLock lock;
-        LongCounterBuilder delegate;
-        final ConcurrentMap<InstrumentKey, ReconfigurableLongCounter> longCounters;
-        final ConcurrentMap<ObservableLongMeasurementCallbackKey, ReconfigurableObservableLongCounter>
-                observableLongCounters;
-        final ConcurrentMap<InstrumentKey, ReconfigurableObservableLongMeasurement> observableLongMeasurements;
-        final ConcurrentMap<InstrumentKey, ReconfigurableDoubleCounter> doubleCounters;
-        final ConcurrentMap<ObservableDoubleMeasurementCallbackKey, ReconfigurableObservableDoubleCounter>
-                observableDoubleCounters;
-        final ConcurrentMap<InstrumentKey, ReconfigurableObservableDoubleMeasurement> observableDoubleMeasurements;
+    /**
+     * Kind of the instruments and callbacks registered in the {@link InstrumentRegistry} of a
+     * {@link ReconfigurableMeter}, part of their {@link RegistryKey}.
+     */
+    enum InstrumentKind {
+        LONG_COUNTER,
+        OBSERVABLE_LONG_COUNTER,
+        OBSERVABLE_LONG_COUNTER_MEASUREMENT,
+        DOUBLE_COUNTER,
+        OBSERVABLE_DOUBLE_COUNTER,
+        OBSERVABLE_DOUBLE_COUNTER_MEASUREMENT,
+        LONG_GAUGE,
+        OBSERVABLE_LONG_GAUGE,
+        OBSERVABLE_LONG_GAUGE_MEASUREMENT,
+        DOUBLE_GAUGE,
+        OBSERVABLE_DOUBLE_GAUGE,
+        OBSERVABLE_DOUBLE_GAUGE_MEASUREMENT,
+        LONG_UP_DOWN_COUNTER,
+        OBSERVABLE_LONG_UP_DOWN_COUNTER,
+        OBSERVABLE_LONG_UP_DOWN_COUNTER_MEASUREMENT,
+        DOUBLE_UP_DOWN_COUNTER,
+        OBSERVABLE_DOUBLE_UP_DOWN_COUNTER,
+        OBSERVABLE_DOUBLE_UP_DOWN_COUNTER_MEASUREMENT,
+        LONG_HISTOGRAM,
+        DOUBLE_HISTOGRAM,
+        BATCH_CALLBACK;
+
+        /**
+         * @return the type of the synchronous instrument in the SDK
+         */
+        InstrumentType getInstrumentType() {
+            switch (this) {
+                case LONG_COUNTER:
+                case DOUBLE_COUNTER:
+                    return InstrumentType.COUNTER;
+                case LONG_UP_DOWN_COUNTER:
+                case DOUBLE_UP_DOWN_COUNTER:
+                    return InstrumentType.UP_DOWN_COUNTER;
+                case LONG_GAUGE:
+                case DOUBLE_GAUGE:
+                    return InstrumentType.GAUGE;
+                case LONG_HISTOGRAM:
+                case DOUBLE_HISTOGRAM:
+                    return InstrumentType.HISTOGRAM;
+                default:
+                    throw new IllegalStateException("Not a synchronous instrument " + this);
+            }
+        }
+
+        /**
+         * @return {@code true} for the synchronous instruments, bound lazily on their use rather than invoked by the
+         * delegate meter at collection time
+         */
+        boolean isSynchronous() {
+            switch (this) {
+                case LONG_COUNTER:
+                case DOUBLE_COUNTER:
+                case LONG_GAUGE:
+                case DOUBLE_GAUGE:
+                case LONG_UP_DOWN_COUNTER:
+                case DOUBLE_UP_DOWN_COUNTER:
+                case LONG_HISTOGRAM:
+                case DOUBLE_HISTOGRAM:
+                    return true;
+                default:
+                    return false;
+            }
+        }
+    }
 
-        final String name;
-        String description;
-        String unit;
+    /**
+     * <p>
+     * Key of the {@link InstrumentRegistry}, the {@link InstrumentKind} is part of the identity of the key so that
+     * instruments of different kinds sharing the same name don't collide.
+     * </p>
+     * <p>
+     * Keys are immutable and compute their hash code once when they are created: looking up an instrument doesn't
+     * allocate varargs arrays nor rehash the attributes and bucket boundaries lists, and comparing two keys with
+     * different hash codes is a single int comparison. The key stored in the registry is the canonical instance
+     * shared by the registered instrument.
+     * </p>
+     */
+    abstract static class RegistryKey {
+        final InstrumentKind kind;
+
+        /**
+         * @return the name of the instrument, of the first instrument for a batch callback
+         */
+        abstract String instrumentName();
+
+        RegistryKey(InstrumentKind kind) {
+            this.kind = Objects.requireNonNull(kind, "kind");
+        }
+
+        static int hash(int hashCode, @Nullable Object o) {
+            return 31 * hashCode + Objects.hashCode(o);
+        }
+    }
 
-        ReconfigurableLongCounterBuilder(
-                LongCounterBuilder delegate,
-                String name,
-                ConcurrentMap<InstrumentKey, ReconfigurableLongCounter> longCounters,
-                ConcurrentMap<InstrumentKey, ReconfigurableDoubleCounter> doubleCounters,
-                ConcurrentMap<ObservableLongMeasurementCallbackKey, ReconfigurableObservableLongCounter>
-                        observableLongCounters,
-                ConcurrentMap<InstrumentKey, ReconfigurableObservableLongMeasurement> observableLongMeasurements,
-                ConcurrentMap<ObservableDoubleMeasurementCallbackKey, ReconfigurableObservableDoubleCounter>
-                        observableDoubleCounters,
-                ConcurrentMap<InstrumentKey, ReconfigurableObservableDoubleMeasurement> observableDoubleMeasurements,
-                ReadWriteLock lock) {
-            this.delegate = delegate;
-            this.name = name;
-            this.longCounters = longCounters;
-            this.observableLongCounters = observableLongCounters;
-            this.observableLongMeasurements = observableLongMeasurements;
-            this.doubleCounters = doubleCounters;
-            this.observableDoubleCounters = observableDoubleCounters;
-            this.observableDoubleMeasurements = observableDoubleMeasurements;
+    /**
+     * <p>
+     * Instruments and callbacks of a {@link ReconfigurableMeter}, keyed by {@link RegistryKey}.
+     * </p>
+     * <p>
+     * A map of all the kinds of instruments invoked at collection time, held strongly, and a map of all the kinds of
+     * synchronous instruments, held weakly, replace a map per kind of instrument: most meters only use a few kinds of
+     * instruments, and many meters don't register any instrument at all, so the maps are only allocated on the first
+     * registration.
+     * </p>
+     */
+    @ThreadSafe
+    static final class InstrumentRegistry {
+        @Nullable
+        private volatile ConcurrentMap<RegistryKey, Object> instruments;
+
+        @Nullable
+        private volatile ConcurrentMap<RegistryKey, Object> synchronousInstruments;
 
-            this.lock = lock;
+        @SuppressWarnings("unchecked")
+        <K extends RegistryKey, V> V computeIfAbsent(K key, Function<? super K, ? extends V> factory) {
+            return (V) getOrCreateInstruments(key.kind).computeIfAbsent(key, k -> factory.apply(key));
         }
 
-        @Override
-        public LongCounterBuilder setDescription(String description) {
-            lock.readLock().lock();
-            try {
-                delegate.setDescription(description);
-                this.description = description;
-                return this;
-            } finally {
-                lock.readLock().unlock();
+        @Nullable
+        @SuppressWarnings("unchecked")
+        <V> V get(RegistryKey key) {
+            ConcurrentMap<RegistryKey, Object> instruments =
+                    key.kind.isSynchronous() ? this.synchronousInstruments : this.instruments;
+            return instruments == null ? null : (V) instruments.get(key);
+        }
+
+        boolean remove(RegistryKey key, Object instrument) {
+            ConcurrentMap<RegistryKey, Object> instruments =
+                    key.kind.isSynchronous() ? this.synchronousInstruments : this.instruments;
+            return instruments != null && instruments.remove(key, instrument);
+        }
+
+        /**
+         * @return {@code true} if instruments or callbacks invoked at collection time are registered
+         */
+        boolean hasEagerlyBoundInstruments() {
+            ConcurrentMap<RegistryKey, Object> instruments = this.instruments;
+            return instruments != null && !instruments.isEmpty();
+        }
+
+        /**
+         * @return the number of registered instruments of the given kind
+         */
+        int count(InstrumentKind kind) {
+            ConcurrentMap<RegistryKey, Object> instruments =
+                    kind.isSynchronous() ? this.synchronousInstruments : this.instruments;
+            return instruments == null
+                    ? 0
+                    : (int) instruments.keySet().stream()
+                            .filter(key -> key.kind == kind)
+                            .count();
+        }
+
+        void forEach(BiConsumer<RegistryKey, Object> action) {
+            ConcurrentMap<RegistryKey, Object> instruments = this.instruments;
+            if (instruments != null) {
+                instruments.forEach(action);
+            }
+            ConcurrentMap<RegistryKey, Object> synchronousInstruments = this.synchronousInstruments;
+            if (synchronousInstruments != null) {
+                synchronousInstruments.forEach(action);
+            }
+        }
+
+        private ConcurrentMap<RegistryKey, Object> getOrCreateInstruments(InstrumentKind kind) {
+            ConcurrentMap<RegistryKey, Object> instruments =
+                    kind.isSynchronous() ? this.synchronousInstruments : this.instruments;
+            if (instruments == null) {
+                synchronized (this) {
+                    if (kind.isSynchronous()) {
+                        instruments = this.synchronousInstruments;
+                        if (instruments == null) {
+                            instruments = new MapMaker().weakValues().makeMap();
+                            this.synchronousInstruments = instruments;
+                        }
+                    } else {
+                        instruments = this.instruments;
+                        if (instruments == null) {
+                            instruments = new ConcurrentHashMap<>();
+                            this.instruments = instruments;
+                        }
+                    }
+                }
             }
+            return instruments;
         }
+    }
 
-        @Override
-        public LongCounterBuilder setUnit(String unit) {
-            lock.readLock().lock();
-            try {
-                delegate.setUnit(unit);
-                this.unit = unit;
-                return this;
-            } finally {
-                lock.readLock().unlock();
-            }
+    /**
+     * Instrument accumulating its measurements locally, see {@link PreAggregatableCounterBuilder} and
+     * {@link BufferableHistogramBuilder}
+     */
+    interface PreAggregatingInstrument {
+        InstrumentKey getKey();
+
+        /**
+         * Adds the measurements accumulated since the previous flush to the delegate instrument
+         */
+        void flush();
+    }
+
+    /**
+     * <p>
+     * Per thread buffers of the measurements of a buffered histogram, see {@link BufferableHistogramBuilder}.
+     * </p>
+     * <p>
+     * The values are stored as primitive {@code long}s, the raw bits of the {@code double} values, so that buffering
+     * a measurement doesn't allocate. Each buffer is guarded by its own monitor only contended when the buffer is
+     * drained by the collection, the buffers of the terminated threads are dropped once drained.
+     * </p>
+     */
+    @ThreadSafe
+    static final class HistogramBuffers {
+        static final int BUFFER_CAPACITY = 128;
+
+        private final Drain drain;
+
+        private final Set<Buffer> buffers = ConcurrentHashMap.newKeySet();
+
+        private final ThreadLocal<Buffer> threadBuffer = ThreadLocal.withInitial(() -> {
+            Buffer buffer = new Buffer(Thread.currentThread());
+            buffers.add(buffer);
+            return buffer;
+        });
+
+        HistogramBuffers(Drain drain) {
+            this.drain = drain;
         }
 
-        @Override
-        public DoubleCounterBuilder ofDoubles() {
-            lock.readLock().lock();
-            try {
-                ReconfigurableDoubleCounterBuilder reconfigurableDoubleCounterBuilder =
-                        new ReconfigurableDoubleCounterBuilder(
-                                delegate.ofDoubles(),
-                                name,
-                                doubleCounters,
-                                observableDoubleCounters,
-                                observableDoubleMeasurements,
-                                lock);
-                Optional.ofNullable(description).ifPresent(reconfigurableDoubleCounterBuilder::setDescription);
-                Optional.ofNullable(unit).ifPresent(reconfigurableDoubleCounterBuilder::setUnit);
-                return reconfigurableDoubleCounterBuilder;
-            } finally {
-                lock.readLock().unlock();
+        void record(long value, Attributes attributes) {
+            Buffer buffer = threadBuffer.get();
+            synchronized (buffer) {
+                buffer.values[buffer.length] = value;
+                buffer.attributes[buffer.length] = attributes;
+                if (++buffer.length == BUFFER_CAPACITY) {
+                    drain(buffer);
+                }
             }
         }
 
-        @Override
-        public LongCounter build() {
-            lock.readLock().lock();
-            try {
-                InstrumentKey counterKey = new InstrumentKey(name, description, unit);
-                return longCounters.computeIfAbsent(
-                        counterKey, k -> new ReconfigurableLongCounter(delegate.build(), lock));
-            } finally {
-                lock.readLock().unlock();
+        /**
+         * Drains the buffers of all the threads into the delegate histogram
+         */
+        void flush() {
+            for (Buffer buffer : buffers) {
+                synchronized (buffer) {
+                    drain(buffer);
+                }
+                Thread owner = buffer.owner.get();
+                if (owner == null || !owner.isAlive()) {
+                    buffers.remove(buffer);
+                }
             }
         }
 
-        @Override
-        public ObservableLongCounter buildWithCallback(Consumer<ObservableLongMeasurement> callback) {
-            lock.readLock().lock();
+        @GuardedBy("buffer")
+        private void drain(Buffer buffer) {
+            if (buffer.length == 0) {
+                return;
+            }
+            for (int i = 0; i < buffer.length; i++) {
+                // the SDK expects non null attributes
+                if (buffer.attributes[i] == null) {
+                    buffer.attributes[i] = Attributes.empty();
+                }
+            }
             try {
-                ObservableLongMeasurementCallbackKey key =
-                        new ObservableLongMeasurementCallbackKey(name, description, unit, callback);
-                return this.observableLongCounters.computeIfAbsent(
-                        key, k -> new ReconfigurableObservableLongCounter(delegate.buildWithCallback(callback), lock));
+                drain.drain(buffer.values, buffer.attributes, buffer.length);
             } finally {
-                lock.readLock().unlock();
+                Arrays.fill(buffer.attributes, 0, buffer.length, null);
+                buffer.length = 0;
             }
         }
 
-        @Override
-        public ObservableLongMeasurement buildObserver() {
-            lock.readLock().lock();
-            try {
-                InstrumentKey counterKey = new InstrumentKey(name, description, unit);
-                return this.observableLongMeasurements.computeIfAbsent(
-                        counterKey, k -> new ReconfigurableObservableLongMeasurement(delegate.buildObserver(), lock));
-            } finally {
-                lock.readLock().unlock();
+        interface Drain {
+            /**
+             * Records the first {@code length} buffered measurements, whose attributes are not null, in the delegate
+             * histogram
+             */
+            void drain(long[] values, Attributes[] attributes, int length);
+        }
+
+        private static final class Buffer {
+            final WeakReference<Thread> owner;
+            final long[] values = new long[BUFFER_CAPACITY];
+            final Attributes[] attributes = new Attributes[BUFFER_CAPACITY];
+
+            @GuardedBy("this")
+            int length;
+
+            Buffer(Thread owner) {
+                this.owner = new WeakReference<>(owner);
             }
         }
     }
 
-    @VisibleForTesting
+    /**
+     * <p>
+     * Limits the number of attribute sets, and therefore of metric series, recorded by each synchronous instrument.
+     * </p>
+     * <p>
+     * Attributes built from job names, branch names or agent names can create an unbounded number of series
+     * overloading the heap and the metrics backends. Once an instrument has recorded {@link #limit} attribute sets,
+     * the measurements with new attribute sets are recorded in the series {@code otel.metric.overflow=true} like the
+     * OpenTelemetry SDK does, and counted by the {@code jenkins.opentelemetry.metric.overflow} counter with the
+     * attribute {@code metric.name} reporting the overflowing instrument. The attribute sets are tracked by the
+     * {@link ReconfigurableMeter} with the lifetime of the series of the SDK: they are forgotten when the delegate
+     * meter changes and, for the instruments aggregated with the delta temporality, after each collection.
+     * </p>
+     * <p>
+     * Disabled by default: the SDK already limits the cardinality of each metric per reader, the limiter only adds the
+     * overflow counter reporting the overflowing instruments at the cost of a lookup of the attributes on each
+     * measurement.
+     * </p>
+     */
     @ThreadSafe
-    protected static class ReconfigurableLongCounter implements ExtendedLongCounter {
-        final ReadWriteLock lock;
+    static final class CardinalityLimiter {
+        /**
+         * Disabled
+         */
+        static final int DEFAULT_LIMIT = 0;
 
-        @GuardedBy("lock")
-        private LongCounter delegate;
+        static final String OVERFLOW_COUNTER_NAME = "jenkins.opentelemetry.metric.overflow";
 
-        ReconfigurableLongCounter(LongCounter delegate, ReadWriteLock lock) {
-            this.delegate = delegate;
-            this.lock = lock;
-        }
+        static final Attributes OVERFLOW_ATTRIBUTES =
+                Attributes.of(AttributeKey.booleanKey("otel.metric.overflow"), true);
 
-        @Override
-        public void add(long increment) {
-            lock.readLock().lock();
+        static final AttributeKey<String> METRIC_NAME = AttributeKey.stringKey("metric.name");
+
+        volatile int limit = DEFAULT_LIMIT;
+
+        private final Supplier<LongCounter> overflowCounterSupplier;
+
+        @Nullable
+        private volatile LongCounter overflowCounter;
+
+        CardinalityLimiter(Supplier<LongCounter> overflowCounterSupplier) {
+            this.overflowCounterSupplier = overflowCounterSupplier;
+        }
+
+        void reportOverflow(InstrumentKey key, Attributes overflowCounterAttributes) {
+            LongCounter overflowCounter = this.overflowCounter;
+            if (overflowCounter == null) {
+                logger.log(Level.FINE, () -> "Cardinality limit of " + limit + " exceeded by " + key);
+                overflowCounter = overflowCounterSupplier.get();
+                this.overflowCounter = overflowCounter;
+            }
+            // bypass the limit of the overflow counter itself, its cardinality is bounded by the number of instruments
+            LongCounter delegate = overflowCounter instanceof ReconfigurableLongCounter
+                    ? ((ReconfigurableLongCounter) overflowCounter).getDelegate()
+                    : overflowCounter;
+            delegate.add(1, overflowCounterAttributes);
+        }
+
+        /**
+         * Attribute sets recorded by a synchronous instrument
+         */
+        @ThreadSafe
+        static final class AttributeSets {
+            private final Set<Attributes> attributeSets = ConcurrentHashMap.newKeySet();
+
+            final Attributes overflowCounterAttributes;
+
+            /**
+             * Incremented when the attribute sets are cleared so that the bound counters resolve their attributes again
+             */
+            volatile int generation;
+
+            AttributeSets(InstrumentKey key) {
+                this.overflowCounterAttributes = Attributes.of(METRIC_NAME, key.name);
+            }
+
+            /**
+             * @return {@code true} if the given attribute set is already recorded or if it could be added without
+             * exceeding the given limit
+             */
+            boolean add(Attributes attributes, int limit) {
+                if (attributeSets.contains(attributes)) {
+                    return true;
+                }
+                synchronized (this) {
+                    if (attributeSets.size() < limit || attributeSets.contains(attributes)) {
+                        attributeSets.add(attributes);
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            synchronized void clear() {
+                attributeSets.clear();
+                generation++;
+            }
+        }
+    }
+
+    /**
+     * Registered instrument or callback rebound eagerly by {@link ReconfigurableMeter#setDelegate(Meter)} because the
+     * delegate meter invokes it at collection time.
+     */
+    interface EagerlyBoundInstrument {
+        void rebind(Meter meter);
+    }
+
+    /**
+     * <p>
+     * Observable instrument or batch callback kept in the registry of its {@link ReconfigurableMeter} to be registered
+     * again on the new delegate meter by {@link ReconfigurableMeter#setDelegate(Meter)}.
+     * </p>
+     * <p>
+     * {@link #close()} removes it from the registry, releasing the callback captured by its key, so that callbacks
+     * registered and closed over and over, for example once per build, neither leak nor keep being invoked at each
+     * collection after the next reconfiguration.
+     * </p>
+     */
+    @ThreadSafe
+    abstract static class RegisteredCallback<K extends RegistryKey, T> implements EagerlyBoundInstrument {
+        final ReconfigurableMeter meter;
+        final K key;
+
+        /**
+         * Bound by {@link ReconfigurableMeter#getOrRegister(RegistryKey, Function)} before the registration is
+         * published
+         */
+        volatile T delegate;
+
+        final ObservableCallbackExecutor.TimeBoxedCallback timeBoxedCallback;
+
+        RegisteredCallback(ReconfigurableMeter meter, K key) {
+            this.meter = meter;
+            this.key = key;
+            this.timeBoxedCallback = new ObservableCallbackExecutor.TimeBoxedCallback(key.instrumentName(), this::run);
+        }
+
+        public void setDelegate(T delegate) {
+            this.delegate = delegate;
+        }
+
+        public T getDelegate() {
+            return delegate;
+        }
+
+        @Override
+        public void rebind(Meter meter) {
+            setDelegate(build(meter));
+            this.meter.callbackExecutor.register(timeBoxedCallback);
+        }
+
+        /**
+         * Builds the delegate instrument or callback on the given delegate meter, the callback registered on the
+         * delegate meter is {@link #invoke(ObservableMeasurement)}
+         */
+        protected abstract T build(Meter meter);
+
+        /**
+         * Memoize the recording of the callback, see {@link MemoizableCallbackBuilder}
+         */
+        void memoize(Duration memoizationTtl) {
+            timeBoxedCallback.memoize(memoizationTtl);
+        }
+
+        /**
+         * Callback registered on the delegate meter, see {@link ObservableCallbackExecutor}
+         *
+         * @param measurement measurement given by the delegate meter, {@code null} for a batch callback
+         */
+        void invoke(@Nullable ObservableMeasurement measurement) {
+            if (meter.callbackExecutor.isExecuted(timeBoxedCallback)) {
+                meter.callbackExecutor.invoke(timeBoxedCallback, measurement);
+            } else {
+                invokeDirectly(measurement);
+            }
+        }
+
+        /**
+         * Runs the callback of the instrument through the {@link ObservableCallbackExecutor}
+         */
+        abstract void run(ObservableCallbackExecutor.Recording recording);
+
+        /**
+         * Invokes the callback of the instrument on the thread of the collection with the measurement given by the
+         * delegate meter
+         */
+        abstract void invokeDirectly(@Nullable ObservableMeasurement measurement);
+
+        /**
+         * Close the delegate instrument or callback, keeping this registration to rebind it
+         */
+        abstract void closeDelegate();
+
+        /**
+         * Unregister and close the delegate. Acquires the read lock of the meter so that a concurrent
+         * {@link ReconfigurableMeter#setDelegate(Meter)} can't rebind it after it has been closed.
+         */
+        public void close() {
+            meter.lock.readLock().lock();
             try {
-                delegate.add(increment);
+                if (meter.registry.remove(key, this)) {
+                    logger.log(Level.FINE, () -> "Unregistered " + getClass().getSimpleName());
+                    meter.updatePinning();
+                }
+                meter.callbackExecutor.unregister(timeBoxedCallback);
+                closeDelegate();
             } finally {
-                lock.readLock().unlock();
+                meter.lock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Synchronous instrument bound lazily to the delegate {@link Meter} of its {@link ReconfigurableMeter}.
+     * </p>
+     * <p>
+     * The delegate meter instance acts as the epoch of the binding: recording a measurement compares the meter the
+     * delegate instrument was built from with the current one, two volatile reads, and the delegate instrument is only
+     * rebuilt on the first use after {@link ReconfigurableMeter#setDelegate(Meter)}. Reconfiguring is then
+     * proportional to the number of instruments actually used rather than to the number of registered instruments.
+     * </p>
+     * <p>
+     * Each measurement reads the binding once so it is recorded either by the previous or by the new delegate
+     * instrument, never by both.
+     * </p>
+     */
+    @ThreadSafe
+    abstract static class LazilyBoundInstrument<K extends InstrumentKey, T> {
+        final ReconfigurableMeter meter;
+        final K key;
+
+        @Nullable
+        private volatile Binding<T> binding;
+
+        /**
+         * Attribute sets recorded by this instrument, held by the {@link ReconfigurableMeter#attributeSets}, only
+         * looked up when the {@link CardinalityLimiter} is enabled
+         */
+        @Nullable
+        private volatile CardinalityLimiter.AttributeSets attributeSets;
+
+        LazilyBoundInstrument(ReconfigurableMeter meter, K key) {
+            this.meter = Objects.requireNonNull(meter, "meter");
+            this.key = Objects.requireNonNull(key, "key");
+        }
+
+        public K getKey() {
+            return key;
+        }
+
+        public T getDelegate() {
+            Binding<T> binding = this.binding;
+            Meter meterDelegate = meter.delegate;
+            if (binding == null || binding.meter != meterDelegate) {
+                binding = bind(meterDelegate);
+            }
+            return binding.instrument;
+        }
+
+        private synchronized Binding<T> bind(Meter meterDelegate) {
+            Binding<T> binding = this.binding;
+            if (binding == null || binding.meter != meterDelegate) {
+                logger.log(Level.FINE, () -> "Binding " + getClass().getSimpleName() + " " + key.name);
+                binding = new Binding<>(meterDelegate, build(meterDelegate));
+                this.binding = binding;
+            }
+            return binding;
+        }
+
+        /**
+         * Builds the delegate instrument on the given delegate meter
+         */
+        protected abstract T build(Meter meter);
+
+        /**
+         * @return the given attributes or {@link CardinalityLimiter#OVERFLOW_ATTRIBUTES} if this instrument already
+         * recorded the maximum number of attribute sets, see {@link CardinalityLimiter}
+         */
+        final Attributes limitCardinality(Attributes attributes) {
+            if (attributes == null || !isOverflowing(attributes, meter.cardinalityLimiter.limit)) {
+                return attributes;
+            }
+            reportOverflow();
+            return CardinalityLimiter.OVERFLOW_ATTRIBUTES;
+        }
+
+        /**
+         * @return {@code true} if the measurements with the given attributes must be recorded in the overflow series
+         * because this instrument already recorded the given maximum number of attribute sets, the given attributes
+         * are tracked as recorded otherwise
+         */
+        final boolean isOverflowing(Attributes attributes, int limit) {
+            return limit > 0 && !getAttributeSets().add(attributes, limit);
+        }
+
+        /**
+         * Counts a measurement recorded in the overflow series, see {@link CardinalityLimiter}
+         */
+        final void reportOverflow() {
+            meter.cardinalityLimiter.reportOverflow(key, getAttributeSets().overflowCounterAttributes);
+        }
+
+        /**
+         * @return the generation of the attribute sets of this instrument if the given limit is enabled, see
+         * {@link BoundCounterTarget}
+         */
+        final int getAttributeSetsGeneration(int limit) {
+            return limit > 0 ? getAttributeSets().generation : 0;
+        }
+
+        private CardinalityLimiter.AttributeSets getAttributeSets() {
+            CardinalityLimiter.AttributeSets attributeSets = this.attributeSets;
+            if (attributeSets == null) {
+                attributeSets = meter.getAttributeSets(key);
+                this.attributeSets = attributeSets;
+            }
+            return attributeSets;
+        }
+
+        private static final class Binding<T> {
+            final Meter meter;
+            final T instrument;
+
+            Binding(Meter meter, T instrument) {
+                this.meter = meter;
+                this.instrument = instrument;
+            }
+        }
+    }
+
+    @VisibleForTesting
+    protected static class ReconfigurableObservableLongMeasurement
+            implements ObservableLongMeasurement,
+                    ReconfigurableObservableMeasurement<ObservableLongMeasurement>,
+                    EagerlyBoundInstrument {
+        final InstrumentKey key;
+        private volatile ObservableLongMeasurement delegate;
+        private volatile Duration callbackMemoizationTtl = Duration.ZERO;
+
+        ReconfigurableObservableLongMeasurement(InstrumentKey key) {
+            this.key = key;
+        }
+
+        synchronized void memoizeCallback(Duration callbackMemoizationTtl) {
+            if (callbackMemoizationTtl.compareTo(this.callbackMemoizationTtl) > 0) {
+                this.callbackMemoizationTtl = callbackMemoizationTtl;
+            }
+        }
+
+        @Override
+        public Duration getCallbackMemoizationTtl() {
+            return callbackMemoizationTtl;
+        }
+
+        @Override
+        public void rebind(Meter meter) {
+            setDelegate(
+                    switch (key.kind) {
+                        case OBSERVABLE_LONG_COUNTER_MEASUREMENT -> {
+                            LongCounterBuilder builder = meter.counterBuilder(key.name);
+                            Optional.ofNullable(key.description).ifPresent(builder::setDescription);
+                            Optional.ofNullable(key.unit).ifPresent(builder::setUnit);
+                            yield builder.buildObserver();
+                        }
+                        case OBSERVABLE_LONG_GAUGE_MEASUREMENT -> {
+                            LongGaugeBuilder builder = meter.gaugeBuilder(key.name).ofLongs();
+                            Optional.ofNullable(key.description).ifPresent(builder::setDescription);
+                            Optional.ofNullable(key.unit).ifPresent(builder::setUnit);
+                            yield builder.buildObserver();
+                        }
+                        case OBSERVABLE_LONG_UP_DOWN_COUNTER_MEASUREMENT -> {
+                            LongUpDownCounterBuilder builder = meter.upDownCounterBuilder(key.name);
+                            Optional.ofNullable(key.description).ifPresent(builder::setDescription);
+                            Optional.ofNullable(key.unit).ifPresent(builder::setUnit);
+                            yield builder.buildObserver();
+                        }
+                        default -> throw new IllegalStateException("Unexpected instrument kind " + key);
+                    });
+        }
+
+        @Override
+        public void record(long value) {
+            ObservableCallbackExecutor.Recording recording = ObservableCallbackExecutor.Recording.CURRENT.get();
+            if (recording == null) {
+                delegate.record(value);
+            } else {
+                recording.add(measurement -> delegate.record(value));
+            }
+        }
+
+        @Override
+        public void record(long value, Attributes attributes) {
+            ObservableCallbackExecutor.Recording recording = ObservableCallbackExecutor.Recording.CURRENT.get();
+            if (recording == null) {
+                delegate.record(value, attributes);
+            } else {
+                recording.add(measurement -> delegate.record(value, attributes));
+            }
+        }
+
+        @Override
+        public String getName() {
+            return key.name;
+        }
+
+        @Override
+        public ObservableLongMeasurement getDelegate() {
+            return delegate;
+        }
+
+        @Override
+        public void setDelegate(ObservableLongMeasurement delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String toString() {
+            return "ReconfigurableObservableLongMeasurement{" + "delegate=" + delegate + '}';
+        }
+    }
+
+    static class ReconfigurableLongCounterBuilder
+            implements LongCounterBuilder, PreAggregatableCounterBuilder, MemoizableCallbackBuilder {
+        final ReconfigurableMeter meter;
+        final String name;
+
+        @Nullable
+        String description;
+
+        @Nullable
+        String unit;
+
+        Duration callbackMemoizationTtl = Duration.ZERO;
+
+        boolean preAggregated;
+
+        ReconfigurableLongCounterBuilder(String name, ReconfigurableMeter meter) {
+            this.name = name;
+            this.meter = meter;
+        }
+
+        @Override
+        public LongCounterBuilder setDescription(String description) {
+            this.description = description;
+            return this;
+        }
+
+        @Override
+        public LongCounterBuilder setUnit(String unit) {
+            this.unit = unit;
+            return this;
+        }
+
+        @Override
+        public DoubleCounterBuilder ofDoubles() {
+            ReconfigurableDoubleCounterBuilder builder = new ReconfigurableDoubleCounterBuilder(name, meter);
+            builder.description = description;
+            builder.unit = unit;
+            builder.callbackMemoizationTtl = callbackMemoizationTtl;
+            return builder;
+        }
+
+        @Override
+        public void setPreAggregated(boolean preAggregated) {
+            this.preAggregated = preAggregated;
+        }
+
+        @Override
+        public LongCounter build() {
+            ReconfigurableLongCounter counter = meter.getOrCreate(
+                    new InstrumentKey(InstrumentKind.LONG_COUNTER, name, description, unit),
+                    k -> new ReconfigurableLongCounter(meter, k));
+            if (preAggregated) {
+                counter.enablePreAggregation();
+            }
+            return counter;
+        }
+
+        @Override
+        public void setCallbackMemoizationTtl(Duration callbackMemoizationTtl) {
+            this.callbackMemoizationTtl = callbackMemoizationTtl;
+        }
+
+        @Override
+        public ObservableLongCounter buildWithCallback(Consumer<ObservableLongMeasurement> callback) {
+            ReconfigurableObservableLongCounter instrument = meter.getOrRegister(
+                    new ObservableLongMeasurementCallbackKey(
+                            InstrumentKind.OBSERVABLE_LONG_COUNTER, name, description, unit, callback),
+                    k -> new ReconfigurableObservableLongCounter(meter, k));
+            instrument.memoize(callbackMemoizationTtl);
+            return instrument;
+        }
+
+        @Override
+        public ObservableLongMeasurement buildObserver() {
+            ReconfigurableObservableLongMeasurement measurement = meter.getOrRegister(
+                    new InstrumentKey(InstrumentKind.OBSERVABLE_LONG_COUNTER_MEASUREMENT, name, description, unit),
+                    ReconfigurableObservableLongMeasurement::new);
+            measurement.memoizeCallback(callbackMemoizationTtl);
+            return measurement;
+        }
+    }
+
+    @VisibleForTesting
+    @ThreadSafe
+    protected static class ReconfigurableLongCounter extends LazilyBoundInstrument<InstrumentKey, LongCounter>
+            implements ExtendedLongCounter, BindableLongCounter, PreAggregatingInstrument {
+        /**
+         * Increments not yet added to the delegate counter when the pre-aggregation is enabled, see
+         * {@link PreAggregatableCounterBuilder}
+         */
+        @Nullable
+        private volatile ConcurrentMap<Attributes, LongAdder> preAggregatedMeasurements;
+
+        ReconfigurableLongCounter(ReconfigurableMeter meter, InstrumentKey key) {
+            super(meter, key);
+        }
+
+        synchronized void enablePreAggregation() {
+            if (preAggregatedMeasurements == null) {
+                logger.log(Level.FINE, () -> "Enable pre-aggregation of " + key);
+                preAggregatedMeasurements = new ConcurrentHashMap<>();
+                meter.addPreAggregatingInstrument(this);
             }
         }
 
+        @Override
+        public BoundLongCounter bind(Attributes attributes) {
+            return new BoundReconfigurableLongCounter(this, Objects.requireNonNull(attributes, "attributes"));
+        }
+
+        @Override
+        public void add(long increment) {
+            add(increment, Attributes.empty());
+        }
+
         @Override
         public void add(long value, Attributes attributes) {
-            lock.readLock().lock();
-            try {
-                delegate.add(value, attributes);
-            } finally {
-                lock.readLock().unlock();
+            attributes = limitCardinality(attributes);
+            if (!preAggregate(value, attributes)) {
+                getDelegate().add(value, attributes);
             }
         }
 
         @Override
         public void add(long value, Attributes attributes, Context context) {
-            lock.readLock().lock();
-            try {
-                delegate.add(value, attributes, context);
-            } finally {
-                lock.readLock().unlock();
+            attributes = limitCardinality(attributes);
+            if (!preAggregate(value, attributes)) {
+                getDelegate().add(value, attributes, context);
             }
         }
 
-        public void setDelegate(LongCounter delegate) {
-            lock.writeLock().lock();
-            try {
-                this.delegate = delegate;
-            } finally {
-                lock.writeLock().unlock();
+        /**
+         * @return {@code false} if the measurement must be recorded by the delegate counter: the pre-aggregation is
+         * disabled or the value is invalid and must be reported by the SDK
+         */
+        private boolean preAggregate(long value, @Nullable Attributes attributes) {
+            ConcurrentMap<Attributes, LongAdder> preAggregatedMeasurements = this.preAggregatedMeasurements;
+            if (preAggregatedMeasurements == null || value < 0) {
+                return false;
             }
+            // pre-aggregated with the measurements without attributes, the SDK expects non null attributes
+            getPreAggregationCell(preAggregatedMeasurements, attributes == null ? Attributes.empty() : attributes)
+                    .add(value);
+            return true;
         }
 
-        public LongCounter getDelegate() {
-            lock.readLock().lock();
-            try {
-                return delegate;
-            } finally {
-                lock.readLock().unlock();
+        static LongAdder getPreAggregationCell(
+                ConcurrentMap<Attributes, LongAdder> preAggregatedMeasurements, Attributes attributes) {
+            LongAdder adder = preAggregatedMeasurements.get(attributes);
+            return adder == null ? preAggregatedMeasurements.computeIfAbsent(attributes, k -> new LongAdder()) : adder;
+        }
+
+        @Override
+        public void flush() {
+            ConcurrentMap<Attributes, LongAdder> preAggregatedMeasurements = this.preAggregatedMeasurements;
+            if (preAggregatedMeasurements == null) {
+                return;
             }
+            LongCounter delegate = getDelegate();
+            preAggregatedMeasurements.forEach((attributes, adder) -> {
+                long sum = adder.sumThenReset();
+                if (sum != 0) {
+                    delegate.add(sum, attributes);
+                }
+            });
         }
 
         @Override
         public boolean isEnabled() {
-            lock.readLock().lock();
-            try {
-                if (delegate instanceof ExtendedLongCounter) {
-                    return ((ExtendedLongCounter) delegate).isEnabled();
-                } else {
-                    // It's the NO OP impl
-                    return false;
-                }
-            } finally {
-                lock.readLock().unlock();
+            LongCounter delegate = getDelegate();
+            if (delegate instanceof ExtendedLongCounter) {
+                return ((ExtendedLongCounter) delegate).isEnabled();
+            } else {
+                // It's the NO OP impl
+                return false;
             }
         }
+
+        @Override
+        protected LongCounter build(Meter meter) {
+            LongCounterBuilder builder = meter.counterBuilder(key.name);
+            Optional.ofNullable(key.description).ifPresent(builder::setDescription);
+            Optional.ofNullable(key.unit).ifPresent(builder::setUnit);
+            return builder.build();
+        }
     }
 
-    @VisibleForTesting
-    protected static class ReconfigurableObservableLongCounter implements ObservableLongCounter {
-        final ReadWriteLock lock;
-        ObservableLongCounter delegate;
+    /**
+     * <p>
+     * Target of the measurements of a bound counter, see {@link BindableLongCounter} and
+     * {@link BindableDoubleCounter}: the cardinality decision for the bound attributes, the delegate counter and the
+     * cell accumulating the increments when the counter is pre-aggregated.
+     * </p>
+     * <p>
+     * The target is resolved when the counter is bound and is valid until the delegate meter, the cardinality limit,
+     * the tracked attribute sets or the pre-aggregation of the counter change, so that recording through the bound
+     * counter only checks the validity of the target, a few volatile reads and identity comparisons.
+     * </p>
+     */
+    static final class BoundCounterTarget<T, A> {
+        final Meter meter;
+        final int limit;
+        final int attributeSetsGeneration;
+
+        @Nullable
+        final ConcurrentMap<Attributes, A> preAggregatedMeasurements;
 
-        ReconfigurableObservableLongCounter(ObservableLongCounter delegate, ReadWriteLock lock) {
+        final T delegate;
+        final Attributes attributes;
+        final boolean overflowing;
+
+        /**
+         * Cell of the pre-aggregated increments of the {@link #attributes}, {@code null} if the counter is not
+         * pre-aggregated
+         */
+        @Nullable
+        final A preAggregationCell;
+
+        BoundCounterTarget(
+                Meter meter,
+                int limit,
+                int attributeSetsGeneration,
+                @Nullable ConcurrentMap<Attributes, A> preAggregatedMeasurements,
+                T delegate,
+                Attributes attributes,
+                boolean overflowing,
+                @Nullable A preAggregationCell) {
+            this.meter = meter;
+            this.limit = limit;
+            this.attributeSetsGeneration = attributeSetsGeneration;
+            this.preAggregatedMeasurements = preAggregatedMeasurements;
             this.delegate = delegate;
-            this.lock = lock;
+            this.attributes = attributes;
+            this.overflowing = overflowing;
+            this.preAggregationCell = preAggregationCell;
         }
 
-        public void setDelegate(ObservableLongCounter delegate) {
-            lock.writeLock().lock();
-            try {
-                this.delegate = delegate;
-            } finally {
-                lock.writeLock().unlock();
+        boolean isValid(
+                LazilyBoundInstrument<?, ?> counter, @Nullable ConcurrentMap<Attributes, A> preAggregatedMeasurements) {
+            return meter == counter.meter.delegate
+                    && limit == counter.meter.cardinalityLimiter.limit
+                    && attributeSetsGeneration == counter.getAttributeSetsGeneration(limit)
+                    && this.preAggregatedMeasurements == preAggregatedMeasurements;
+        }
+    }
+
+    /**
+     * {@link BoundLongCounter} of a {@link ReconfigurableLongCounter}, see {@link BoundCounterTarget}
+     */
+    @ThreadSafe
+    static final class BoundReconfigurableLongCounter implements BoundLongCounter {
+        private final ReconfigurableLongCounter counter;
+        private final Attributes attributes;
+        private volatile BoundCounterTarget<LongCounter, LongAdder> target;
+
+        BoundReconfigurableLongCounter(ReconfigurableLongCounter counter, Attributes attributes) {
+            this.counter = counter;
+            this.attributes = attributes;
+            this.target = resolve();
+        }
+
+        @Override
+        public void add(long value) {
+            BoundCounterTarget<LongCounter, LongAdder> target = getTarget();
+            if (target.overflowing) {
+                counter.reportOverflow();
+            }
+            if (target.preAggregationCell != null && value >= 0) {
+                target.preAggregationCell.add(value);
+            } else {
+                target.delegate.add(value, target.attributes);
             }
         }
 
         @Override
-        public void close() {
-            lock.readLock().lock();
-            try {
-                delegate.close();
-            } finally {
-                lock.readLock().unlock();
+        public void add(long value, Context context) {
+            BoundCounterTarget<LongCounter, LongAdder> target = getTarget();
+            if (target.overflowing) {
+                counter.reportOverflow();
             }
+            if (target.preAggregationCell != null && value >= 0) {
+                target.preAggregationCell.add(value);
+            } else {
+                target.delegate.add(value, target.attributes, context);
+            }
+        }
+
+        private BoundCounterTarget<LongCounter, LongAdder> getTarget() {
+            BoundCounterTarget<LongCounter, LongAdder> target = this.target;
+            if (!target.isValid(counter, counter.preAggregatedMeasurements)) {
+                target = resolve();
+                this.target = target;
+            }
+            return target;
+        }
+
+        private BoundCounterTarget<LongCounter, LongAdder> resolve() {
+            Meter meter = counter.meter.delegate;
+            int limit = counter.meter.cardinalityLimiter.limit;
+            int attributeSetsGeneration = counter.getAttributeSetsGeneration(limit);
+            ConcurrentMap<Attributes, LongAdder> preAggregatedMeasurements = counter.preAggregatedMeasurements;
+            boolean overflowing = counter.isOverflowing(attributes, limit);
+            Attributes attributes = overflowing ? CardinalityLimiter.OVERFLOW_ATTRIBUTES : this.attributes;
+            return new BoundCounterTarget<>(
+                    meter,
+                    limit,
+                    attributeSetsGeneration,
+                    preAggregatedMeasurements,
+                    counter.getDelegate(),
+                    attributes,
+                    overflowing,
+                    preAggregatedMeasurements == null
+                            ? null
+                            : ReconfigurableLongCounter.getPreAggregationCell(preAggregatedMeasurements, attributes));
+        }
+    }
+
+    @VisibleForTesting
+    protected static class ReconfigurableObservableLongCounter
+            extends RegisteredCallback<ObservableLongMeasurementCallbackKey, ObservableLongCounter>
+            implements ObservableLongCounter {
+        ReconfigurableObservableLongCounter(ReconfigurableMeter meter, ObservableLongMeasurementCallbackKey key) {
+            super(meter, key);
+        }
+
+        @Override
+        protected ObservableLongCounter build(Meter meter) {
+            LongCounterBuilder builder = meter.counterBuilder(key.name);
+            Optional.ofNullable(key.description).ifPresent(builder::setDescription);
+            Optional.ofNullable(key.unit).ifPresent(builder::setUnit);
+            return builder.buildWithCallback(this::invoke);
+        }
+
+        @Override
+        void run(ObservableCallbackExecutor.Recording recording) {
+            key.callback.accept(new ObservableCallbackExecutor.RecordingObservableLongMeasurement(recording));
+        }
+
+        @Override
+        void invokeDirectly(@Nullable ObservableMeasurement measurement) {
+            key.callback.accept((ObservableLongMeasurement) measurement);
+        }
+
+        @Override
+        void closeDelegate() {
+            delegate.close();
         }
     }
 
-    static class ReconfigurableDoubleCounterBuilder implements DoubleCounterBuilder {
-        final ReadWriteLock lock;
-        DoubleCounterBuilder delegate;
-        final ConcurrentMap<InstrumentKey, ReconfigurableDoubleCounter> doubleCounters;
-        final ConcurrentMap<ObservableDoubleMeasurementCallbackKey, ReconfigurableObservableDoubleCounter>
-                observableDoubleCounters;
-        final ConcurrentMap<InstrumentKey, ReconfigurableObservableDoubleMeasurement> observableDoubleMeasurements;
+    static class ReconfigurableDoubleCounterBuilder
+            implements DoubleCounterBuilder, PreAggregatableCounterBuilder, MemoizableCallbackBuilder {
+        final ReconfigurableMeter meter;
         final String name;
+
+        @Nullable
         String description;
+
+        @Nullable
         String unit;
 
-        ReconfigurableDoubleCounterBuilder(
-                DoubleCounterBuilder delegate,
-                String name,
-                ConcurrentMap<InstrumentKey, ReconfigurableDoubleCounter> doubleCounters,
-                ConcurrentMap<ObservableDoubleMeasurementCallbackKey, ReconfigurableObservableDoubleCounter>
-                        observableDoubleCounters,
-                ConcurrentMap<InstrumentKey, ReconfigurableObservableDoubleMeasurement> observableDoubleMeasurements,
-                ReadWriteLock lock) {
-            this.delegate = delegate;
+        Duration callbackMemoizationTtl = Duration.ZERO;
+
+        boolean preAggregated;
+
+        ReconfigurableDoubleCounterBuilder(String name, ReconfigurableMeter meter) {
             this.name = name;
-            this.doubleCounters = doubleCounters;
-            this.observableDoubleCounters = observableDoubleCounters;
-            this.observableDoubleMeasurements = observableDoubleMeasurements;
-            this.lock = lock;
+            this.meter = meter;
         }
 
         @Override
         public DoubleCounterBuilder setDescription(String description) {
-            lock.readLock().lock();
-            try {
-                delegate.setDescription(description);
-                this.description = description;
-                return this;
-            } finally {
-                lock.readLock().unlock();
-            }
+            this.description = description;
+            return this;
         }
 
         @Override
         public DoubleCounterBuilder setUnit(String unit) {
-            lock.readLock().lock();
-            try {
-                delegate.setUnit(unit);
-                this.unit = unit;
-                return this;
-            } finally {
-                lock.readLock().unlock();
-            }
+            this.unit = unit;
+            return this;
+        }
+
+        @Override
+        public void setPreAggregated(boolean preAggregated) {
+            this.preAggregated = preAggregated;
         }
 
         @Override
         public DoubleCounter build() {
-            lock.readLock().lock();
-            try {
-                InstrumentKey counterKey = new InstrumentKey(name, description, unit);
-                return doubleCounters.computeIfAbsent(
-                        counterKey, k -> new ReconfigurableDoubleCounter(delegate.build(), lock));
-            } finally {
-                lock.readLock().unlock();
+            ReconfigurableDoubleCounter counter = meter.getOrCreate(
+                    new InstrumentKey(InstrumentKind.DOUBLE_COUNTER, name, description, unit),
+                    k -> new ReconfigurableDoubleCounter(meter, k));
+            if (preAggregated) {
+                counter.enablePreAggregation();
             }
+            return counter;
+        }
+
+        @Override
+        public void setCallbackMemoizationTtl(Duration callbackMemoizationTtl) {
+            this.callbackMemoizationTtl = callbackMemoizationTtl;
         }
 
         @Override
         public ObservableDoubleCounter buildWithCallback(Consumer<ObservableDoubleMeasurement> callback) {
-            lock.readLock().lock();
-            try {
-                ObservableDoubleMeasurementCallbackKey key =
-                        new ObservableDoubleMeasurementCallbackKey(name, description, unit, callback);
-                return this.observableDoubleCounters.computeIfAbsent(
-                        key,
-                        k -> new ReconfigurableObservableDoubleCounter(delegate.buildWithCallback(callback), lock));
-            } finally {
-                lock.readLock().unlock();
-            }
+            ReconfigurableObservableDoubleCounter instrument = meter.getOrRegister(
+                    new ObservableDoubleMeasurementCallbackKey(
+                            InstrumentKind.OBSERVABLE_DOUBLE_COUNTER, name, description, unit, callback),
+                    k -> new ReconfigurableObservableDoubleCounter(meter, k));
+            instrument.memoize(callbackMemoizationTtl);
+            return instrument;
         }
 
         @Override
         public ObservableDoubleMeasurement buildObserver() {
-            lock.readLock().lock();
-            try {
-                InstrumentKey key = new InstrumentKey(name, description, unit);
-                return this.observableDoubleMeasurements.computeIfAbsent(
-                        key, k -> new ReconfigurableObservableDoubleMeasurement(delegate.buildObserver(), lock));
-            } finally {
-                lock.readLock().unlock();
-            }
+            ReconfigurableObservableDoubleMeasurement measurement = meter.getOrRegister(
+                    new InstrumentKey(InstrumentKind.OBSERVABLE_DOUBLE_COUNTER_MEASUREMENT, name, description, unit),
+                    ReconfigurableObservableDoubleMeasurement::new);
+            measurement.memoizeCallback(callbackMemoizationTtl);
+            return measurement;
         }
     }
 
-    static class ReconfigurableObservableDoubleCounter implements ObservableDoubleCounter {
-        final ReadWriteLock lock;
-        ObservableDoubleCounter delegate;
+    static class ReconfigurableObservableDoubleCounter
+            extends RegisteredCallback<ObservableDoubleMeasurementCallbackKey, ObservableDoubleCounter>
+            implements ObservableDoubleCounter {
+        ReconfigurableObservableDoubleCounter(ReconfigurableMeter meter, ObservableDoubleMeasurementCallbackKey key) {
+            super(meter, key);
+        }
 
-        ReconfigurableObservableDoubleCounter(ObservableDoubleCounter delegate, ReadWriteLock lock) {
-            this.delegate = delegate;
-            this.lock = lock;
+        @Override
+        protected ObservableDoubleCounter build(Meter meter) {
+            DoubleCounterBuilder builder = meter.counterBuilder(key.name).ofDoubles();
+            Optional.ofNullable(key.description).ifPresent(builder::setDescription);
+            Optional.ofNullable(key.unit).ifPresent(builder::setUnit);
+            return builder.buildWithCallback(this::invoke);
         }
 
-        public void setDelegate(ObservableDoubleCounter delegate) {
-            lock.writeLock().lock();
-            try {
-                this.delegate = delegate;
-            } finally {
-                lock.writeLock().unlock();
-            }
+        @Override
+        void run(ObservableCallbackExecutor.Recording recording) {
+            key.callback.accept(new ObservableCallbackExecutor.RecordingObservableDoubleMeasurement(recording));
         }
 
-        public ObservableDoubleCounter getDelegate() {
-            lock.readLock().lock();
-            try {
-                return delegate;
-            } finally {
-                lock.readLock().unlock();
-            }
+        @Override
+        void invokeDirectly(@Nullable ObservableMeasurement measurement) {
+            key.callback.accept((ObservableDoubleMeasurement) measurement);
         }
 
         @Override
-        public void close() {
-            lock.readLock().lock();
-            try {
-                delegate.close();
-            } finally {
-                lock.readLock().unlock();
-            }
+        void closeDelegate() {
+            delegate.close();
         }
     }
 
     @VisibleForTesting
     @ThreadSafe
-    protected static class ReconfigurableDoubleCounter implements ExtendedDoubleCounter {
-        final ReadWriteLock lock;
+    protected static class ReconfigurableDoubleCounter extends LazilyBoundInstrument<InstrumentKey, DoubleCounter>
+            implements ExtendedDoubleCounter, BindableDoubleCounter, PreAggregatingInstrument {
+        /**
+         * Increments not yet added to the delegate counter when the pre-aggregation is enabled, see
+         * {@link PreAggregatableCounterBuilder}
+         */
+        @Nullable
+        private volatile ConcurrentMap<Attributes, DoubleAdder> preAggregatedMeasurements;
 
-        @GuardedBy("lock")
-        private DoubleCounter delegate;
+        ReconfigurableDoubleCounter(ReconfigurableMeter meter, InstrumentKey key) {
+            super(meter, key);
+        }
 
-        ReconfigurableDoubleCounter(DoubleCounter delegate, ReadWriteLock lock) {
-            this.delegate = delegate;
-            this.lock = lock;
+        synchronized void enablePreAggregation() {
+            if (preAggregatedMeasurements == null) {
+                logger.log(Level.FINE, () -> "Enable pre-aggregation of " + key);
+                preAggregatedMeasurements = new ConcurrentHashMap<>();
+                meter.addPreAggregatingInstrument(this);
+            }
+        }
+
+        @Override
+        public BoundDoubleCounter bind(Attributes attributes) {
+            return new BoundReconfigurableDoubleCounter(this, Objects.requireNonNull(attributes, "attributes"));
         }
 
         @Override
         public void add(double increment) {
-            lock.readLock().lock();
-            try {
-                delegate.add(increment);
-            } finally {
-                lock.readLock().unlock();
-            }
+            add(increment, Attributes.empty());
         }
 
         @Override
         public void add(double value, Attributes attributes) {
-            lock.readLock().lock();
-            try {
-                delegate.add(value, attributes);
-            } finally {
-                lock.readLock().unlock();
+            attributes = limitCardinality(attributes);
+            if (!preAggregate(value, attributes)) {
+                getDelegate().add(value, attributes);
             }
         }
 
         @Override
         public void add(double value, Attributes attributes, Context context) {
-            lock.readLock().lock();
-            try {
-                delegate.add(value, attributes, context);
-            } finally {
-                lock.readLock().unlock();
+            attributes = limitCardinality(attributes);
+            if (!preAggregate(value, attributes)) {
+                getDelegate().add(value, attributes, context);
             }
         }
 
-        public void setDelegate(DoubleCounter delegate) {
-            lock.writeLock().lock();
-            try {
-                this.delegate = delegate;
-            } finally {
-                lock.writeLock().unlock();
+        /**
+         * @return {@code false} if the measurement must be recorded by the delegate counter: the pre-aggregation is
+         * disabled or the value is invalid and must be reported by the SDK
+         */
+        private boolean preAggregate(double value, @Nullable Attributes attributes) {
+            ConcurrentMap<Attributes, DoubleAdder> preAggregatedMeasurements = this.preAggregatedMeasurements;
+            if (preAggregatedMeasurements == null || !(value >= 0)) {
+                return false;
             }
+            // pre-aggregated with the measurements without attributes, the SDK expects non null attributes
+            getPreAggregationCell(preAggregatedMeasurements, attributes == null ? Attributes.empty() : attributes)
+                    .add(value);
+            return true;
         }
 
-        public DoubleCounter getDelegate() {
-            lock.readLock().lock();
-            try {
-                return delegate;
-            } finally {
-                lock.readLock().unlock();
+        static DoubleAdder getPreAggregationCell(
+                ConcurrentMap<Attributes, DoubleAdder> preAggregatedMeasurements, Attributes attributes) {
+            DoubleAdder adder = preAggregatedMeasurements.get(attributes);
+            return adder == null
+                    ? preAggregatedMeasurements.computeIfAbsent(attributes, k -> new DoubleAdder())
+                    : adder;
+        }
+
+        @Override
+        public void flush() {
+            ConcurrentMap<Attributes, DoubleAdder> preAggregatedMeasurements = this.preAggregatedMeasurements;
+            if (preAggregatedMeasurements == null) {
+                return;
             }
+            DoubleCounter delegate = getDelegate();
+            preAggregatedMeasurements.forEach((attributes, adder) -> {
+                double sum = adder.sumThenReset();
+                if (sum != 0) {
+                    delegate.add(sum, attributes);
+                }
+            });
         }
 
         @Override
         public boolean isEnabled() {
-            lock.readLock().lock();
-            try {
-                if (delegate instanceof ExtendedDoubleCounter) {
-                    return ((ExtendedDoubleCounter) delegate).isEnabled();
-                } else {
-                    // It's the NO OP impl
-                    return false;
-                }
-            } finally {
-                lock.readLock().unlock();
+            DoubleCounter delegate = getDelegate();
+            if (delegate instanceof ExtendedDoubleCounter) {
+                return ((ExtendedDoubleCounter) delegate).isEnabled();
+            } else {
+                // It's the NO OP impl
+                return false;
             }
         }
+
+        @Override
+        protected DoubleCounter build(Meter meter) {
+            DoubleCounterBuilder builder = meter.counterBuilder(key.name).ofDoubles();
+            Optional.ofNullable(key.description).ifPresent(builder::setDescription);
+            Optional.ofNullable(key.unit).ifPresent(builder::setUnit);
+            return builder.build();
+        }
     }
 
-    static class ReconfigurableDoubleGaugeBuilder implements DoubleGaugeBuilder {
-        final ReadWriteLock lock;
-        DoubleGaugeBuilder delegate;
-        final ConcurrentMap<InstrumentKey, ReconfigurableDoubleGauge> doubleGauges;
-        final ConcurrentMap<ObservableDoubleMeasurementCallbackKey, ReconfigurableObservableDoubleGauge>
-                observableDoubleGauges;
-        final ConcurrentMap<InstrumentKey, ReconfigurableObservableDoubleMeasurement> observableDoubleMeasurements;
-        final ConcurrentMap<InstrumentKey, ReconfigurableLongGauge> longGauges;
-        final ConcurrentMap<ObservableLongMeasurementCallbackKey, ReconfigurableObservableLongGauge>
-                observableLongGauges;
-        final ConcurrentMap<InstrumentKey, ReconfigurableObservableLongMeasurement> observableLongMeasurements;
+    /**
+     * {@link BoundDoubleCounter} of a {@link ReconfigurableDoubleCounter}, see {@link BoundCounterTarget}
+     */
+    @ThreadSafe
+    static final class BoundReconfigurableDoubleCounter implements BoundDoubleCounter {
+        private final ReconfigurableDoubleCounter counter;
+        private final Attributes attributes;
+        private volatile BoundCounterTarget<DoubleCounter, DoubleAdder> target;
+
+        BoundReconfigurableDoubleCounter(ReconfigurableDoubleCounter counter, Attributes attributes) {
+            this.counter = counter;
+            this.attributes = attributes;
+            this.target = resolve();
+        }
+
+        @Override
+        public void add(double value) {
+            BoundCounterTarget<DoubleCounter, DoubleAdder> target = getTarget();
+            if (target.overflowing) {
+                counter.reportOverflow();
+            }
+            if (target.preAggregationCell != null && value >= 0) {
+                target.preAggregationCell.add(value);
+            } else {
+                target.delegate.add(value, target.attributes);
+            }
+        }
+
+        @Override
+        public void add(double value, Context context) {
+            BoundCounterTarget<DoubleCounter, DoubleAdder> target = getTarget();
+            if (target.overflowing) {
+                counter.reportOverflow();
+            }
+            if (target.preAggregationCell != null && value >= 0) {
+                target.preAggregationCell.add(value);
+            } else {
+                target.delegate.add(value, target.attributes, context);
+            }
+        }
+
+        private BoundCounterTarget<DoubleCounter, DoubleAdder> getTarget() {
+            BoundCounterTarget<DoubleCounter, DoubleAdder> target = this.target;
+            if (!target.isValid(counter, counter.preAggregatedMeasurements)) {
+                target = resolve();
+                this.target = target;
+            }
+            return target;
+        }
+
+        private BoundCounterTarget<DoubleCounter, DoubleAdder> resolve() {
+            Meter meter = counter.meter.delegate;
+            int limit = counter.meter.cardinalityLimiter.limit;
+            int attributeSetsGeneration = counter.getAttributeSetsGeneration(limit);
+            ConcurrentMap<Attributes, DoubleAdder> preAggregatedMeasurements = counter.preAggregatedMeasurements;
+            boolean overflowing = counter.isOverflowing(attributes, limit);
+            Attributes attributes = overflowing ? CardinalityLimiter.OVERFLOW_ATTRIBUTES : this.attributes;
+            return new BoundCounterTarget<>(
+                    meter,
+                    limit,
+                    attributeSetsGeneration,
+                    preAggregatedMeasurements,
+                    counter.getDelegate(),
+                    attributes,
+                    overflowing,
+                    preAggregatedMeasurements == null
+                            ? null
+                            : ReconfigurableDoubleCounter.getPreAggregationCell(preAggregatedMeasurements, attributes));
+        }
+    }
 
+    static class ReconfigurableDoubleGaugeBuilder implements DoubleGaugeBuilder, MemoizableCallbackBuilder {
+        final ReconfigurableMeter meter;
         final String name;
+
+        @Nullable
         String description;
+
+        @Nullable
         String unit;
 
-        ReconfigurableDoubleGaugeBuilder(
-                DoubleGaugeBuilder delegate,
-                String name,
-                ConcurrentMap<InstrumentKey, ReconfigurableDoubleGauge> doubleGauges,
-                ConcurrentMap<ObservableDoubleMeasurementCallbackKey, ReconfigurableObservableDoubleGauge>
-                        observableDoubleGauges,
-                ConcurrentMap<InstrumentKey, ReconfigurableObservableDoubleMeasurement> observableDoubleMeasurements,
-                ConcurrentMap<InstrumentKey, ReconfigurableLongGauge> longGauges,
-                ConcurrentMap<ObservableLongMeasurementCallbackKey, ReconfigurableObservableLongGauge>
-                        observableLongGauges,
-                ConcurrentMap<InstrumentKey, ReconfigurableObservableLongMeasurement> observableLongMeasurements,
-                ReadWriteLock lock) {
+        Duration callbackMemoizationTtl = Duration.ZERO;
 
-            this.delegate = delegate;
+        ReconfigurableDoubleGaugeBuilder(String name, ReconfigurableMeter meter) {
             this.name = name;
-            this.doubleGauges = doubleGauges;
-            this.observableDoubleGauges = observableDoubleGauges;
-            this.observableDoubleMeasurements = observableDoubleMeasurements;
-            this.observableLongGauges = observableLongGauges;
-            this.observableLongMeasurements = observableLongMeasurements;
-            this.longGauges = longGauges;
-
-            this.lock = lock;
+            this.meter = meter;
         }
 
         @Override
         public DoubleGaugeBuilder setDescription(String description) {
-            lock.readLock().lock();
-            try {
-                delegate.setDescription(description);
-                this.description = description;
-                return this;
-            } finally {
-                lock.readLock().unlock();
-            }
+            this.description = description;
+            return this;
         }
 
         @Override
         public DoubleGaugeBuilder setUnit(String unit) {
-            lock.readLock().lock();
-            try {
-                delegate.setUnit(unit);
-                this.unit = unit;
-                return this;
-            } finally {
-                lock.readLock().unlock();
-            }
+            this.unit = unit;
+            return this;
         }
 
         @Override
         public LongGaugeBuilder ofLongs() {
-            lock.readLock().lock();
-            try {
-                ReconfigurableLongGaugeBuilder reconfigurableLongCounterBuilder = new ReconfigurableLongGaugeBuilder(
-                        delegate.ofLongs(), name, longGauges, observableLongGauges, observableLongMeasurements, lock);
-                Optional.ofNullable(description).ifPresent(reconfigurableLongCounterBuilder::setDescription);
-                Optional.ofNullable(unit).ifPresent(reconfigurableLongCounterBuilder::setUnit);
-                return reconfigurableLongCounterBuilder;
-            } finally {
-                lock.readLock().unlock();
-            }
+            ReconfigurableLongGaugeBuilder builder = new ReconfigurableLongGaugeBuilder(name, meter);
+            builder.description = description;
+            builder.unit = unit;
+            builder.callbackMemoizationTtl = callbackMemoizationTtl;
+            return builder;
         }
 
         @Override
         public DoubleGauge build() {
-            lock.readLock().lock();
-            try {
-                InstrumentKey gaugeKey = new InstrumentKey(name, description, unit);
-                return doubleGauges.computeIfAbsent(
-                        gaugeKey, k -> new ReconfigurableDoubleGauge(delegate.build(), lock));
-            } finally {
-                lock.readLock().unlock();
-            }
+            return meter.getOrCreate(
+                    new InstrumentKey(InstrumentKind.DOUBLE_GAUGE, name, description, unit),
+                    k -> new ReconfigurableDoubleGauge(meter, k));
+        }
+
+        @Override
+        public void setCallbackMemoizationTtl(Duration callbackMemoizationTtl) {
+            this.callbackMemoizationTtl = callbackMemoizationTtl;
         }
 
         @Override
         public ObservableDoubleGauge buildWithCallback(Consumer<ObservableDoubleMeasurement> callback) {
-            lock.readLock().lock();
-            try {
-                ObservableDoubleMeasurementCallbackKey key =
-                        new ObservableDoubleMeasurementCallbackKey(name, description, unit, callback);
-                return this.observableDoubleGauges.computeIfAbsent(
-                        key, k -> new ReconfigurableObservableDoubleGauge(delegate.buildWithCallback(callback), lock));
-            } finally {
-                lock.readLock().unlock();
-            }
+            ReconfigurableObservableDoubleGauge instrument = meter.getOrRegister(
+                    new ObservableDoubleMeasurementCallbackKey(
+                            InstrumentKind.OBSERVABLE_DOUBLE_GAUGE, name, description, unit, callback),
+                    k -> new ReconfigurableObservableDoubleGauge(meter, k));
+            instrument.memoize(callbackMemoizationTtl);
+            return instrument;
         }
 
         @Override
         public ObservableDoubleMeasurement buildObserver() {
-            lock.readLock().lock();
-            try {
-                InstrumentKey gaugeKey = new InstrumentKey(name, description, unit);
-                return this.observableDoubleMeasurements.computeIfAbsent(
-                        gaugeKey, k -> new ReconfigurableObservableDoubleMeasurement(delegate.buildObserver(), lock));
-            } finally {
-                lock.readLock().unlock();
-            }
+            ReconfigurableObservableDoubleMeasurement measurement = meter.getOrRegister(
+                    new InstrumentKey(InstrumentKind.OBSERVABLE_DOUBLE_GAUGE_MEASUREMENT, name, description, unit),
+                    ReconfigurableObservableDoubleMeasurement::new);
+            measurement.memoizeCallback(callbackMemoizationTtl);
+            return measurement;
         }
     }
 
-    static class ReconfigurableLongGaugeBuilder implements LongGaugeBuilder {
-        final ReadWriteLock lock;
-        LongGaugeBuilder delegate;
-        final ConcurrentMap<InstrumentKey, ReconfigurableLongGauge> longGauges;
-        final ConcurrentMap<ObservableLongMeasurementCallbackKey, ReconfigurableObservableLongGauge>
-                observableLongGauges;
-        final ConcurrentMap<InstrumentKey, ReconfigurableObservableLongMeasurement> observableLongMeasurements;
-
+    static class ReconfigurableLongGaugeBuilder implements LongGaugeBuilder, MemoizableCallbackBuilder {
+        final ReconfigurableMeter meter;
         final String name;
+
+        @Nullable
         String description;
+
+        @Nullable
         String unit;
 
-        ReconfigurableLongGaugeBuilder(
-                LongGaugeBuilder delegate,
-                String name,
-                ConcurrentMap<InstrumentKey, ReconfigurableLongGauge> longGauges,
-                ConcurrentMap<ObservableLongMeasurementCallbackKey, ReconfigurableObservableLongGauge>
-                        observableLongGauges,
-                ConcurrentMap<InstrumentKey, ReconfigurableObservableLongMeasurement> observableLongMeasurements,
-                ReadWriteLock lock) {
-            this.delegate = delegate;
-            this.name = name;
-            this.longGauges = longGauges;
-            this.observableLongGauges = observableLongGauges;
-            this.observableLongMeasurements = observableLongMeasurements;
+        Duration callbackMemoizationTtl = Duration.ZERO;
 
-            this.lock = lock;
+        ReconfigurableLongGaugeBuilder(String name, ReconfigurableMeter meter) {
+            this.name = name;
+            this.meter = meter;
         }
 
         @Override
         public LongGaugeBuilder setDescription(String description) {
-            lock.readLock().lock();
-            try {
-                delegate.setDescription(description);
-                this.description = description;
-                return this;
-            } finally {
-                lock.readLock().unlock();
-            }
+            this.description = description;
+            return this;
         }
 
         @Override
         public LongGaugeBuilder setUnit(String unit) {
-            lock.readLock().lock();
-            try {
-                delegate.setUnit(unit);
-                this.unit = unit;
-                return this;
-            } finally {
-                lock.readLock().unlock();
-            }
+            this.unit = unit;
+            return this;
         }
 
         @Override
         public LongGauge build() {
-            lock.readLock().lock();
-            try {
-                InstrumentKey counterKey = new InstrumentKey(name, description, unit);
-                return longGauges.computeIfAbsent(counterKey, k -> new ReconfigurableLongGauge(delegate.build(), lock));
-            } finally {
-                lock.readLock().unlock();
-            }
+            return meter.getOrCreate(
+                    new InstrumentKey(InstrumentKind.LONG_GAUGE, name, description, unit),
+                    k -> new ReconfigurableLongGauge(meter, k));
+        }
+
+        @Override
+        public void setCallbackMemoizationTtl(Duration callbackMemoizationTtl) {
+            this.callbackMemoizationTtl = callbackMemoizationTtl;
         }
 
         @Override
         public ObservableLongGauge buildWithCallback(Consumer<ObservableLongMeasurement> callback) {
-            lock.readLock().lock();
-            try {
-                ObservableLongMeasurementCallbackKey key =
-                        new ObservableLongMeasurementCallbackKey(name, description, unit, callback);
-                return this.observableLongGauges.computeIfAbsent(
-                        key, k -> new ReconfigurableObservableLongGauge(delegate.buildWithCallback(callback), lock));
-            } finally {
-                lock.readLock().unlock();
-            }
+            ReconfigurableObservableLongGauge instrument = meter.getOrRegister(
+                    new ObservableLongMeasurementCallbackKey(
+                            InstrumentKind.OBSERVABLE_LONG_GAUGE, name, description, unit, callback),
+                    k -> new ReconfigurableObservableLongGauge(meter, k));
+            instrument.memoize(callbackMemoizationTtl);
+            return instrument;
         }
 
         @Override
         public ObservableLongMeasurement buildObserver() {
-            lock.readLock().lock();
-            try {
-                InstrumentKey counterKey = new InstrumentKey(name, description, unit);
-                return this.observableLongMeasurements.computeIfAbsent(
-                        counterKey, k -> new ReconfigurableObservableLongMeasurement(delegate.buildObserver(), lock));
-            } finally {
-                lock.readLock().unlock();
-            }
+            ReconfigurableObservableLongMeasurement measurement = meter.getOrRegister(
+                    new InstrumentKey(InstrumentKind.OBSERVABLE_LONG_GAUGE_MEASUREMENT, name, description, unit),
+                    ReconfigurableObservableLongMeasurement::new);
+            measurement.memoizeCallback(callbackMemoizationTtl);
+            return measurement;
         }
     }
 
     @VisibleForTesting
     @ThreadSafe
-    protected static class ReconfigurableLongGauge implements LongGauge {
-        final ReadWriteLock lock;
-
-        @GuardedBy("lock")
-        private LongGauge delegate;
-
-        ReconfigurableLongGauge(LongGauge delegate, ReadWriteLock lock) {
-            this.delegate = delegate;
-            this.lock = lock;
+    protected static class ReconfigurableLongGauge extends LazilyBoundInstrument<InstrumentKey, LongGauge>
+            implements LongGauge {
+        ReconfigurableLongGauge(ReconfigurableMeter meter, InstrumentKey key) {
+            super(meter, key);
         }
 
         @Override
         public void set(long value) {
-            lock.readLock().lock();
-            try {
-                delegate.set(value);
-            } finally {
-                lock.readLock().unlock();
-            }
+            set(value, Attributes.empty());
         }
-
-        @Override
-        public void set(long value, Attributes attributes) {
-            lock.readLock().lock();
-            try {
-                delegate.set(value, attributes);
-            } finally {
-                lock.readLock().unlock();
-            }
-        }
-
-        @Override
-        public void set(long value, Attributes attributes, Context context) {
-            lock.readLock().lock();
-            try {
-                delegate.set(value, attributes, context);
-            } finally {
-                lock.readLock().unlock();
-            }
+
+        @Override
+        public void set(long value, Attributes attributes) {
+            getDelegate().set(value, limitCardinality(attributes));
         }
 
-        public void setDelegate(LongGauge delegate) {
-            lock.writeLock().lock();
-            try {
-                this.delegate = delegate;
-            } finally {
-                lock.writeLock().unlock();
-            }
+        @Override
+        public void set(long value, Attributes attributes, Context context) {
+            getDelegate().set(value, limitCardinality(attributes), context);
         }
 
-        public LongGauge getDelegate() {
-            lock.readLock().lock();
-            try {
-                return delegate;
-            } finally {
-                lock.readLock().unlock();
-            }
+        @Override
+        protected LongGauge build(Meter meter) {
+            LongGaugeBuilder builder = meter.gaugeBuilder(key.name).ofLongs();
+            Optional.ofNullable(key.description).ifPresent(builder::setDescription);
+            Optional.ofNullable(key.unit).ifPresent(builder::setUnit);
+            return builder.build();
         }
     }
 
     @VisibleForTesting
-    protected static class ReconfigurableObservableLongGauge implements ObservableLongGauge {
-        final ReadWriteLock lock;
-        ObservableLongGauge delegate;
+    protected static class ReconfigurableObservableLongGauge
+            extends RegisteredCallback<ObservableLongMeasurementCallbackKey, ObservableLongGauge>
+            implements ObservableLongGauge {
+        ReconfigurableObservableLongGauge(ReconfigurableMeter meter, ObservableLongMeasurementCallbackKey key) {
+            super(meter, key);
+        }
 
-        ReconfigurableObservableLongGauge(ObservableLongGauge delegate, ReadWriteLock lock) {
-            this.delegate = delegate;
-            this.lock = lock;
+        @Override
+        protected ObservableLongGauge build(Meter meter) {
+            LongGaugeBuilder builder = meter.gaugeBuilder(key.name).ofLongs();
+            Optional.ofNullable(key.description).ifPresent(builder::setDescription);
+            Optional.ofNullable(key.unit).ifPresent(builder::setUnit);
+            return builder.buildWithCallback(this::invoke);
         }
 
-        public void setDelegate(ObservableLongGauge delegate) {
-            lock.writeLock().lock();
-            try {
-                this.delegate = delegate;
-            } finally {
-                lock.writeLock().unlock();
-            }
+        @Override
+        void run(ObservableCallbackExecutor.Recording recording) {
+            key.callback.accept(new ObservableCallbackExecutor.RecordingObservableLongMeasurement(recording));
         }
 
         @Override
-        public void close() {
-            lock.readLock().lock();
-            try {
-                delegate.close();
-            } finally {
-                lock.readLock().unlock();
-            }
+        void invokeDirectly(@Nullable ObservableMeasurement measurement) {
+            key.callback.accept((ObservableLongMeasurement) measurement);
+        }
+
+        @Override
+        void closeDelegate() {
+            delegate.close();
         }
     }
 
     @VisibleForTesting
     @ThreadSafe
-    protected static class ReconfigurableDoubleGauge implements DoubleGauge {
-        final ReadWriteLock lock;
-
-        @GuardedBy("lock")
-        private DoubleGauge delegate;
-
-        ReconfigurableDoubleGauge(DoubleGauge delegate, ReadWriteLock lock) {
-            this.delegate = delegate;
-            this.lock = lock;
+    protected static class ReconfigurableDoubleGauge extends LazilyBoundInstrument<InstrumentKey, DoubleGauge>
+            implements DoubleGauge {
+        ReconfigurableDoubleGauge(ReconfigurableMeter meter, InstrumentKey key) {
+            super(meter, key);
         }
 
         @Override
         public void set(double value) {
-            lock.readLock().lock();
-            try {
-                delegate.set(value);
-            } finally {
-                lock.readLock().unlock();
-            }
+            set(value, Attributes.empty());
         }
 
         @Override
         public void set(double value, Attributes attributes) {
-            lock.readLock().lock();
-            try {
-                delegate.set(value, attributes);
-            } finally {
-                lock.readLock().unlock();
-            }
+            getDelegate().set(value, limitCardinality(attributes));
         }
 
         @Override
         public void set(double value, Attributes attributes, Context context) {
-            lock.readLock().lock();
-            try {
-                delegate.set(value, attributes, context);
-            } finally {
-                lock.readLock().unlock();
-            }
-        }
-
-        public void setDelegate(DoubleGauge delegate) {
-            lock.writeLock().lock();
-            try {
-                this.delegate = delegate;
-            } finally {
-                lock.writeLock().unlock();
-            }
+            getDelegate().set(value, limitCardinality(attributes), context);
         }
 
-        public DoubleGauge getDelegate() {
-            lock.readLock().lock();
-            try {
-                return delegate;
-            } finally {
-                lock.readLock().unlock();
-            }
+        @Override
+        protected DoubleGauge build(Meter meter) {
+            DoubleGaugeBuilder builder = meter.gaugeBuilder(key.name);
+            Optional.ofNullable(key.description).ifPresent(builder::setDescription);
+            Optional.ofNullable(key.unit).ifPresent(builder::setUnit);
+            return builder.build();
         }
     }
 
     @VisibleForTesting
-    protected static class ReconfigurableObservableDoubleGauge implements ObservableDoubleGauge {
-        final ReadWriteLock lock;
-        ObservableDoubleGauge delegate;
+    protected static class ReconfigurableObservableDoubleGauge
+            extends RegisteredCallback<ObservableDoubleMeasurementCallbackKey, ObservableDoubleGauge>
+            implements ObservableDoubleGauge {
+        ReconfigurableObservableDoubleGauge(ReconfigurableMeter meter, ObservableDoubleMeasurementCallbackKey key) {
+            super(meter, key);
+        }
 
-        ReconfigurableObservableDoubleGauge(ObservableDoubleGauge delegate, ReadWriteLock lock) {
-            this.delegate = delegate;
-            this.lock = lock;
+        @Override
+        protected ObservableDoubleGauge build(Meter meter) {
+            DoubleGaugeBuilder builder = meter.gaugeBuilder(key.name);
+            Optional.ofNullable(key.description).ifPresent(builder::setDescription);
+            Optional.ofNullable(key.unit).ifPresent(builder::setUnit);
+            return builder.buildWithCallback(this::invoke);
         }
 
-        public void setDelegate(ObservableDoubleGauge delegate) {
-            lock.writeLock().lock();
-            try {
-                this.delegate = delegate;
-            } finally {
-                lock.writeLock().unlock();
-            }
+        @Override
+        void run(ObservableCallbackExecutor.Recording recording) {
+            key.callback.accept(new ObservableCallbackExecutor.RecordingObservableDoubleMeasurement(recording));
         }
 
         @Override
-        public void close() {
-            lock.readLock().lock();
-            try {
-                delegate.close();
-            } finally {
-                lock.readLock().unlock();
-            }
+        void invokeDirectly(@Nullable ObservableMeasurement measurement) {
+            key.callback.accept((ObservableDoubleMeasurement) measurement);
+        }
+
+        @Override
+        void closeDelegate() {
+            delegate.close();
         }
     }
 
     @VisibleForTesting
     protected static class ReconfigurableObservableDoubleMeasurement
-            implements ObservableDoubleMeasurement, ReconfigurableObservableMeasurement<ObservableDoubleMeasurement> {
-        final ReadWriteLock lock;
-        private ObservableDoubleMeasurement delegate;
+            implements ObservableDoubleMeasurement,
+                    ReconfigurableObservableMeasurement<ObservableDoubleMeasurement>,
+                    EagerlyBoundInstrument {
+        final InstrumentKey key;
+        private volatile ObservableDoubleMeasurement delegate;
+        private volatile Duration callbackMemoizationTtl = Duration.ZERO;
 
-        ReconfigurableObservableDoubleMeasurement(ObservableDoubleMeasurement delegate, ReadWriteLock lock) {
-            this.delegate = delegate;
-            this.lock = lock;
+        ReconfigurableObservableDoubleMeasurement(InstrumentKey key) {
+            this.key = key;
+        }
+
+        synchronized void memoizeCallback(Duration callbackMemoizationTtl) {
+            if (callbackMemoizationTtl.compareTo(this.callbackMemoizationTtl) > 0) {
+                this.callbackMemoizationTtl = callbackMemoizationTtl;
+            }
+        }
+
+        @Override
+        public Duration getCallbackMemoizationTtl() {
+            return callbackMemoizationTtl;
+        }
+
+        @Override
+        public void rebind(Meter meter) {
+            setDelegate(
+                    switch (key.kind) {
+                        case OBSERVABLE_DOUBLE_COUNTER_MEASUREMENT -> {
+                            DoubleCounterBuilder builder = meter.counterBuilder(key.name).ofDoubles();
+                            Optional.ofNullable(key.description).ifPresent(builder::setDescription);
+                            Optional.ofNullable(key.unit).ifPresent(builder::setUnit);
+                            yield builder.buildObserver();
+                        }
+                        case OBSERVABLE_DOUBLE_GAUGE_MEASUREMENT -> {
+                            DoubleGaugeBuilder builder = meter.gaugeBuilder(key.name);
+                            Optional.ofNullable(key.description).ifPresent(builder::setDescription);
+                            Optional.ofNullable(key.unit).ifPresent(builder::setUnit);
+                            yield builder.buildObserver();
+                        }
+                        case OBSERVABLE_DOUBLE_UP_DOWN_COUNTER_MEASUREMENT -> {
+                            DoubleUpDownCounterBuilder builder = meter.upDownCounterBuilder(key.name).ofDoubles();
+                            Optional.ofNullable(key.description).ifPresent(builder::setDescription);
+                            Optional.ofNullable(key.unit).ifPresent(builder::setUnit);
+                            yield builder.buildObserver();
+                        }
+                        default -> throw new IllegalStateException("Unexpected instrument kind " + key);
+                    });
         }
 
         @Override
         public void record(double value) {
-            lock.readLock().lock();
-            try {
+            ObservableCallbackExecutor.Recording recording = ObservableCallbackExecutor.Recording.CURRENT.get();
+            if (recording == null) {
                 delegate.record(value);
-            } finally {
-                lock.readLock().unlock();
+            } else {
+                recording.add(measurement -> delegate.record(value));
             }
         }
 
         @Override
         public void record(double value, Attributes attributes) {
-            lock.readLock().lock();
-            try {
+            ObservableCallbackExecutor.Recording recording = ObservableCallbackExecutor.Recording.CURRENT.get();
+            if (recording == null) {
                 delegate.record(value, attributes);
-            } finally {
-                lock.readLock().unlock();
+            } else {
+                recording.add(measurement -> delegate.record(value, attributes));
             }
         }
 
+        @Override
+        public String getName() {
+            return key.name;
+        }
+
         @Override
         public ObservableDoubleMeasurement getDelegate() {
-            lock.readLock().lock();
-            try {
-                return delegate;
-            } finally {
-                lock.readLock().unlock();
-            }
+            return delegate;
         }
 
         @Override
         public void setDelegate(ObservableDoubleMeasurement delegate) {
-            lock.writeLock().lock();
-            try {
-                this.delegate = delegate;
-            } finally {
-                lock.writeLock().unlock();
-            }
+            this.delegate = delegate;
         }
     }
 
     @VisibleForTesting
     @ThreadSafe
-    protected static class ReconfigurableLongUpDownCounter implements LongUpDownCounter {
-        final ReadWriteLock lock;
-
-        @GuardedBy("lock")
-        private LongUpDownCounter delegate;
-
-        ReconfigurableLongUpDownCounter(LongUpDownCounter delegate, ReadWriteLock lock) {
-            this.delegate = delegate;
-            this.lock = lock;
+    protected static class ReconfigurableLongUpDownCounter
+            extends LazilyBoundInstrument<InstrumentKey, LongUpDownCounter> implements LongUpDownCounter {
+        ReconfigurableLongUpDownCounter(ReconfigurableMeter meter, InstrumentKey key) {
+            super(meter, key);
         }
 
         @Override
         public void add(long increment) {
-            lock.readLock().lock();
-            try {
-                delegate.add(increment);
-            } finally {
-                lock.readLock().unlock();
-            }
+            add(increment, Attributes.empty());
         }
 
         @Override
         public void add(long value, Attributes attributes) {
-            lock.readLock().lock();
-            try {
-                delegate.add(value, attributes);
-            } finally {
-                lock.readLock().unlock();
-            }
+            getDelegate().add(value, limitCardinality(attributes));
         }
 
         @Override
         public void add(long value, Attributes attributes, Context context) {
-            lock.readLock().lock();
-            try {
-                delegate.add(value, attributes, context);
-            } finally {
-                lock.readLock().unlock();
-            }
-        }
-
-        public void setDelegate(LongUpDownCounter delegate) {
-            lock.writeLock().lock();
-            try {
-                this.delegate = delegate;
-            } finally {
-                lock.writeLock().unlock();
-            }
+            getDelegate().add(value, limitCardinality(attributes), context);
         }
 
-        public LongUpDownCounter getDelegate() {
-            lock.readLock().lock();
-            try {
-                return delegate;
-            } finally {
-                lock.readLock().unlock();
-            }
+        @Override
+        protected LongUpDownCounter build(Meter meter) {
+            LongUpDownCounterBuilder builder = meter.upDownCounterBuilder(key.name);
+            Optional.ofNullable(key.description).ifPresent(builder::setDescription);
+            Optional.ofNullable(key.unit).ifPresent(builder::setUnit);
+            return builder.build();
         }
     }
 
     @VisibleForTesting
     @ThreadSafe
-    protected static class ReconfigurableDoubleUpDownCounter implements DoubleUpDownCounter {
-        final ReadWriteLock lock;
-
-        @GuardedBy("lock")
-        private DoubleUpDownCounter delegate;
-
-        ReconfigurableDoubleUpDownCounter(DoubleUpDownCounter delegate, ReadWriteLock lock) {
-            this.delegate = delegate;
-            this.lock = lock;
+    protected static class ReconfigurableDoubleUpDownCounter
+            extends LazilyBoundInstrument<InstrumentKey, DoubleUpDownCounter> implements DoubleUpDownCounter {
+        ReconfigurableDoubleUpDownCounter(ReconfigurableMeter meter, InstrumentKey key) {
+            super(meter, key);
         }
 
         @Override
         public void add(double increment) {
-            lock.readLock().lock();
-            try {
-                delegate.add(increment);
-            } finally {
-                lock.readLock().unlock();
-            }
+            add(increment, Attributes.empty());
         }
 
         @Override
         public void add(double value, Attributes attributes) {
-            lock.readLock().lock();
-            try {
-                delegate.add(value, attributes);
-            } finally {
-                lock.readLock().unlock();
-            }
+            getDelegate().add(value, limitCardinality(attributes));
         }
 
         @Override
         public void add(double value, Attributes attributes, Context context) {
-            lock.readLock().lock();
-            try {
-                delegate.add(value, attributes, context);
-            } finally {
-                lock.readLock().unlock();
-            }
-        }
-
-        public void setDelegate(DoubleUpDownCounter delegate) {
-            lock.writeLock().lock();
-            try {
-                this.delegate = delegate;
-            } finally {
-                lock.writeLock().unlock();
-            }
+            getDelegate().add(value, limitCardinality(attributes), context);
         }
 
-        public DoubleUpDownCounter getDelegate() {
-            lock.readLock().lock();
-            try {
-                return delegate;
-            } finally {
-                lock.readLock().unlock();
-            }
+        @Override
+        protected DoubleUpDownCounter build(Meter meter) {
+            DoubleUpDownCounterBuilder builder = meter.upDownCounterBuilder(key.name).ofDoubles();
+            Optional.ofNullable(key.description).ifPresent(builder::setDescription);
+            Optional.ofNullable(key.unit).ifPresent(builder::setUnit);
+            return builder.build();
         }
     }
 
-    static class ReconfigurableLongUpDownCounterBuilder implements LongUpDownCounterBuilder {
-        final ReadWriteLock lock;
-        LongUpDownCounterBuilder delegate;
-        final ConcurrentMap<InstrumentKey, ReconfigurableLongUpDownCounter> longUpDownCounters;
-        final ConcurrentMap<ObservableLongMeasurementCallbackKey, ReconfigurableObservableLongUpDownCounter>
-                observableLongUpDownCounters;
-        final ConcurrentMap<InstrumentKey, ReconfigurableObservableLongMeasurement> observableLongMeasurements;
-        final ConcurrentMap<InstrumentKey, ReconfigurableDoubleUpDownCounter> doubleUpDownCounters;
-        final ConcurrentMap<ObservableDoubleMeasurementCallbackKey, ReconfigurableObservableDoubleUpDownCounter>
-                observableDoubleUpDownCounters;
-        final ConcurrentMap<InstrumentKey, ReconfigurableObservableDoubleMeasurement> observableDoubleMeasurements;
-
+    static class ReconfigurableLongUpDownCounterBuilder implements LongUpDownCounterBuilder, MemoizableCallbackBuilder {
+        final ReconfigurableMeter meter;
         final String name;
+
+        @Nullable
         String description;
+
+        @Nullable
         String unit;
 
-        ReconfigurableLongUpDownCounterBuilder(
-                LongUpDownCounterBuilder delegate,
-                String name,
-                ConcurrentMap<InstrumentKey, ReconfigurableLongUpDownCounter> longUpDownCounters,
-                ConcurrentMap<InstrumentKey, ReconfigurableDoubleUpDownCounter> doubleUpDownCounters,
-                ConcurrentMap<ObservableLongMeasurementCallbackKey, ReconfigurableObservableLongUpDownCounter>
-                        observableLongUpDownCounters,
-                ConcurrentMap<InstrumentKey, ReconfigurableObservableLongMeasurement> observableLongMeasurements,
-                ConcurrentMap<ObservableDoubleMeasurementCallbackKey, ReconfigurableObservableDoubleUpDownCounter>
-                        observableDoubleUpDownCounters,
-                ConcurrentMap<InstrumentKey, ReconfigurableObservableDoubleMeasurement> observableDoubleMeasurements,
-                ReadWriteLock lock) {
-            this.delegate = delegate;
-            this.name = name;
-            this.longUpDownCounters = longUpDownCounters;
-            this.observableLongUpDownCounters = observableLongUpDownCounters;
-            this.observableLongMeasurements = observableLongMeasurements;
-            this.doubleUpDownCounters = doubleUpDownCounters;
-            this.observableDoubleUpDownCounters = observableDoubleUpDownCounters;
-            this.observableDoubleMeasurements = observableDoubleMeasurements;
+        Duration callbackMemoizationTtl = Duration.ZERO;
 
-            this.lock = lock;
+        ReconfigurableLongUpDownCounterBuilder(String name, ReconfigurableMeter meter) {
+            this.name = name;
+            this.meter = meter;
         }
 
         @Override
         public LongUpDownCounterBuilder setDescription(String description) {
-            lock.readLock().lock();
-            try {
-                delegate.setDescription(description);
-                this.description = description;
-                return this;
-            } finally {
-                lock.readLock().unlock();
-            }
+            this.description = description;
+            return this;
         }
 
         @Override
         public LongUpDownCounterBuilder setUnit(String unit) {
-            lock.readLock().lock();
-            try {
-                delegate.setUnit(unit);
-                this.unit = unit;
-                return this;
-            } finally {
-                lock.readLock().unlock();
-            }
+            this.unit = unit;
+            return this;
         }
 
         @Override
         public DoubleUpDownCounterBuilder ofDoubles() {
-            lock.readLock().lock();
-            try {
-                ReconfigurableDoubleUpDownCounterBuilder reconfigurableDoubleCounterBuilder =
-                        new ReconfigurableDoubleUpDownCounterBuilder(
-                                delegate.ofDoubles(),
-                                name,
-                                doubleUpDownCounters,
-                                observableDoubleUpDownCounters,
-                                observableDoubleMeasurements,
-                                lock);
-                Optional.ofNullable(description).ifPresent(reconfigurableDoubleCounterBuilder::setDescription);
-                Optional.ofNullable(unit).ifPresent(reconfigurableDoubleCounterBuilder::setUnit);
-                return reconfigurableDoubleCounterBuilder;
-            } finally {
-                lock.readLock().unlock();
-            }
+            ReconfigurableDoubleUpDownCounterBuilder builder =
+                    new ReconfigurableDoubleUpDownCounterBuilder(name, meter);
+            builder.description = description;
+            builder.unit = unit;
+            builder.callbackMemoizationTtl = callbackMemoizationTtl;
+            return builder;
         }
 
         @Override
         public LongUpDownCounter build() {
-            lock.readLock().lock();
-            try {
-                InstrumentKey counterKey = new InstrumentKey(name, description, unit);
-                return longUpDownCounters.computeIfAbsent(
-                        counterKey, k -> new ReconfigurableLongUpDownCounter(delegate.build(), lock));
-            } finally {
-                lock.readLock().unlock();
-            }
+            return meter.getOrCreate(
+                    new InstrumentKey(InstrumentKind.LONG_UP_DOWN_COUNTER, name, description, unit),
+                    k -> new ReconfigurableLongUpDownCounter(meter, k));
+        }
+
+        @Override
+        public void setCallbackMemoizationTtl(Duration callbackMemoizationTtl) {
+            this.callbackMemoizationTtl = callbackMemoizationTtl;
         }
 
         @Override
         public ObservableLongUpDownCounter buildWithCallback(Consumer<ObservableLongMeasurement> callback) {
-            lock.readLock().lock();
-            try {
-                ObservableLongMeasurementCallbackKey key =
-                        new ObservableLongMeasurementCallbackKey(name, description, unit, callback);
-                return this.observableLongUpDownCounters.computeIfAbsent(
-                        key,
-                        k -> new ReconfigurableObservableLongUpDownCounter(delegate.buildWithCallback(callback), lock));
-            } finally {
-                lock.readLock().unlock();
-            }
+            ReconfigurableObservableLongUpDownCounter instrument = meter.getOrRegister(
+                    new ObservableLongMeasurementCallbackKey(
+                            InstrumentKind.OBSERVABLE_LONG_UP_DOWN_COUNTER, name, description, unit, callback),
+                    k -> new ReconfigurableObservableLongUpDownCounter(meter, k));
+            instrument.memoize(callbackMemoizationTtl);
+            return instrument;
         }
 
         @Override
         public ObservableLongMeasurement buildObserver() {
-            lock.readLock().lock();
-            try {
-                InstrumentKey counterKey = new InstrumentKey(name, description, unit);
-                return this.observableLongMeasurements.computeIfAbsent(
-                        counterKey, k -> new ReconfigurableObservableLongMeasurement(delegate.buildObserver(), lock));
-            } finally {
-                lock.readLock().unlock();
-            }
+            ReconfigurableObservableLongMeasurement measurement = meter.getOrRegister(
+                    new InstrumentKey(
+                            InstrumentKind.OBSERVABLE_LONG_UP_DOWN_COUNTER_MEASUREMENT, name, description, unit),
+                    ReconfigurableObservableLongMeasurement::new);
+            measurement.memoizeCallback(callbackMemoizationTtl);
+            return measurement;
         }
     }
 
     @VisibleForTesting
-    protected static class ReconfigurableObservableLongUpDownCounter implements ObservableLongUpDownCounter {
-        final ReadWriteLock lock;
-        ObservableLongUpDownCounter delegate;
-
-        ReconfigurableObservableLongUpDownCounter(ObservableLongUpDownCounter delegate, ReadWriteLock lock) {
-            this.delegate = delegate;
-            this.lock = lock;
+    protected static class ReconfigurableObservableLongUpDownCounter
+            extends RegisteredCallback<ObservableLongMeasurementCallbackKey, ObservableLongUpDownCounter>
+            implements ObservableLongUpDownCounter {
+        ReconfigurableObservableLongUpDownCounter(ReconfigurableMeter meter, ObservableLongMeasurementCallbackKey key) {
+            super(meter, key);
         }
 
-        public void setDelegate(ObservableLongUpDownCounter delegate) {
-            lock.writeLock().lock();
-            try {
-                this.delegate = delegate;
-            } finally {
-                lock.writeLock().unlock();
-            }
+        @Override
+        protected ObservableLongUpDownCounter build(Meter meter) {
+            LongUpDownCounterBuilder builder = meter.upDownCounterBuilder(key.name);
+            Optional.ofNullable(key.description).ifPresent(builder::setDescription);
+            Optional.ofNullable(key.unit).ifPresent(builder::setUnit);
+            return builder.buildWithCallback(this::invoke);
         }
 
         @Override
-        public void close() {
-            lock.readLock().lock();
-            try {
-                delegate.close();
-            } finally {
-                lock.readLock().unlock();
-            }
+        void run(ObservableCallbackExecutor.Recording recording) {
+            key.callback.accept(new ObservableCallbackExecutor.RecordingObservableLongMeasurement(recording));
         }
-    }
 
-    static class ReconfigurableObservableDoubleUpDownCounter implements ObservableDoubleUpDownCounter {
-        final ReadWriteLock lock;
-        ObservableDoubleUpDownCounter delegate;
+        @Override
+        void invokeDirectly(@Nullable ObservableMeasurement measurement) {
+            key.callback.accept((ObservableLongMeasurement) measurement);
+        }
 
-        ReconfigurableObservableDoubleUpDownCounter(ObservableDoubleUpDownCounter delegate, ReadWriteLock lock) {
-            this.delegate = delegate;
-            this.lock = lock;
+        @Override
+        void closeDelegate() {
+            delegate.close();
         }
+    }
 
-        public void setDelegate(ObservableDoubleUpDownCounter delegate) {
-            lock.writeLock().lock();
-            try {
-                this.delegate = delegate;
-            } finally {
-                lock.writeLock().unlock();
-            }
+    static class ReconfigurableObservableDoubleUpDownCounter
+            extends RegisteredCallback<ObservableDoubleMeasurementCallbackKey, ObservableDoubleUpDownCounter>
+            implements ObservableDoubleUpDownCounter {
+        ReconfigurableObservableDoubleUpDownCounter(
+                ReconfigurableMeter meter, ObservableDoubleMeasurementCallbackKey key) {
+            super(meter, key);
         }
 
-        public ObservableDoubleUpDownCounter getDelegate() {
-            lock.readLock().lock();
-            try {
-                return delegate;
-            } finally {
-                lock.readLock().unlock();
-            }
+        @Override
+        protected ObservableDoubleUpDownCounter build(Meter meter) {
+            DoubleUpDownCounterBuilder builder = meter.upDownCounterBuilder(key.name).ofDoubles();
+            Optional.ofNullable(key.description).ifPresent(builder::setDescription);
+            Optional.ofNullable(key.unit).ifPresent(builder::setUnit);
+            return builder.buildWithCallback(this::invoke);
         }
 
         @Override
-        public void close() {
-            lock.readLock().lock();
-            try {
-                delegate.close();
-            } finally {
-                lock.readLock().unlock();
-            }
+        void run(ObservableCallbackExecutor.Recording recording) {
+            key.callback.accept(new ObservableCallbackExecutor.RecordingObservableDoubleMeasurement(recording));
+        }
+
+        @Override
+        void invokeDirectly(@Nullable ObservableMeasurement measurement) {
+            key.callback.accept((ObservableDoubleMeasurement) measurement);
+        }
+
+        @Override
+        void closeDelegate() {
+            delegate.close();
         }
     }
 
-    static class ReconfigurableDoubleUpDownCounterBuilder implements DoubleUpDownCounterBuilder {
-        final ReadWriteLock lock;
-        DoubleUpDownCounterBuilder delegate;
-        final ConcurrentMap<InstrumentKey, ReconfigurableDoubleUpDownCounter> doubleUpDownCounters;
-        final ConcurrentMap<ObservableDoubleMeasurementCallbackKey, ReconfigurableObservableDoubleUpDownCounter>
-                observableDoubleUpDownCounters;
-        final ConcurrentMap<InstrumentKey, ReconfigurableObservableDoubleMeasurement> observableDoubleMeasurements;
+    static class ReconfigurableDoubleUpDownCounterBuilder
+            implements DoubleUpDownCounterBuilder, MemoizableCallbackBuilder {
+        final ReconfigurableMeter meter;
         final String name;
+
+        @Nullable
         String description;
+
+        @Nullable
         String unit;
 
-        ReconfigurableDoubleUpDownCounterBuilder(
-                DoubleUpDownCounterBuilder delegate,
-                String name,
-                ConcurrentMap<InstrumentKey, ReconfigurableDoubleUpDownCounter> doubleUpDownCounters,
-                ConcurrentMap<ObservableDoubleMeasurementCallbackKey, ReconfigurableObservableDoubleUpDownCounter>
-                        observableDoubleUpDownCounters,
-                ConcurrentMap<InstrumentKey, ReconfigurableObservableDoubleMeasurement> observableDoubleMeasurements,
-                ReadWriteLock lock) {
-            this.delegate = delegate;
+        Duration callbackMemoizationTtl = Duration.ZERO;
+
+        ReconfigurableDoubleUpDownCounterBuilder(String name, ReconfigurableMeter meter) {
             this.name = name;
-            this.doubleUpDownCounters = doubleUpDownCounters;
-            this.observableDoubleUpDownCounters = observableDoubleUpDownCounters;
-            this.observableDoubleMeasurements = observableDoubleMeasurements;
-            this.lock = lock;
+            this.meter = meter;
         }
 
         @Override
         public DoubleUpDownCounterBuilder setDescription(String description) {
-            lock.readLock().lock();
-            try {
-                delegate.setDescription(description);
-                this.description = description;
-                return this;
-            } finally {
-                lock.readLock().unlock();
-            }
+            this.description = description;
+            return this;
         }
 
         @Override
         public DoubleUpDownCounterBuilder setUnit(String unit) {
-            lock.readLock().lock();
-            try {
-                delegate.setUnit(unit);
-                this.unit = unit;
-                return this;
-            } finally {
-                lock.readLock().unlock();
-            }
+            this.unit = unit;
+            return this;
         }
 
         @Override
         public DoubleUpDownCounter build() {
-            lock.readLock().lock();
-            try {
-                InstrumentKey counterKey = new InstrumentKey(name, description, unit);
-                return doubleUpDownCounters.computeIfAbsent(
-                        counterKey, k -> new ReconfigurableDoubleUpDownCounter(delegate.build(), lock));
-            } finally {
-                lock.readLock().unlock();
-            }
+            return meter.getOrCreate(
+                    new InstrumentKey(InstrumentKind.DOUBLE_UP_DOWN_COUNTER, name, description, unit),
+                    k -> new ReconfigurableDoubleUpDownCounter(meter, k));
+        }
+
+        @Override
+        public void setCallbackMemoizationTtl(Duration callbackMemoizationTtl) {
+            this.callbackMemoizationTtl = callbackMemoizationTtl;
         }
 
         @Override
         public ObservableDoubleUpDownCounter buildWithCallback(Consumer<ObservableDoubleMeasurement> callback) {
-            lock.readLock().lock();
-            try {
-                ObservableDoubleMeasurementCallbackKey key =
-                        new ObservableDoubleMeasurementCallbackKey(name, description, unit, callback);
-                return this.observableDoubleUpDownCounters.computeIfAbsent(
-                        key,
-                        k -> new ReconfigurableObservableDoubleUpDownCounter(
-                                delegate.buildWithCallback(callback), lock));
-            } finally {
-                lock.readLock().unlock();
-            }
+            ReconfigurableObservableDoubleUpDownCounter instrument = meter.getOrRegister(
+                    new ObservableDoubleMeasurementCallbackKey(
+                            InstrumentKind.OBSERVABLE_DOUBLE_UP_DOWN_COUNTER, name, description, unit, callback),
+                    k -> new ReconfigurableObservableDoubleUpDownCounter(meter, k));
+            instrument.memoize(callbackMemoizationTtl);
+            return instrument;
         }
 
         @Override
         public ObservableDoubleMeasurement buildObserver() {
-            lock.readLock().lock();
-            try {
-                InstrumentKey key = new InstrumentKey(name, description, unit);
-                return this.observableDoubleMeasurements.computeIfAbsent(
-                        key, k -> new ReconfigurableObservableDoubleMeasurement(delegate.buildObserver(), lock));
-            } finally {
-                lock.readLock().unlock();
-            }
+            ReconfigurableObservableDoubleMeasurement measurement = meter.getOrRegister(
+                    new InstrumentKey(
+                            InstrumentKind.OBSERVABLE_DOUBLE_UP_DOWN_COUNTER_MEASUREMENT, name, description, unit),
+                    ReconfigurableObservableDoubleMeasurement::new);
+            measurement.memoizeCallback(callbackMemoizationTtl);
+            return measurement;
         }
     }
 
-    static class ReconfigurableBatchCallback implements BatchCallback {
-        final ReadWriteLock lock;
-        BatchCallback delegate;
-
-        ReconfigurableBatchCallback(BatchCallback delegate, ReadWriteLock lock) {
-            this.delegate = delegate;
-            this.lock = lock;
+    static class ReconfigurableBatchCallback extends RegisteredCallback<BatchCallbackKey, BatchCallback>
+            implements BatchCallback {
+        ReconfigurableBatchCallback(ReconfigurableMeter meter, BatchCallbackKey key) {
+            super(meter, key);
+            // memoized when all the measurements request it, see MemoizableCallbackBuilder
+            Stream.concat(Stream.of(key.observableMeasurement), Arrays.stream(key.additionalObservableMeasurements))
+                    .map(measurement -> (ReconfigurableObservableMeasurement<?>) measurement)
+                    .map(ReconfigurableObservableMeasurement::getCallbackMemoizationTtl)
+                    .min(Comparator.naturalOrder())
+                    .ifPresent(this::memoize);
         }
 
+        /**
+         * Close the previous callback before registering the new one to prevent
+         * "WARNING i.o.s.internal.ThrottlingLogger#doLog: Instrument xyz has recorded multiple values for the same
+         * attributes: {...}"
+         */
         @Override
-        public void close() {
-            lock.readLock().lock();
-            try {
-                delegate.close();
-            } finally {
-                lock.readLock().unlock();
+        public void rebind(Meter meter) {
+            if (delegate != null) {
+                closeDelegate();
             }
+            super.rebind(meter);
         }
 
-        public void setDelegate(BatchCallback delegate) {
-            lock.writeLock().lock();
-            try {
-                this.delegate = delegate;
-            } finally {
-                lock.writeLock().unlock();
-            }
+        @Override
+        protected BatchCallback build(Meter meter) {
+            // io.opentelemetry.sdk.metrics.SdkMeter.batchCallback require the original ObservableMeasurement
+            // see
+            // https://github.com/open-telemetry/opentelemetry-java/blob/v1.39.0/sdk/metrics/src/main/java/io/opentelemetry/sdk/metrics/SdkMeter.java#L130
+            ObservableMeasurement originalObservableMeasurement =
+                    ((ReconfigurableObservableMeasurement<?>) key.observableMeasurement).getDelegate();
+            ObservableMeasurement[] originalAdditionalMeasurements = Arrays.stream(key.additionalObservableMeasurements)
+                    .map(additionalMeasurement -> ((ReconfigurableObservableMeasurement<
+                                            ? extends ObservableMeasurement>)
+                                    additionalMeasurement)
+                            .getDelegate())
+                    .toArray(ObservableMeasurement[]::new);
+            return meter.batchCallback(
+                    () -> invoke(null), originalObservableMeasurement, originalAdditionalMeasurements);
+        }
+
+        /**
+         * The measurements recorded by the callback are captured by the {@link ReconfigurableObservableMeasurement}s
+         */
+        @Override
+        void run(ObservableCallbackExecutor.Recording recording) {
+            key.callback.run();
+        }
+
+        @Override
+        void invokeDirectly(@Nullable ObservableMeasurement measurement) {
+            key.callback.run();
+        }
+
+        @Override
+        void closeDelegate() {
+            delegate.close();
         }
     }
 
-    static class BatchCallbackKey {
+    static class BatchCallbackKey extends RegistryKey {
         final Runnable callback;
         final ObservableMeasurement observableMeasurement;
         final ObservableMeasurement[] additionalObservableMeasurements;
 
+        private final int hashCode;
+
         public BatchCallbackKey(
                 Runnable callback,
                 ObservableMeasurement observableMeasurement,
                 ObservableMeasurement... additionalObservableMeasurements) {
+            super(InstrumentKind.BATCH_CALLBACK);
             this.callback = callback;
             this.observableMeasurement = Objects.requireNonNull(observableMeasurement);
-            this.additionalObservableMeasurements = Objects.requireNonNull(additionalObservableMeasurements);
+            this.additionalObservableMeasurements = Objects.requireNonNull(additionalObservableMeasurements).clone();
+            this.hashCode = hash(
+                    hash(Objects.hashCode(callback), observableMeasurement),
+                    Arrays.hashCode(this.additionalObservableMeasurements));
         }
 
         @Override
@@ -2157,340 +2831,333 @@ class ReconfigurableMeterProvider implements MeterProvider {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             BatchCallbackKey that = (BatchCallbackKey) o;
-            return Objects.equals(callback, that.callback)
+            return hashCode == that.hashCode
+                    && Objects.equals(callback, that.callback)
                     && Objects.equals(observableMeasurement, that.observableMeasurement)
                     && Objects.deepEquals(additionalObservableMeasurements, that.additionalObservableMeasurements);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(callback, observableMeasurement, Arrays.hashCode(additionalObservableMeasurements));
+            return hashCode;
+        }
+
+        @Override
+        String instrumentName() {
+            return observableMeasurement instanceof ReconfigurableObservableMeasurement
+                    ? ((ReconfigurableObservableMeasurement<?>) observableMeasurement).getName()
+                    : String.valueOf(observableMeasurement);
         }
-    }
 
-    static class ReconfigurableDoubleHistogramBuilder implements ExtendedDoubleHistogramBuilder {
-        final ReadWriteLock lock;
-        DoubleHistogramBuilder delegate;
-        final ConcurrentMap<HistogramKey<Double>, ReconfigurableDoubleHistogram> doubleHistograms;
-        final ConcurrentMap<HistogramKey<Long>, ReconfigurableLongHistogram> longHistograms;
+        @Override
+        public String toString() {
+            return kind + " " + observableMeasurement + " " + Arrays.toString(additionalObservableMeasurements);
+        }
+    }
 
+    static class ReconfigurableDoubleHistogramBuilder
+            implements ExtendedDoubleHistogramBuilder, BufferableHistogramBuilder {
+        final ReconfigurableMeter meter;
         final String name;
+
+        @Nullable
         String description;
+
+        @Nullable
         String unit;
+
+        @Nullable
         List<AttributeKey<?>> attributes;
+
+        @Nullable
         List<Double> bucketBoundaries;
 
-        ReconfigurableDoubleHistogramBuilder(
-                DoubleHistogramBuilder delegate,
-                String name,
-                ConcurrentMap<HistogramKey<Double>, ReconfigurableDoubleHistogram> doubleHistograms,
-                ConcurrentMap<HistogramKey<Long>, ReconfigurableLongHistogram> longHistograms,
-                ReadWriteLock lock) {
+        boolean buffered;
 
-            this.delegate = delegate;
+        ReconfigurableDoubleHistogramBuilder(String name, ReconfigurableMeter meter) {
             this.name = name;
-            this.doubleHistograms = doubleHistograms;
-            this.longHistograms = longHistograms;
-
-            this.lock = lock;
+            this.meter = meter;
         }
 
         @Override
         public DoubleHistogramBuilder setDescription(String description) {
-            lock.readLock().lock();
-            try {
-                delegate.setDescription(description);
-                this.description = description;
-                return this;
-            } finally {
-                lock.readLock().unlock();
-            }
+            this.description = description;
+            return this;
         }
 
         @Override
         public DoubleHistogramBuilder setUnit(String unit) {
-            lock.readLock().lock();
-            try {
-                delegate.setUnit(unit);
-                this.unit = unit;
-                return this;
-            } finally {
-                lock.readLock().unlock();
-            }
+            this.unit = unit;
+            return this;
         }
 
         @Override
         public ExtendedDoubleHistogramBuilder setAttributesAdvice(List<AttributeKey<?>> attributes) {
-            lock.readLock().lock();
-            try {
-                if (delegate instanceof ExtendedDoubleHistogramBuilder) {
-                    ((ExtendedDoubleHistogramBuilder) delegate).setAttributesAdvice(attributes);
-                }
-                this.attributes = attributes;
-                return this;
-            } finally {
-                lock.readLock().unlock();
-            }
+            this.attributes = attributes;
+            return this;
+        }
+
+        @Override
+        public DoubleHistogramBuilder setExplicitBucketBoundariesAdvice(List<Double> bucketBoundaries) {
+            this.bucketBoundaries = bucketBoundaries;
+            return this;
         }
 
         @Override
         public LongHistogramBuilder ofLongs() {
-            lock.readLock().lock();
-            try {
-                ReconfigurableLongHistogramBuilder reconfigurableLongCounterBuilder =
-                        new ReconfigurableLongHistogramBuilder(delegate.ofLongs(), name, longHistograms, lock);
-                Optional.ofNullable(description).ifPresent(reconfigurableLongCounterBuilder::setDescription);
-                Optional.ofNullable(unit).ifPresent(reconfigurableLongCounterBuilder::setUnit);
-                if (reconfigurableLongCounterBuilder.delegate instanceof ExtendedLongHistogramBuilder) {
-                    Optional.ofNullable(attributes).ifPresent(((ExtendedLongHistogramBuilder)
-                            reconfigurableLongCounterBuilder.delegate)::setAttributesAdvice);
-                }
-                return reconfigurableLongCounterBuilder;
-            } finally {
-                lock.readLock().unlock();
-            }
+            ReconfigurableLongHistogramBuilder builder = new ReconfigurableLongHistogramBuilder(name, meter);
+            builder.description = description;
+            builder.unit = unit;
+            builder.attributes = attributes;
+            builder.buffered = buffered;
+            return builder;
         }
 
         @Override
-        public DoubleHistogram build() {
-            lock.readLock().lock();
-            try {
-                HistogramKey<Double> doubleHistogramKey =
-                        new HistogramKey<>(name, description, unit, attributes, bucketBoundaries);
-                return doubleHistograms.computeIfAbsent(
-                        doubleHistogramKey, k -> new ReconfigurableDoubleHistogram(delegate.build(), lock));
-            } finally {
-                lock.readLock().unlock();
-            }
+        public void setBuffered(boolean buffered) {
+            this.buffered = buffered;
         }
 
         @Override
-        public DoubleHistogramBuilder setExplicitBucketBoundariesAdvice(List<Double> bucketBoundaries) {
-            lock.readLock().lock();
-            try {
-                delegate.setExplicitBucketBoundariesAdvice(bucketBoundaries);
-                this.bucketBoundaries = bucketBoundaries;
-                return this;
-            } finally {
-                lock.readLock().unlock();
+        public DoubleHistogram build() {
+            ReconfigurableDoubleHistogram histogram = meter.getOrCreate(
+                    new HistogramKey<>(
+                            InstrumentKind.DOUBLE_HISTOGRAM, name, description, unit, attributes, bucketBoundaries),
+                    k -> new ReconfigurableDoubleHistogram(meter, k));
+            if (buffered) {
+                histogram.enableBuffering();
             }
+            return histogram;
         }
     }
 
     @VisibleForTesting
     @ThreadSafe
-    protected static class ReconfigurableDoubleHistogram implements DoubleHistogram {
-        final ReadWriteLock lock;
+    protected static class ReconfigurableDoubleHistogram
+            extends LazilyBoundInstrument<HistogramKey<Double>, DoubleHistogram>
+            implements DoubleHistogram, PreAggregatingInstrument {
+        @Nullable
+        private volatile HistogramBuffers buffers;
 
-        @GuardedBy("lock")
-        private DoubleHistogram delegate;
+        ReconfigurableDoubleHistogram(ReconfigurableMeter meter, HistogramKey<Double> key) {
+            super(meter, key);
+        }
 
-        ReconfigurableDoubleHistogram(DoubleHistogram delegate, ReadWriteLock lock) {
-            this.delegate = delegate;
-            this.lock = lock;
+        synchronized void enableBuffering() {
+            if (buffers == null) {
+                logger.log(Level.FINE, () -> "Enable buffering of " + key);
+                buffers = new HistogramBuffers((values, attributes, length) -> {
+                    DoubleHistogram delegate = getDelegate();
+                    for (int i = 0; i < length; i++) {
+                        delegate.record(Double.longBitsToDouble(values[i]), attributes[i]);
+                    }
+                });
+                meter.addPreAggregatingInstrument(this);
+            }
         }
 
         @Override
         public void record(double value) {
-            lock.readLock().lock();
-            try {
-                delegate.record(value);
-            } finally {
-                lock.readLock().unlock();
-            }
+            record(value, Attributes.empty());
         }
 
         @Override
         public void record(double value, Attributes attributes) {
-            lock.readLock().lock();
-            try {
-                delegate.record(value, attributes);
-            } finally {
-                lock.readLock().unlock();
+            attributes = limitCardinality(attributes);
+            HistogramBuffers buffers = this.buffers;
+            if (buffers == null) {
+                getDelegate().record(value, attributes);
+            } else {
+                buffers.record(Double.doubleToRawLongBits(value), attributes);
             }
         }
 
         @Override
         public void record(double value, Attributes attributes, Context context) {
-            lock.readLock().lock();
-            try {
-                delegate.record(value, attributes, context);
-            } finally {
-                lock.readLock().unlock();
+            attributes = limitCardinality(attributes);
+            HistogramBuffers buffers = this.buffers;
+            if (buffers == null) {
+                getDelegate().record(value, attributes, context);
+            } else {
+                buffers.record(Double.doubleToRawLongBits(value), attributes);
             }
         }
 
-        public void setDelegate(DoubleHistogram delegate) {
-            lock.writeLock().lock();
-            try {
-                this.delegate = delegate;
-            } finally {
-                lock.writeLock().unlock();
+        @Override
+        public void flush() {
+            HistogramBuffers buffers = this.buffers;
+            if (buffers != null) {
+                buffers.flush();
             }
         }
 
-        public DoubleHistogram getDelegate() {
-            lock.readLock().lock();
-            try {
-                return delegate;
-            } finally {
-                lock.readLock().unlock();
+        @Override
+        protected DoubleHistogram build(Meter meter) {
+            DoubleHistogramBuilder builder = meter.histogramBuilder(key.name);
+            Optional.ofNullable(key.description).ifPresent(builder::setDescription);
+            Optional.ofNullable(key.unit).ifPresent(builder::setUnit);
+            Optional.ofNullable(key.bucketBoundaries).ifPresent(builder::setExplicitBucketBoundariesAdvice);
+            if (builder instanceof ExtendedDoubleHistogramBuilder) {
+                Optional.ofNullable(key.attributes)
+                        .ifPresent(((ExtendedDoubleHistogramBuilder) builder)::setAttributesAdvice);
             }
+            return builder.build();
         }
     }
 
-    static class ReconfigurableLongHistogramBuilder implements ExtendedLongHistogramBuilder {
-        final ReadWriteLock lock;
-        LongHistogramBuilder delegate;
-        final ConcurrentMap<HistogramKey<Long>, ReconfigurableLongHistogram> longHistograms;
-
+    static class ReconfigurableLongHistogramBuilder
+            implements ExtendedLongHistogramBuilder, BufferableHistogramBuilder {
+        final ReconfigurableMeter meter;
         final String name;
+
+        @Nullable
         String description;
+
+        @Nullable
         String unit;
-        List<Long> bucketBoundaries;
+
+        @Nullable
         List<AttributeKey<?>> attributes;
 
-        ReconfigurableLongHistogramBuilder(
-                LongHistogramBuilder delegate,
-                String name,
-                ConcurrentMap<HistogramKey<Long>, ReconfigurableLongHistogram> longHistograms,
-                ReadWriteLock lock) {
-            this.delegate = delegate;
-            this.name = name;
-            this.longHistograms = longHistograms;
+        @Nullable
+        List<Long> bucketBoundaries;
 
-            this.lock = lock;
+        boolean buffered;
+
+        ReconfigurableLongHistogramBuilder(String name, ReconfigurableMeter meter) {
+            this.name = name;
+            this.meter = meter;
         }
 
         @Override
         public LongHistogramBuilder setDescription(String description) {
-            lock.readLock().lock();
-            try {
-                delegate.setDescription(description);
-                this.description = description;
-                return this;
-            } finally {
-                lock.readLock().unlock();
-            }
+            this.description = description;
+            return this;
         }
 
         @Override
         public LongHistogramBuilder setUnit(String unit) {
-            lock.readLock().lock();
-            try {
-                delegate.setUnit(unit);
-                this.unit = unit;
-                return this;
-            } finally {
-                lock.readLock().unlock();
-            }
+            this.unit = unit;
+            return this;
         }
 
         @Override
         public ExtendedLongHistogramBuilder setAttributesAdvice(List<AttributeKey<?>> attributes) {
-            lock.readLock().lock();
-            try {
-                if (delegate instanceof ExtendedLongHistogramBuilder) {
-                    ((ExtendedLongHistogramBuilder) delegate).setAttributesAdvice(attributes);
-                }
-                this.attributes = attributes;
-                return this;
-            } finally {
-                lock.readLock().unlock();
-            }
+            this.attributes = attributes;
+            return this;
         }
 
         @Override
         public LongHistogramBuilder setExplicitBucketBoundariesAdvice(List<Long> bucketBoundaries) {
-            lock.readLock().lock();
-            try {
-                delegate.setExplicitBucketBoundariesAdvice(bucketBoundaries);
-                this.bucketBoundaries = bucketBoundaries;
-                return this;
-            } finally {
-                lock.readLock().unlock();
-            }
+            this.bucketBoundaries = bucketBoundaries;
+            return this;
+        }
+
+        @Override
+        public void setBuffered(boolean buffered) {
+            this.buffered = buffered;
         }
 
         @Override
         public LongHistogram build() {
-            lock.readLock().lock();
-            try {
-                HistogramKey<Long> longHistogramKey =
-                        new HistogramKey<>(name, description, unit, attributes, bucketBoundaries);
-                return longHistograms.computeIfAbsent(
-                        longHistogramKey, k -> new ReconfigurableLongHistogram(delegate.build(), lock));
-            } finally {
-                lock.readLock().unlock();
+            ReconfigurableLongHistogram histogram = meter.getOrCreate(
+                    new HistogramKey<>(
+                            InstrumentKind.LONG_HISTOGRAM, name, description, unit, attributes, bucketBoundaries),
+                    k -> new ReconfigurableLongHistogram(meter, k));
+            if (buffered) {
+                histogram.enableBuffering();
             }
+            return histogram;
         }
     }
 
     @VisibleForTesting
     @ThreadSafe
-    protected static class ReconfigurableLongHistogram implements LongHistogram {
-        final ReadWriteLock lock;
+    protected static class ReconfigurableLongHistogram extends LazilyBoundInstrument<HistogramKey<Long>, LongHistogram>
+            implements LongHistogram, PreAggregatingInstrument {
+        @Nullable
+        private volatile HistogramBuffers buffers;
 
-        @GuardedBy("lock")
-        private LongHistogram delegate;
+        ReconfigurableLongHistogram(ReconfigurableMeter meter, HistogramKey<Long> key) {
+            super(meter, key);
+        }
 
-        ReconfigurableLongHistogram(LongHistogram delegate, ReadWriteLock lock) {
-            this.delegate = delegate;
-            this.lock = lock;
+        synchronized void enableBuffering() {
+            if (buffers == null) {
+                logger.log(Level.FINE, () -> "Enable buffering of " + key);
+                buffers = new HistogramBuffers((values, attributes, length) -> {
+                    LongHistogram delegate = getDelegate();
+                    for (int i = 0; i < length; i++) {
+                        delegate.record(values[i], attributes[i]);
+                    }
+                });
+                meter.addPreAggregatingInstrument(this);
+            }
         }
 
         @Override
         public void record(long value) {
-            lock.readLock().lock();
-            try {
-                delegate.record(value);
-            } finally {
-                lock.readLock().unlock();
-            }
+            record(value, Attributes.empty());
         }
 
         @Override
         public void record(long value, Attributes attributes) {
-            lock.readLock().lock();
-            try {
-                delegate.record(value, attributes);
-            } finally {
-                lock.readLock().unlock();
+            attributes = limitCardinality(attributes);
+            HistogramBuffers buffers = this.buffers;
+            if (buffers == null) {
+                getDelegate().record(value, attributes);
+            } else {
+                buffers.record(value, attributes);
             }
         }
 
         @Override
         public void record(long value, Attributes attributes, Context context) {
-            lock.readLock().lock();
-            try {
-                delegate.record(value, attributes, context);
-            } finally {
-                lock.readLock().unlock();
+            attributes = limitCardinality(attributes);
+            HistogramBuffers buffers = this.buffers;
+            if (buffers == null) {
+                getDelegate().record(value, attributes, context);
+            } else {
+                buffers.record(value, attributes);
             }
         }
 
-        public void setDelegate(LongHistogram delegate) {
-            lock.writeLock().lock();
-            try {
-                this.delegate = delegate;
-            } finally {
-                lock.writeLock().unlock();
+        @Override
+        public void flush() {
+            HistogramBuffers buffers = this.buffers;
+            if (buffers != null) {
+                buffers.flush();
             }
         }
 
-        public LongHistogram getDelegate() {
-            lock.readLock().lock();
-            try {
-                return delegate;
-            } finally {
-                lock.readLock().unlock();
+        @Override
+        protected LongHistogram build(Meter meter) {
+            LongHistogramBuilder builder = meter.histogramBuilder(key.name).ofLongs();
+            Optional.ofNullable(key.description).ifPresent(builder::setDescription);
+            Optional.ofNullable(key.unit).ifPresent(builder::setUnit);
+            Optional.ofNullable(key.bucketBoundaries).ifPresent(builder::setExplicitBucketBoundariesAdvice);
+            if (builder instanceof ExtendedLongHistogramBuilder) {
+                Optional.ofNullable(key.attributes)
+                        .ifPresent(((ExtendedLongHistogramBuilder) builder)::setAttributesAdvice);
             }
+            return builder.build();
         }
     }
 
     interface ReconfigurableObservableMeasurement<T extends ObservableMeasurement> extends ObservableMeasurement {
         void setDelegate(T delegate);
 
+        /**
+         * @return the name of the instrument
+         */
+        String getName();
+
         T getDelegate();
+
+        /**
+         * @return the memoization TTL of the batch callbacks recording this measurement, see
+         * {@link MemoizableCallbackBuilder}
+         */
+        Duration getCallbackMemoizationTtl();
     }
 }
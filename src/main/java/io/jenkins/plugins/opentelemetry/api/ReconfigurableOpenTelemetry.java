@@ -6,7 +6,9 @@
 package io.jenkins.plugins.opentelemetry.api;
 
 import com.google.common.base.Function;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import hudson.Extension;
 import hudson.ExtensionList;
 import hudson.ExtensionPoint;
@@ -25,22 +27,45 @@ import io.opentelemetry.context.propagation.ContextPropagators;
 import io.opentelemetry.sdk.OpenTelemetrySdk;
 import io.opentelemetry.sdk.autoconfigure.AutoConfiguredOpenTelemetrySdk;
 import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigurationException;
 import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.logs.LogRecordProcessor;
+import io.opentelemetry.sdk.logs.SdkLoggerProvider;
 import io.opentelemetry.sdk.logs.data.LogRecordData;
 import io.opentelemetry.sdk.logs.export.LogRecordExporter;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
 import io.opentelemetry.sdk.metrics.export.MetricReader;
 import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
 import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 import javax.annotation.OverridingMethodsMustInvokeSuper;
 import javax.annotation.PreDestroy;
+import javax.annotation.concurrent.GuardedBy;
+import jenkins.model.Jenkins;
 
 /**
  * <p>
@@ -63,16 +88,129 @@ public class ReconfigurableOpenTelemetry implements ExtendedOpenTelemetry, OpenT
     private static final AtomicInteger GET_INVOCATION_COUNT = new AtomicInteger(0);
     private static final String NONE = "none";
 
+    /**
+     * Maximum duration given to the replaced OpenTelemetry SDK to flush its pending telemetry and shut down.
+     */
+    static final String SDK_DRAIN_TIMEOUT_PROPERTY = "otel.jenkins.sdk.drain.timeout";
+
+    static final Duration DEFAULT_SDK_DRAIN_TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * Maximum number of attribute sets recorded by each synchronous instrument, the measurements with additional
+     * attribute sets are recorded in the {@code otel.metric.overflow=true} series and counted by instrument. Disabled
+     * by default or with a non-positive value, the SDK still enforces its own cardinality limit.
+     */
+    static final String METRIC_CARDINALITY_LIMIT_PROPERTY = "otel.jenkins.metric.cardinality.limit";
+
+    /**
+     * Execute the callbacks of the observable instruments in parallel and time-boxed rather than one after the other
+     * on the thread of the collection, disabled by default, see {@link ObservableCallbackExecutor}
+     */
+    static final String METRIC_CALLBACK_PARALLEL_PROPERTY = "otel.jenkins.metric.callback.parallel";
+
+    /**
+     * Maximum duration of each callback of the observable instruments when executed in parallel, see
+     * {@link ObservableCallbackExecutor}
+     */
+    static final String METRIC_CALLBACK_TIMEOUT_PROPERTY = "otel.jenkins.metric.callback.timeout";
+
+    /**
+     * Notify the {@link OpenTelemetryLifecycleListener}s of a same ordinal in parallel, see
+     * {@link LifecycleListenerNotifier}
+     */
+    static final String LIFECYCLE_LISTENER_PARALLEL_PROPERTY = "otel.jenkins.lifecycle.listener.parallel";
+
+    /**
+     * Maximum duration of the notification of each {@link OpenTelemetryLifecycleListener} when notified in parallel
+     */
+    static final String LIFECYCLE_LISTENER_TIMEOUT_PROPERTY = "otel.jenkins.lifecycle.listener.timeout";
+
+    /**
+     * Build the OpenTelemetry SDK on a background thread rather than on the thread starting Jenkins while no SDK is
+     * installed, see {@link #getSdkBootstrap()}. Read from the configuration properties or from the system properties.
+     */
+    static final String SDK_BOOTSTRAP_DEFERRED_PROPERTY = "otel.jenkins.sdk.bootstrap.deferred";
+
     Resource resource = Resource.empty();
     ConfigProperties config = ConfigPropertiesUtils.emptyConfig();
     OpenTelemetry openTelemetryImpl = OpenTelemetry.noop();
     LogRecordExporter logRecordExporter = NoopLogRecordExporter.getInstance();
+
+    /**
+     * Sampler and processors of the installed SDK, the spans and the log records emitted during the deferred SDK
+     * bootstrap are replayed through them
+     */
+    Sampler sampler = Sampler.parentBased(Sampler.alwaysOn());
+
+    SpanProcessor spanProcessor = SpanProcessor.composite();
+    LogRecordProcessor logRecordProcessor = LogRecordProcessor.composite();
+
     MetricReader metricReader;
     Thread shutdownHook;
     final ReconfigurableMeterProvider meterProviderImpl = new ReconfigurableMeterProvider();
     final ReconfigurableTracerProvider traceProviderImpl = new ReconfigurableTracerProvider();
     final ReconfigurableLoggerProvider loggerProviderImpl = new ReconfigurableLoggerProvider();
 
+    /**
+     * Single thread executor draining the replaced SDKs one after the other, the thread is released when idle.
+     */
+    private final ThreadPoolExecutor sdkDrainExecutor;
+
+    /**
+     * Single thread executor building the SDK of the deferred bootstrap, the thread is released when idle.
+     */
+    private final ThreadPoolExecutor sdkBootstrapExecutor;
+
+    /**
+     * SPI implementations discovered by the SDK autoconfiguration, kept between the reconfigurations until the
+     * installed plugins change
+     */
+    private final CachingComponentLoader componentLoader =
+            new CachingComponentLoader(AutoConfiguredOpenTelemetrySdk.class.getClassLoader());
+
+    private final LifecycleListenerNotifier lifecycleListenerNotifier =
+            new LifecycleListenerNotifier(() -> meterProviderImpl
+                    .get(ReconfigurableMeterProvider.INSTRUMENTATION_SCOPE_NAME)
+                    .histogramBuilder(LifecycleListenerNotifier.LISTENER_DURATION_HISTOGRAM_NAME)
+                    .setDescription("Duration of the notification of the OpenTelemetry lifecycle listeners")
+                    .setUnit("s")
+                    .build());
+
+    private volatile CompletableResultCode sdkDrain = CompletableResultCode.ofSuccess();
+
+    private volatile CompletableResultCode sdkBootstrap = CompletableResultCode.ofSuccess();
+
+    /**
+     * Serializes the configurations, the configurations requested during the deferred SDK bootstrap, which doesn't
+     * hold the lock, are applied once it completes
+     */
+    private final Object configurationLock = new Object();
+
+    /**
+     * Last configuration requested during the deferred SDK bootstrap, applied once the bootstrap completes
+     */
+    @GuardedBy("configurationLock")
+    @Nullable
+    private Runnable pendingConfiguration;
+
+    /**
+     * A resource was detected in the background during the deferred SDK bootstrap
+     */
+    @GuardedBy("configurationLock")
+    private boolean pendingResourceDetection;
+
+    /**
+     * Timer of the configuration in progress, if any
+     */
+    @Nullable
+    private ConfigurationPhaseTimer configurationPhaseTimer;
+
+    /**
+     * Fingerprint of the inputs of the last successful {@link #configure(Map, Resource, boolean)}
+     */
+    @Nullable
+    private ConfigurationFingerprint configurationFingerprint;
+
     /*
      * Ensures this class is loaded and the static singleton `INSTANCE` is instantiated.
      */
@@ -108,6 +246,29 @@ public class ReconfigurableOpenTelemetry implements ExtendedOpenTelemetry, OpenT
      * @see #get()
      */
     public ReconfigurableOpenTelemetry() {
+        sdkDrainExecutor = new ThreadPoolExecutor(
+                1,
+                1,
+                30,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("OpenTelemetry SDK drain-%d")
+                        .setDaemon(true)
+                        .build());
+        sdkDrainExecutor.allowCoreThreadTimeOut(true);
+        sdkBootstrapExecutor = new ThreadPoolExecutor(
+                1,
+                1,
+                30,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("OpenTelemetry SDK bootstrap-%d")
+                        .setDaemon(true)
+                        .build());
+        sdkBootstrapExecutor.allowCoreThreadTimeOut(true);
+        componentLoader.setLateResourceDetectionListener(this::reconfigureWithDetectedResource);
         try {
             GlobalOpenTelemetry.set(this);
         } catch (IllegalStateException e) {
@@ -136,6 +297,174 @@ public class ReconfigurableOpenTelemetry implements ExtendedOpenTelemetry, OpenT
             @NonNull Map<String, String> openTelemetryProperties,
             Resource openTelemetryResource,
             boolean disableShutdownHook) {
+        synchronized (configurationLock) {
+            if (!sdkBootstrap.isDone()) {
+                // the SDK is built without holding the lock, apply the last configuration once it's installed
+                logger.log(Level.FINE, "OpenTelemetry SDK bootstrap in progress, defer the reconfiguration");
+                this.pendingConfiguration =
+                        () -> configure(openTelemetryProperties, openTelemetryResource, disableShutdownHook);
+                return;
+            }
+            ConfigurationPhaseTimer phaseTimer = new ConfigurationPhaseTimer();
+            ConfigurationFingerprint configurationFingerprint =
+                    new ConfigurationFingerprint(openTelemetryProperties, openTelemetryResource, disableShutdownHook);
+            phaseTimer.lap(ConfigurationPhaseTimer.Phase.FINGERPRINT);
+            if (configurationFingerprint.equals(this.configurationFingerprint)) {
+                logger.log(Level.FINE, "OpenTelemetry configuration unchanged, skip reconfiguration");
+                postOpenTelemetrySdkConfigurationUnchanged();
+                return;
+            }
+            if (!(this.openTelemetryImpl instanceof OpenTelemetrySdk)
+                    && isSdkBootstrapDeferred(openTelemetryProperties)) {
+                deferSdkBootstrap(
+                        openTelemetryProperties, openTelemetryResource, disableShutdownHook, configurationFingerprint);
+                return;
+            }
+            configure(
+                    openTelemetryProperties,
+                    openTelemetryResource,
+                    disableShutdownHook,
+                    configurationFingerprint,
+                    phaseTimer);
+        }
+    }
+
+    /**
+     * Rebuilds the SDK with the current configuration once a resource provider left out of the previous build because
+     * its detection didn't complete in time is detected, see {@link CachingComponentLoader}
+     */
+    private void reconfigureWithDetectedResource() {
+        synchronized (configurationLock) {
+            if (!sdkBootstrap.isDone()) {
+                // the resource may have been left out of the SDK being built
+                this.pendingResourceDetection = true;
+                return;
+            }
+            ConfigurationFingerprint configurationFingerprint = this.configurationFingerprint;
+            if (configurationFingerprint == null) {
+                // not configured yet, the first configuration uses the detected resource
+                return;
+            }
+            logger.log(Level.FINE, "Resource detected in the background, reconfigure the OpenTelemetry SDK");
+            // reconfigure all the signals as the resource is shared by all the SDK providers
+            this.configurationFingerprint = null;
+            try {
+                configure(
+                        configurationFingerprint.openTelemetryProperties,
+                        configurationFingerprint.openTelemetryResource,
+                        configurationFingerprint.disableShutdownHook,
+                        configurationFingerprint,
+                        new ConfigurationPhaseTimer());
+            } catch (RuntimeException e) {
+                // keep the fingerprint of the installed SDK, the next configuration is compared to it
+                this.configurationFingerprint = configurationFingerprint;
+                logger.log(Level.WARNING, "Failure to reconfigure the OpenTelemetry SDK with the detected resource", e);
+            }
+        }
+    }
+
+    private static boolean isSdkBootstrapDeferred(Map<String, String> openTelemetryProperties) {
+        return Boolean.parseBoolean(openTelemetryProperties.getOrDefault(
+                SDK_BOOTSTRAP_DEFERRED_PROPERTY, System.getProperty(SDK_BOOTSTRAP_DEFERRED_PROPERTY)));
+    }
+
+    /**
+     * <p>
+     * Builds the OpenTelemetry SDK on a background thread so that the SPI lookups, the resource detection and the
+     * instantiation of the exporters don't delay the startup of Jenkins.
+     * </p>
+     * <p>
+     * Meanwhile, the spans and the log records are buffered by a {@link SdkBootstrapBuffer} and replayed through the
+     * sampler and the processors of the SDK once installed, the metrics are recorded in the no-op meter provider until
+     * the SDK is installed. The {@link OpenTelemetryLifecycleListener}s are notified on the background thread.
+     * </p>
+     * <p>
+     * The SDK is built without holding the configuration lock, the configurations requested in the meantime, for
+     * example by a save of the Jenkins configuration, are deferred and the last one is applied once the SDK is
+     * installed.
+     * </p>
+     */
+    private void deferSdkBootstrap(
+            Map<String, String> openTelemetryProperties,
+            Resource openTelemetryResource,
+            boolean disableShutdownHook,
+            ConfigurationFingerprint configurationFingerprint) {
+        SdkBootstrapBuffer sdkBootstrapBuffer = new SdkBootstrapBuffer();
+        this.traceProviderImpl.setDelegate(sdkBootstrapBuffer.getTracerProvider());
+        this.loggerProviderImpl.setDelegate(sdkBootstrapBuffer.getLoggerProvider());
+        CompletableResultCode result = new CompletableResultCode();
+        this.sdkBootstrap = result;
+        sdkBootstrapExecutor.execute(() -> {
+            boolean success;
+            try {
+                configure(
+                        openTelemetryProperties,
+                        openTelemetryResource,
+                        disableShutdownHook,
+                        configurationFingerprint,
+                        new ConfigurationPhaseTimer());
+                sdkBootstrapBuffer.replay(this.resource, this.sampler, this.spanProcessor, this.logRecordProcessor);
+                success = true;
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Failure to bootstrap the OpenTelemetry SDK", e);
+                setOpenTelemetryImpl(OpenTelemetry.noop());
+                sdkBootstrapBuffer.discard();
+                success = false;
+            }
+            completeSdkBootstrap(result, success);
+        });
+        logger.log(Level.FINE, "OpenTelemetry SDK bootstrap deferred");
+    }
+
+    /**
+     * Completes the deferred SDK bootstrap and applies the configurations requested in the meantime
+     */
+    private void completeSdkBootstrap(CompletableResultCode result, boolean success) {
+        synchronized (configurationLock) {
+            if (success) {
+                result.succeed();
+            } else {
+                result.fail();
+            }
+            Runnable pendingConfiguration = this.pendingConfiguration;
+            boolean pendingResourceDetection = this.pendingResourceDetection;
+            this.pendingConfiguration = null;
+            this.pendingResourceDetection = false;
+            if (pendingConfiguration != null) {
+                try {
+                    pendingConfiguration.run();
+                } catch (RuntimeException e) {
+                    logger.log(Level.WARNING, "Failure to apply the configuration deferred by the SDK bootstrap", e);
+                }
+            }
+            if (pendingResourceDetection) {
+                reconfigureWithDetectedResource();
+            }
+        }
+    }
+
+    private void configure(
+            Map<String, String> openTelemetryProperties,
+            Resource openTelemetryResource,
+            boolean disableShutdownHook,
+            ConfigurationFingerprint configurationFingerprint,
+            ConfigurationPhaseTimer phaseTimer) {
+        this.configurationPhaseTimer = phaseTimer;
+        try {
+            configureOpenTelemetry(
+                    openTelemetryProperties, openTelemetryResource, disableShutdownHook, configurationFingerprint);
+            phaseTimer.lap(ConfigurationPhaseTimer.Phase.LISTENERS);
+        } finally {
+            this.configurationPhaseTimer = null;
+        }
+        phaseTimer.publish(meterProviderImpl, loggerProviderImpl);
+    }
+
+    private void configureOpenTelemetry(
+            Map<String, String> openTelemetryProperties,
+            Resource openTelemetryResource,
+            boolean disableShutdownHook,
+            ConfigurationFingerprint configurationFingerprint) {
 
         // Configure OTel SDK only if an exporter is configured or the endpoint is set.
         var endpoint = openTelemetryProperties.getOrDefault("otel.exporter.otlp.endpoint", NONE);
@@ -152,53 +481,120 @@ public class ReconfigurableOpenTelemetry implements ExtendedOpenTelemetry, OpenT
 
             logger.log(Level.FINE, "initializeOtlp");
 
-            // OPENTELEMETRY SDK
-            OpenTelemetrySdk openTelemetrySdk = AutoConfiguredOpenTelemetrySdk.builder()
-                    // properties
-                    .addPropertiesCustomizer((Function<ConfigProperties, Map<String, String>>) configProperties -> {
-                        // Overwrite OTel SDK Properties loaded through Environment variables and `-Dotel.*` system
-                        // properties by properties passed through the Jenkins OTel Plugin config GUI
-                        if (logger.isLoggable(Level.INFO)) {
-                            for (Map.Entry<String, String> keyValue : openTelemetryProperties.entrySet()) {
-                                if (configProperties.getString(keyValue.getKey()) != null) {
-                                    logger.log(
-                                            Level.INFO,
-                                            "Overwrite OTel SDK property: " + keyValue.getKey() + "="
-                                                    + configProperties.getString(keyValue.getKey())
-                                                    + " with Jenkins Plugin property: " + keyValue.getValue());
+            OpenTelemetrySdk previousOpenTelemetrySdk = this.openTelemetryImpl instanceof OpenTelemetrySdk
+                    ? (OpenTelemetrySdk) this.openTelemetryImpl
+                    : null;
+            EnumSet<OpenTelemetrySignal> reconfiguredSignals = previousOpenTelemetrySdk == null
+                    ? EnumSet.allOf(OpenTelemetrySignal.class)
+                    : configurationFingerprint.getReconfiguredSignals(this.configurationFingerprint);
+            logger.log(Level.FINE, () -> "Reconfigure " + reconfiguredSignals);
+
+            if (reconfiguredSignals.isEmpty()) {
+                // only the settings of the instrumentations changed (otel.instrumentation.*, otel.jenkins.*), keep the
+                // SDK and only update the changed properties in the config properties computed by the SDK, keeping
+                // the properties of the properties customizers
+                this.config = ConfigPropertiesUtils.withOverrides(
+                        this.config, configurationFingerprint.getChangedProperties(this.configurationFingerprint));
+            } else {
+                // OPENTELEMETRY SDK
+                List<SpanProcessor> spanProcessors = new ArrayList<>();
+                List<LogRecordProcessor> logRecordProcessors = new ArrayList<>();
+                componentLoader.setDiscoveryContext(configurationFingerprint.installedPlugins);
+                OpenTelemetrySdk openTelemetrySdk = AutoConfiguredOpenTelemetrySdk.builder()
+                        .setComponentLoader(componentLoader)
+                        // properties
+                        .addPropertiesCustomizer((Function<ConfigProperties, Map<String, String>>) configProperties -> {
+                            // Overwrite OTel SDK Properties loaded through Environment variables and `-Dotel.*` system
+                            // properties by properties passed through the Jenkins OTel Plugin config GUI
+                            if (logger.isLoggable(Level.INFO)) {
+                                for (Map.Entry<String, String> keyValue : openTelemetryProperties.entrySet()) {
+                                    if (configProperties.getString(keyValue.getKey()) != null) {
+                                        logger.log(
+                                                Level.INFO,
+                                                "Overwrite OTel SDK property: " + keyValue.getKey() + "="
+                                                        + configProperties.getString(keyValue.getKey())
+                                                        + " with Jenkins Plugin property: " + keyValue.getValue());
+                                    }
                                 }
                             }
-                        }
-                        return openTelemetryProperties;
-                    })
-                    .addPropertiesCustomizer((Function<ConfigProperties, Map<String, String>>) configProperties -> {
-                        // keep a reference to the computed config properties for future use in the plugin
-                        this.config = configProperties;
-                        return Collections.emptyMap();
-                    })
-                    // resource
-                    .addResourceCustomizer((resource1, configProperties) -> {
-                        // keep a reference to the computed Resource for future use in the plugin
-                        this.resource = Resource.builder()
-                                .putAll(resource1)
-                                .putAll(openTelemetryResource)
-                                .build();
-                        return this.resource;
-                    })
-                    .addLogRecordExporterCustomizer((logRecordExporter, configProperties) -> {
-                        // keep a reference to the computed LogRecordExporter for future use in the plugin
-                        this.logRecordExporter = logRecordExporter;
-                        return logRecordExporter;
-                    })
-                    .addMetricReaderCustomizer((metricReader, configProperties) -> {
-                        // keep a reference to the computed MetricReader for future use in the plugin
-                        this.metricReader = metricReader;
-                        return metricReader;
-                    })
-                    .disableShutdownHook()
-                    .build()
-                    .getOpenTelemetrySdk();
-            setOpenTelemetryImpl(openTelemetrySdk);
+                            return openTelemetryProperties;
+                        })
+                        .addPropertiesCustomizer((Function<ConfigProperties, Map<String, String>>) configProperties -> {
+                            // keep a reference to the computed config properties for future use in the plugin
+                            this.config = configProperties;
+                            componentLoader.setResourceDetectionTimeout(configProperties);
+                            return Collections.emptyMap();
+                        })
+                        .addPropertiesCustomizer((Function<ConfigProperties, Map<String, String>>) configProperties -> {
+                            // don't instantiate the exporters of the signals that are not reconfigured, the SDK
+                            // providers of these signals are kept. The exporter customizers of these signals,
+                            // including the ones of the AutoConfigurationCustomizerProviders, are not invoked: the kept
+                            // exporters were customized when built and a change of the installed plugins reconfigures
+                            // all the signals
+                            Map<String, String> disabledExporters = new HashMap<>();
+                            for (OpenTelemetrySignal signal : EnumSet.complementOf(reconfiguredSignals)) {
+                                disabledExporters.put(signal.exporterPropertyName, NONE);
+                            }
+                            lapConfigurationPhase(ConfigurationPhaseTimer.Phase.PROPERTIES);
+                            return disabledExporters;
+                        })
+                        // resource
+                        .addResourceCustomizer((resource1, configProperties) -> {
+                            // keep a reference to the computed Resource for future use in the plugin
+                            this.resource = Resource.builder()
+                                    .putAll(resource1)
+                                    .putAll(openTelemetryResource)
+                                    .build();
+                            lapConfigurationPhase(ConfigurationPhaseTimer.Phase.RESOURCE);
+                            return this.resource;
+                        })
+                        .addSamplerCustomizer((sampler, configProperties) -> {
+                            // keep a reference to the computed Sampler for the replay of the deferred SDK bootstrap
+                            if (reconfiguredSignals.contains(OpenTelemetrySignal.TRACES)) {
+                                this.sampler = sampler;
+                            }
+                            return sampler;
+                        })
+                        .addSpanProcessorCustomizer((spanProcessor, configProperties) -> {
+                            // keep a reference to the computed SpanProcessors for the replay of the deferred SDK
+                            // bootstrap
+                            spanProcessors.add(spanProcessor);
+                            return spanProcessor;
+                        })
+                        .addLogRecordProcessorCustomizer((logRecordProcessor, configProperties) -> {
+                            // keep a reference to the computed LogRecordProcessors for the replay of the deferred SDK
+                            // bootstrap
+                            logRecordProcessors.add(logRecordProcessor);
+                            return logRecordProcessor;
+                        })
+                        .addLogRecordExporterCustomizer((logRecordExporter, configProperties) -> {
+                            // keep a reference to the computed LogRecordExporter for future use in the plugin
+                            this.logRecordExporter = logRecordExporter;
+                            return logRecordExporter;
+                        })
+                        .addMetricReaderCustomizer((metricReader, configProperties) -> {
+                            // keep a reference to the computed MetricReader for future use in the plugin
+                            this.metricReader = metricReader;
+                            // flush the pre-aggregated counters and start the parallel callbacks before each collection
+                            return meterProviderImpl.preparingCollections(metricReader);
+                        })
+                        .disableShutdownHook()
+                        .build()
+                        .getOpenTelemetrySdk();
+                lapConfigurationPhase(ConfigurationPhaseTimer.Phase.EXPORTERS);
+                if (reconfiguredSignals.contains(OpenTelemetrySignal.TRACES)) {
+                    this.spanProcessor = SpanProcessor.composite(spanProcessors);
+                }
+                if (reconfiguredSignals.contains(OpenTelemetrySignal.LOGS)) {
+                    this.logRecordProcessor = LogRecordProcessor.composite(logRecordProcessors);
+                }
+                if (previousOpenTelemetrySdk == null
+                        || reconfiguredSignals.containsAll(EnumSet.allOf(OpenTelemetrySignal.class))) {
+                    setOpenTelemetryImpl(openTelemetrySdk);
+                } else {
+                    setOpenTelemetryImpl(previousOpenTelemetrySdk, openTelemetrySdk, reconfiguredSignals);
+                }
+            }
 
             if (disableShutdownHook) {
                 if (shutdownHook == null) {
@@ -227,25 +623,232 @@ public class ReconfigurableOpenTelemetry implements ExtendedOpenTelemetry, OpenT
             setOpenTelemetryImpl(OpenTelemetry.noop());
 
             this.logRecordExporter = NoopLogRecordExporter.getInstance();
+            this.sampler = Sampler.parentBased(Sampler.alwaysOn());
+            this.spanProcessor = SpanProcessor.composite();
+            this.logRecordProcessor = LogRecordProcessor.composite();
 
             logger.log(Level.FINE, () -> "OpenTelemetry configured as NoOp");
         }
+        this.meterProviderImpl.setExemplarsEnabled(
+                this.openTelemetryImpl instanceof OpenTelemetrySdk && isMetricExemplarsEnabled());
+        this.meterProviderImpl.setCardinalityLimit(getMetricCardinalityLimit());
+        this.meterProviderImpl.setCallbackParallel(config.getBoolean(METRIC_CALLBACK_PARALLEL_PROPERTY, false));
+        this.meterProviderImpl.setCallbackTimeout(getMetricCallbackTimeout());
+        this.lifecycleListenerNotifier.setParallel(config.getBoolean(LIFECYCLE_LISTENER_PARALLEL_PROPERTY, false));
+        this.lifecycleListenerNotifier.setTimeout(getLifecycleListenerTimeout());
+        this.configurationFingerprint = configurationFingerprint;
 
         postOpenTelemetrySdkConfiguration();
     }
 
+    /**
+     * <p>
+     * Install the given {@link OpenTelemetry} implementation and drain the previous one.
+     * </p>
+     * <p>
+     * The new delegates are installed first so that no telemetry is lost during the reconfiguration, then the previous
+     * {@link OpenTelemetrySdk} is flushed and shut down asynchronously within {@value #SDK_DRAIN_TIMEOUT_PROPERTY}
+     * (default {@link #DEFAULT_SDK_DRAIN_TIMEOUT}) so that the caller, typically the thread saving the Jenkins
+     * configuration, doesn't wait for the exporters. See {@link #getSdkDrain()} to wait for the completion.
+     * </p>
+     */
     protected void setOpenTelemetryImpl(OpenTelemetry openTelemetryImpl) {
-        if (this.openTelemetryImpl instanceof OpenTelemetrySdk) {
-            logger.log(Level.FINE, () -> "Shutdown OTel SDK...");
-            CompletableResultCode shutdown = ((OpenTelemetrySdk) this.openTelemetryImpl).shutdown();
-            if (!shutdown.join(1, TimeUnit.SECONDS).isSuccess()) {
-                logger.log(Level.WARNING, "Failure to shutdown OTel SDK");
-            }
-        }
+        OpenTelemetry previousOpenTelemetryImpl = this.openTelemetryImpl;
         this.openTelemetryImpl = openTelemetryImpl;
         this.meterProviderImpl.setDelegate(openTelemetryImpl.getMeterProvider());
         this.traceProviderImpl.setDelegate(openTelemetryImpl.getTracerProvider());
         this.loggerProviderImpl.setDelegate(openTelemetryImpl.getLogsBridge());
+        lapConfigurationPhase(ConfigurationPhaseTimer.Phase.REBIND);
+        if (previousOpenTelemetryImpl instanceof OpenTelemetrySdk) {
+            this.sdkDrain = drain(((OpenTelemetrySdk) previousOpenTelemetryImpl)::shutdown);
+        }
+    }
+
+    private void lapConfigurationPhase(ConfigurationPhaseTimer.Phase phase) {
+        ConfigurationPhaseTimer phaseTimer = this.configurationPhaseTimer;
+        if (phaseTimer != null) {
+            phaseTimer.lap(phase);
+        }
+    }
+
+    /**
+     * <p>
+     * Only replace the SDK providers of the given signals keeping the providers of the other signals, their exporters
+     * and their state (e.g. the cumulative metrics or the pending spans) untouched.
+     * </p>
+     * <p>
+     * The installed {@link OpenTelemetrySdk} combines the providers of the reconfigured signals of the
+     * {@code newOpenTelemetrySdk} with the providers of the other signals of the {@code previousOpenTelemetrySdk}. The
+     * replaced providers and the unused providers of the {@code newOpenTelemetrySdk} are shut down asynchronously.
+     * </p>
+     */
+    void setOpenTelemetryImpl(
+            OpenTelemetrySdk previousOpenTelemetrySdk,
+            OpenTelemetrySdk newOpenTelemetrySdk,
+            Set<OpenTelemetrySignal> reconfiguredSignals) {
+        List<Supplier<CompletableResultCode>> shutdowns = new ArrayList<>();
+
+        SdkTracerProvider sdkTracerProvider;
+        if (reconfiguredSignals.contains(OpenTelemetrySignal.TRACES)) {
+            sdkTracerProvider = newOpenTelemetrySdk.getSdkTracerProvider();
+            shutdowns.add(previousOpenTelemetrySdk.getSdkTracerProvider()::shutdown);
+        } else {
+            sdkTracerProvider = previousOpenTelemetrySdk.getSdkTracerProvider();
+            shutdowns.add(newOpenTelemetrySdk.getSdkTracerProvider()::shutdown);
+        }
+        SdkMeterProvider sdkMeterProvider;
+        if (reconfiguredSignals.contains(OpenTelemetrySignal.METRICS)) {
+            sdkMeterProvider = newOpenTelemetrySdk.getSdkMeterProvider();
+            shutdowns.add(previousOpenTelemetrySdk.getSdkMeterProvider()::shutdown);
+        } else {
+            sdkMeterProvider = previousOpenTelemetrySdk.getSdkMeterProvider();
+            shutdowns.add(newOpenTelemetrySdk.getSdkMeterProvider()::shutdown);
+        }
+        SdkLoggerProvider sdkLoggerProvider;
+        if (reconfiguredSignals.contains(OpenTelemetrySignal.LOGS)) {
+            sdkLoggerProvider = newOpenTelemetrySdk.getSdkLoggerProvider();
+            shutdowns.add(previousOpenTelemetrySdk.getSdkLoggerProvider()::shutdown);
+        } else {
+            sdkLoggerProvider = previousOpenTelemetrySdk.getSdkLoggerProvider();
+            shutdowns.add(newOpenTelemetrySdk.getSdkLoggerProvider()::shutdown);
+        }
+
+        OpenTelemetrySdk openTelemetrySdk = OpenTelemetrySdk.builder()
+                .setTracerProvider(sdkTracerProvider)
+                .setMeterProvider(sdkMeterProvider)
+                .setLoggerProvider(sdkLoggerProvider)
+                .setPropagators(newOpenTelemetrySdk.getPropagators())
+                .build();
+        this.openTelemetryImpl = openTelemetrySdk;
+        if (reconfiguredSignals.contains(OpenTelemetrySignal.METRICS)) {
+            this.meterProviderImpl.setDelegate(openTelemetrySdk.getMeterProvider());
+        }
+        if (reconfiguredSignals.contains(OpenTelemetrySignal.TRACES)) {
+            this.traceProviderImpl.setDelegate(openTelemetrySdk.getTracerProvider());
+        }
+        if (reconfiguredSignals.contains(OpenTelemetrySignal.LOGS)) {
+            this.loggerProviderImpl.setDelegate(openTelemetrySdk.getLogsBridge());
+        }
+        lapConfigurationPhase(ConfigurationPhaseTimer.Phase.REBIND);
+        this.sdkDrain = drain(() -> CompletableResultCode.ofAll(
+                shutdowns.stream().map(Supplier::get).collect(Collectors.toList())));
+    }
+
+    /**
+     * @return the installed plugins and their versions, the SPI implementations of the SDK autoconfiguration are
+     * discovered again when they change
+     */
+    private static List<String> getInstalledPlugins() {
+        Jenkins jenkins = Jenkins.getInstanceOrNull();
+        if (jenkins == null) {
+            return Collections.emptyList();
+        }
+        return jenkins.getPluginManager().getPlugins().stream()
+                .map(plugin -> plugin.getShortName() + ":" + plugin.getVersion())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private CompletableResultCode drain(Supplier<CompletableResultCode> shutdownAction) {
+        Duration timeout = getSdkDrainTimeout();
+        CompletableResultCode result = new CompletableResultCode();
+        try {
+            sdkDrainExecutor.execute(() -> {
+                logger.log(Level.FINE, () -> "Shutdown previous OTel SDK...");
+                CompletableResultCode shutdown = shutdownAction.get();
+                if (shutdown.join(timeout.toMillis(), TimeUnit.MILLISECONDS).isSuccess()) {
+                    result.succeed();
+                } else {
+                    logger.log(Level.WARNING, "Failure to shutdown previous OTel SDK within " + timeout);
+                    result.fail();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.log(Level.WARNING, "Failure to schedule the shutdown of the previous OTel SDK", e);
+            result.fail();
+        }
+        return result;
+    }
+
+    private Duration getSdkDrainTimeout() {
+        try {
+            return config.getDuration(SDK_DRAIN_TIMEOUT_PROPERTY, DEFAULT_SDK_DRAIN_TIMEOUT);
+        } catch (ConfigurationException e) {
+            logger.log(
+                    Level.WARNING, "Invalid " + SDK_DRAIN_TIMEOUT_PROPERTY + ", use " + DEFAULT_SDK_DRAIN_TIMEOUT, e);
+            return DEFAULT_SDK_DRAIN_TIMEOUT;
+        }
+    }
+
+    private Duration getMetricCallbackTimeout() {
+        try {
+            return config.getDuration(METRIC_CALLBACK_TIMEOUT_PROPERTY, ObservableCallbackExecutor.DEFAULT_TIMEOUT);
+        } catch (ConfigurationException e) {
+            logger.log(
+                    Level.WARNING,
+                    "Invalid " + METRIC_CALLBACK_TIMEOUT_PROPERTY + ", use "
+                            + ObservableCallbackExecutor.DEFAULT_TIMEOUT,
+                    e);
+            return ObservableCallbackExecutor.DEFAULT_TIMEOUT;
+        }
+    }
+
+    private Duration getLifecycleListenerTimeout() {
+        try {
+            return config.getDuration(LIFECYCLE_LISTENER_TIMEOUT_PROPERTY, LifecycleListenerNotifier.DEFAULT_TIMEOUT);
+        } catch (ConfigurationException e) {
+            logger.log(
+                    Level.WARNING,
+                    "Invalid " + LIFECYCLE_LISTENER_TIMEOUT_PROPERTY + ", use "
+                            + LifecycleListenerNotifier.DEFAULT_TIMEOUT,
+                    e);
+            return LifecycleListenerNotifier.DEFAULT_TIMEOUT;
+        }
+    }
+
+    private int getMetricCardinalityLimit() {
+        try {
+            return config.getInt(
+                    METRIC_CARDINALITY_LIMIT_PROPERTY, ReconfigurableMeterProvider.CardinalityLimiter.DEFAULT_LIMIT);
+        } catch (ConfigurationException e) {
+            logger.log(
+                    Level.WARNING,
+                    "Invalid " + METRIC_CARDINALITY_LIMIT_PROPERTY + ", use "
+                            + ReconfigurableMeterProvider.CardinalityLimiter.DEFAULT_LIMIT,
+                    e);
+            return ReconfigurableMeterProvider.CardinalityLimiter.DEFAULT_LIMIT;
+        }
+    }
+
+    /**
+     * @return {@code true} unless the exemplar filter of the SDK is {@code always_off}, the SDK defaults to
+     * {@code trace_based}
+     */
+    private boolean isMetricExemplarsEnabled() {
+        return !"always_off".equalsIgnoreCase(config.getString("otel.metrics.exemplar.filter", "trace_based"));
+    }
+
+    /**
+     * <p>
+     * Completion of the asynchronous shutdown of the SDKs replaced by the last reconfiguration.
+     * </p>
+     * <p>
+     * The replaced SDKs are drained one after the other so the completion of the last drain implies the completion of
+     * the previous ones.
+     * </p>
+     */
+    @NonNull
+    public CompletableResultCode getSdkDrain() {
+        return sdkDrain;
+    }
+
+    /**
+     * Completion of the OpenTelemetry SDK bootstrap deferred to a background thread when
+     * {@value #SDK_BOOTSTRAP_DEFERRED_PROPERTY} is enabled, already completed otherwise.
+     */
+    @NonNull
+    public CompletableResultCode getSdkBootstrap() {
+        return sdkBootstrap;
     }
 
     @PreDestroy
@@ -260,6 +863,12 @@ public class ReconfigurableOpenTelemetry implements ExtendedOpenTelemetry, OpenT
                 logger.log(Level.WARNING, "Failure to shutdown OTel SDK");
             }
         }
+        if (!sdkDrain.join(1, TimeUnit.SECONDS).isSuccess()) {
+            logger.log(Level.WARNING, "Failure to shutdown previous OTel SDK");
+        }
+        sdkDrainExecutor.shutdown();
+        sdkBootstrapExecutor.shutdown();
+        lifecycleListenerNotifier.shutdown();
         GlobalOpenTelemetry.resetForTest();
     }
 
@@ -342,16 +951,142 @@ public class ReconfigurableOpenTelemetry implements ExtendedOpenTelemetry, OpenT
 
     @OverridingMethodsMustInvokeSuper
     protected void postOpenTelemetrySdkConfiguration() {
-        ExtensionList.lookup(OpenTelemetryLifecycleListener.class).stream()
-                .sorted()
-                .forEach(openTelemetryLifecycleListener -> {
+        ConfigProperties config = this.config;
+        lifecycleListenerNotifier.notify(
+                ExtensionList.lookup(OpenTelemetryLifecycleListener.class), openTelemetryLifecycleListener -> {
                     logger.log(
                             Level.FINE,
                             () -> "Notify " + openTelemetryLifecycleListener + " after OpenTelemetry configuration");
-                    openTelemetryLifecycleListener.afterConfiguration(this.config);
+                    openTelemetryLifecycleListener.afterConfiguration(config);
+                });
+    }
+
+    @OverridingMethodsMustInvokeSuper
+    protected void postOpenTelemetrySdkConfigurationUnchanged() {
+        ConfigProperties config = this.config;
+        lifecycleListenerNotifier.notify(
+                ExtensionList.lookup(OpenTelemetryLifecycleListener.class), openTelemetryLifecycleListener -> {
+                    logger.log(
+                            Level.FINE,
+                            () -> "Notify " + openTelemetryLifecycleListener
+                                    + " after unchanged OpenTelemetry configuration");
+                    openTelemetryLifecycleListener.afterConfigurationUnchanged(config);
                 });
     }
 
+    /**
+     * <p>
+     * Inputs of {@link #configure(Map, Resource, boolean)} that determine the configuration of the OpenTelemetry SDK:
+     * the properties and resource passed by the caller and the {@code otel.*} system properties and
+     * {@code OTEL_*} environment variables read by the SDK autoconfiguration.
+     * </p>
+     */
+    private static final class ConfigurationFingerprint {
+        final Map<String, String> openTelemetryProperties;
+        final Resource openTelemetryResource;
+        final Map<String, String> otelSystemProperties;
+        final Map<String, String> otelEnvironmentVariables;
+        final boolean disableShutdownHook;
+
+        /**
+         * Installing or updating a plugin may add SPI implementations, see {@link CachingComponentLoader}
+         */
+        final List<String> installedPlugins;
+
+        ConfigurationFingerprint(
+                Map<String, String> openTelemetryProperties,
+                Resource openTelemetryResource,
+                boolean disableShutdownHook) {
+            this.openTelemetryProperties = new HashMap<>(openTelemetryProperties);
+            this.openTelemetryResource = openTelemetryResource;
+            this.otelSystemProperties = new HashMap<>();
+            System.getProperties().forEach((key, value) -> {
+                if (key instanceof String && ((String) key).startsWith("otel.")) {
+                    otelSystemProperties.put((String) key, String.valueOf(value));
+                }
+            });
+            this.otelEnvironmentVariables = System.getenv().entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith("OTEL_"))
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+            this.disableShutdownHook = disableShutdownHook;
+            this.installedPlugins = getInstalledPlugins();
+        }
+
+        /**
+         * @return the signals affected by the differences between the given previous configuration and this one
+         * @see OpenTelemetrySignal#affectedBy(String)
+         */
+        EnumSet<OpenTelemetrySignal> getReconfiguredSignals(@Nullable ConfigurationFingerprint previous) {
+            if (previous == null
+                    || disableShutdownHook != previous.disableShutdownHook
+                    || !Objects.equals(openTelemetryResource, previous.openTelemetryResource)
+                    || !Objects.equals(installedPlugins, previous.installedPlugins)) {
+                return EnumSet.allOf(OpenTelemetrySignal.class);
+            }
+            Set<String> changedPropertyNames = new HashSet<>();
+            changedPropertyNames.addAll(getChangedKeys(openTelemetryProperties, previous.openTelemetryProperties));
+            changedPropertyNames.addAll(getChangedKeys(otelSystemProperties, previous.otelSystemProperties));
+            getChangedKeys(otelEnvironmentVariables, previous.otelEnvironmentVariables)
+                    .forEach(envVar -> changedPropertyNames.add(envVar.toLowerCase(Locale.ROOT).replace('_', '.')));
+
+            EnumSet<OpenTelemetrySignal> reconfiguredSignals = EnumSet.noneOf(OpenTelemetrySignal.class);
+            changedPropertyNames.forEach(
+                    propertyName -> reconfiguredSignals.addAll(OpenTelemetrySignal.affectedBy(propertyName)));
+            return reconfiguredSignals;
+        }
+
+        /**
+         * @return the properties passed by the caller and the {@code otel.*} system properties that changed since the
+         * given previous configuration, with a {@code null} value for the removed ones, the properties passed by the
+         * caller overwriting the system properties
+         */
+        Map<String, String> getChangedProperties(ConfigurationFingerprint previous) {
+            Map<String, String> changedProperties = new HashMap<>();
+            for (String propertyName : getChangedKeys(otelSystemProperties, previous.otelSystemProperties)) {
+                if (!openTelemetryProperties.containsKey(propertyName)) {
+                    changedProperties.put(propertyName, otelSystemProperties.get(propertyName));
+                }
+            }
+            for (String propertyName : getChangedKeys(openTelemetryProperties, previous.openTelemetryProperties)) {
+                changedProperties.put(
+                        propertyName,
+                        openTelemetryProperties.getOrDefault(propertyName, otelSystemProperties.get(propertyName)));
+            }
+            return changedProperties;
+        }
+
+        private static Set<String> getChangedKeys(Map<String, String> map, Map<String, String> previousMap) {
+            Set<String> keys = new HashSet<>(map.keySet());
+            keys.addAll(previousMap.keySet());
+            keys.removeIf(key -> Objects.equals(map.get(key), previousMap.get(key)));
+            return keys;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ConfigurationFingerprint that = (ConfigurationFingerprint) o;
+            return disableShutdownHook == that.disableShutdownHook
+                    && Objects.equals(openTelemetryProperties, that.openTelemetryProperties)
+                    && Objects.equals(openTelemetryResource, that.openTelemetryResource)
+                    && Objects.equals(otelSystemProperties, that.otelSystemProperties)
+                    && Objects.equals(otelEnvironmentVariables, that.otelEnvironmentVariables)
+                    && Objects.equals(installedPlugins, that.installedPlugins);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(
+                    openTelemetryProperties,
+                    openTelemetryResource,
+                    otelSystemProperties,
+                    otelEnvironmentVariables,
+                    disableShutdownHook,
+                    installedPlugins);
+        }
+    }
+
     /**
      * Noop implementation of {@link LogRecordExporter}
      */
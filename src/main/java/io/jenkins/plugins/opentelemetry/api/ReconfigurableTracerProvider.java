@@ -6,6 +6,7 @@
 package io.jenkins.plugins.opentelemetry.api;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.MapMaker;
 import io.opentelemetry.api.incubator.trace.ExtendedSpanBuilder;
 import io.opentelemetry.api.incubator.trace.ExtendedTracer;
 import io.opentelemetry.api.trace.Tracer;
@@ -13,10 +14,7 @@ import io.opentelemetry.api.trace.TracerBuilder;
 import io.opentelemetry.api.trace.TracerProvider;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import javax.annotation.Nonnull;
 
 /**
@@ -25,8 +23,9 @@ import javax.annotation.Nonnull;
  * </p>
  * <p>
  * We need reconfigurability because Jenkins supports changing the configuration of the OpenTelemetry params at runtime.
- * All instantiated tracers are reconfigured when the configuration changes, when
- * {@link ReconfigurableTracerProvider#setDelegate(TracerProvider)} is invoked.
+ * {@link ReconfigurableTracerProvider#setDelegate(TracerProvider)} only swaps the delegate provider, the instantiated
+ * tracers rebind themselves to the new delegate provider the first time they are used after the change so the cost
+ * of a reconfiguration doesn't grow with the number of tracers that are no longer used.
  * </p>
  * <p>
  *     IMPORTANT: requires the OpenTelemetry API incubator module to be on the classpath for provided
@@ -35,134 +34,112 @@ import javax.annotation.Nonnull;
  */
 class ReconfigurableTracerProvider implements TracerProvider {
 
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile TracerProvider delegate;
 
-    private TracerProvider delegate;
+    /**
+     * Weak values: the tracers bind lazily to the delegate provider so the tracers no longer used, for example the
+     * tracers of the unloaded plugins, can be garbage collected
+     */
+    private final ConcurrentMap<InstrumentationScope, ReconfigurableExtendedTracer> tracers =
+            new MapMaker().weakValues().makeMap();
 
-    private final ConcurrentMap<InstrumentationScope, ReconfigurableExtendedTracer> tracers = new ConcurrentHashMap<>();
+    /**
+     * Tracers of the instrumentation scopes only defined by their name, the most common case, looked up without
+     * allocating an {@link InstrumentationScope}
+     */
+    private final ConcurrentMap<String, ReconfigurableExtendedTracer> tracersByName =
+            new MapMaker().weakValues().makeMap();
 
     public ReconfigurableTracerProvider() {
         this(TracerProvider.noop());
     }
 
     public ReconfigurableTracerProvider(TracerProvider delegate) {
-        this.delegate = delegate;
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
     }
 
     @Override
     public Tracer get(String instrumentationScopeName) {
-        lock.readLock().lock();
-        try {
-            return tracers.computeIfAbsent(
-                    new InstrumentationScope(instrumentationScopeName),
-                    instrumentationScope -> new ReconfigurableExtendedTracer(
-                            delegate.get(instrumentationScope.instrumentationScopeName), lock));
-        } finally {
-            lock.readLock().unlock();
+        ReconfigurableExtendedTracer tracer = tracersByName.get(instrumentationScopeName);
+        if (tracer == null) {
+            tracer = tracers.computeIfAbsent(
+                    new InstrumentationScope(instrumentationScopeName), ReconfigurableExtendedTracer::new);
+            tracersByName.putIfAbsent(instrumentationScopeName, tracer);
         }
+        return tracer;
     }
 
     public void setDelegate(TracerProvider delegate) {
-        lock.writeLock().lock();
-        try {
-            this.delegate = delegate;
-            tracers.forEach((instrumentationScope, reconfigurableExtendedTracer) -> {
-                TracerBuilder tracerBuilder = delegate.tracerBuilder(instrumentationScope.instrumentationScopeName);
-                Optional.ofNullable(instrumentationScope.instrumentationScopeVersion)
-                        .ifPresent(tracerBuilder::setInstrumentationVersion);
-                Optional.ofNullable(instrumentationScope.schemaUrl).ifPresent(tracerBuilder::setSchemaUrl);
-                reconfigurableExtendedTracer.setDelegate(tracerBuilder.build());
-            });
-        } finally {
-            lock.writeLock().unlock();
-        }
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
     }
 
     @Override
     public Tracer get(String instrumentationScopeName, String instrumentationScopeVersion) {
-        lock.readLock().lock();
-        try {
-            return tracers.computeIfAbsent(
-                    new InstrumentationScope(instrumentationScopeName, null, instrumentationScopeVersion),
-                    instrumentationScope -> new ReconfigurableExtendedTracer(
-                            delegate.get(instrumentationScopeName, instrumentationScopeVersion), lock));
-        } finally {
-            lock.readLock().unlock();
-        }
+        return tracers.computeIfAbsent(
+                new InstrumentationScope(instrumentationScopeName, null, instrumentationScopeVersion),
+                ReconfigurableExtendedTracer::new);
     }
 
     @Override
     public TracerBuilder tracerBuilder(String instrumentationScopeName) {
-        lock.readLock().lock();
-        try {
-            return new ReconfigurableTracerBuilder(
-                    delegate.tracerBuilder(instrumentationScopeName), instrumentationScopeName, lock);
-        } finally {
-            lock.readLock().unlock();
-        }
+        return new ReconfigurableTracerBuilder(instrumentationScopeName);
     }
 
     public TracerProvider getDelegate() {
-        lock.readLock().lock();
-        try {
-            return delegate;
-        } finally {
-            lock.readLock().unlock();
-        }
+        return delegate;
     }
 
     @VisibleForTesting
     protected class ReconfigurableTracerBuilder implements TracerBuilder {
-        final TracerBuilder delegate;
         final String instrumentationScopeName;
         String schemaUrl;
         String instrumentationScopeVersion;
-        final ReadWriteLock lock;
 
-        public ReconfigurableTracerBuilder(
-                TracerBuilder delegate, String instrumentationScopeName, ReadWriteLock lock) {
-            this.delegate = Objects.requireNonNull(delegate);
+        public ReconfigurableTracerBuilder(String instrumentationScopeName) {
             this.instrumentationScopeName = Objects.requireNonNull(instrumentationScopeName);
-            this.lock = lock;
         }
 
         @Override
         public TracerBuilder setSchemaUrl(String schemaUrl) {
-            delegate.setSchemaUrl(schemaUrl);
             this.schemaUrl = schemaUrl;
             return this;
         }
 
         @Override
         public TracerBuilder setInstrumentationVersion(String instrumentationScopeVersion) {
-            delegate.setInstrumentationVersion(instrumentationScopeVersion);
             this.instrumentationScopeVersion = instrumentationScopeVersion;
             return this;
         }
 
         @Override
         public Tracer build() {
-            lock.readLock().lock();
-            try {
-                InstrumentationScope instrumentationScope =
-                        new InstrumentationScope(instrumentationScopeName, schemaUrl, instrumentationScopeVersion);
-                return tracers.computeIfAbsent(
-                        instrumentationScope, k -> new ReconfigurableExtendedTracer(delegate.build(), lock));
-            } finally {
-                lock.readLock().unlock();
-            }
+            InstrumentationScope instrumentationScope =
+                    new InstrumentationScope(instrumentationScopeName, schemaUrl, instrumentationScopeVersion);
+            return tracers.computeIfAbsent(instrumentationScope, ReconfigurableExtendedTracer::new);
         }
     }
 
+    /**
+     * <p>
+     * {@link ExtendedTracer} bound lazily to the delegate {@link TracerProvider} of the
+     * {@link ReconfigurableTracerProvider}.
+     * </p>
+     * <p>
+     * The delegate provider instance acts as the epoch of the binding: {@link #spanBuilder(String)} compares the
+     * provider the tracer was built from with the current one, two volatile reads, and only rebuilds the delegate
+     * tracer on the first use after {@link ReconfigurableTracerProvider#setDelegate(TracerProvider)}.
+     * A span builder obtained just before the change keeps using the previous delegate.
+     * </p>
+     */
     @VisibleForTesting
-    protected static class ReconfigurableExtendedTracer implements ExtendedTracer {
-        final ReadWriteLock lock;
+    protected class ReconfigurableExtendedTracer implements ExtendedTracer {
+
+        final InstrumentationScope instrumentationScope;
 
-        ExtendedTracer delegate;
+        private volatile Binding binding = Binding.UNBOUND;
 
-        public ReconfigurableExtendedTracer(Tracer delegate, ReadWriteLock lock) {
-            this.lock = Objects.requireNonNull(lock, "lock");
-            this.delegate = Objects.requireNonNull(requiresExtendedTracer(delegate), "delegate");
+        ReconfigurableExtendedTracer(InstrumentationScope instrumentationScope) {
+            this.instrumentationScope = Objects.requireNonNull(instrumentationScope, "instrumentationScope");
         }
 
         private static ExtendedTracer requiresExtendedTracer(Tracer tracer) {
@@ -185,40 +162,50 @@ class ReconfigurableTracerProvider implements TracerProvider {
 
         @Override
         public ExtendedSpanBuilder spanBuilder(@Nonnull String spanName) {
-            lock.readLock().lock();
-            try {
-                return delegate.spanBuilder(spanName);
-            } finally {
-                lock.readLock().unlock();
-            }
+            return getDelegate().spanBuilder(spanName);
         }
 
-        public void setDelegate(Tracer delegate) {
-            lock.writeLock().lock();
-            try {
-                this.delegate = requiresExtendedTracer(delegate);
-            } finally {
-                lock.writeLock().unlock();
+        public ExtendedTracer getDelegate() {
+            Binding binding = this.binding;
+            TracerProvider tracerProvider = delegate;
+            if (binding.tracerProvider != tracerProvider) {
+                binding = rebind(tracerProvider);
             }
+            return binding.tracer;
         }
 
-        public ExtendedTracer getDelegate() {
-            lock.readLock().lock();
-            try {
-                return delegate;
-            } finally {
-                lock.readLock().unlock();
+        private synchronized Binding rebind(TracerProvider tracerProvider) {
+            Binding binding = this.binding;
+            if (binding.tracerProvider != tracerProvider) {
+                TracerBuilder tracerBuilder =
+                        tracerProvider.tracerBuilder(instrumentationScope.instrumentationScopeName);
+                Optional.ofNullable(instrumentationScope.instrumentationScopeVersion)
+                        .ifPresent(tracerBuilder::setInstrumentationVersion);
+                Optional.ofNullable(instrumentationScope.schemaUrl).ifPresent(tracerBuilder::setSchemaUrl);
+                binding = new Binding(tracerProvider, requiresExtendedTracer(tracerBuilder.build()));
+                this.binding = binding;
             }
+            return binding;
         }
 
         @Override
         public boolean isEnabled() {
-            lock.readLock().lock();
-            try {
-                return delegate.isEnabled();
-            } finally {
-                lock.readLock().unlock();
-            }
+            return getDelegate().isEnabled();
+        }
+    }
+
+    /**
+     * Delegate tracer and the delegate provider it was built from, published together.
+     */
+    private static final class Binding {
+        static final Binding UNBOUND = new Binding(null, null);
+
+        final TracerProvider tracerProvider;
+        final ExtendedTracer tracer;
+
+        Binding(TracerProvider tracerProvider, ExtendedTracer tracer) {
+            this.tracerProvider = tracerProvider;
+            this.tracer = tracer;
         }
     }
 }
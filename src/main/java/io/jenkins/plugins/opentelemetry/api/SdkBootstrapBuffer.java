@@ -0,0 +1,444 @@
+/*
+ * Copyright The Original Author or Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.jenkins.plugins.opentelemetry.api;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.Value;
+import io.opentelemetry.api.logs.Severity;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.logs.LogRecordProcessor;
+import io.opentelemetry.sdk.logs.ReadWriteLogRecord;
+import io.opentelemetry.sdk.logs.SdkLoggerProvider;
+import io.opentelemetry.sdk.logs.data.Body;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.DelegatingSpanData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * <p>
+ * Lightweight tracer and logger providers installed while the OpenTelemetry SDK is built in the background at the
+ * startup of Jenkins (see {@link ReconfigurableOpenTelemetry#SDK_BOOTSTRAP_DEFERRED_PROPERTY}), so that the spans and
+ * the log records emitted during the startup are not lost.
+ * </p>
+ * <p>
+ * The providers are built without any SPI lookup or resource detection. The ended spans and the emitted log records
+ * are kept in memory, up to {@value #MAX_BUFFERED_ITEMS} of each, then {@link #replay(Resource, Sampler,
+ * SpanProcessor, LogRecordProcessor)} hands them to the processors of the built SDK with its resource, as if they were
+ * emitted by the built SDK: the traces are sampled by the sampler of the built SDK and the processors batch the
+ * exports on their own threads. The spans started during the startup and ended after the replay, and the log records
+ * emitted through a logger obtained during the startup, are handed to the processors of the built SDK as well.
+ * </p>
+ */
+@ThreadSafe
+class SdkBootstrapBuffer {
+    private static final Logger logger = Logger.getLogger(SdkBootstrapBuffer.class.getName());
+
+    static final int MAX_BUFFERED_ITEMS = 2048;
+
+    private final SdkTracerProvider tracerProvider;
+
+    private final SdkLoggerProvider loggerProvider;
+
+    @GuardedBy("this")
+    private final List<ReadableSpan> spans = new ArrayList<>();
+
+    @GuardedBy("this")
+    private final List<LogRecordData> logRecords = new ArrayList<>();
+
+    /**
+     * Sampling decision of each replayed trace, followed by the spans of the trace ending after the replay
+     */
+    @GuardedBy("this")
+    private final Map<String, Boolean> sampledTraces = new HashMap<>();
+
+    @GuardedBy("this")
+    private int droppedItems;
+
+    /**
+     * Built SDK, {@code null} until the replay
+     */
+    @GuardedBy("this")
+    @Nullable
+    private Replay replay;
+
+    SdkBootstrapBuffer() {
+        this.tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(new BufferingSpanProcessor())
+                .build();
+        this.loggerProvider = SdkLoggerProvider.builder()
+                .addLogRecordProcessor(new BufferingLogRecordProcessor())
+                .build();
+    }
+
+    SdkTracerProvider getTracerProvider() {
+        return tracerProvider;
+    }
+
+    SdkLoggerProvider getLoggerProvider() {
+        return loggerProvider;
+    }
+
+    /**
+     * Hands the buffered spans and log records to the given processors of the built SDK with the given resource, the
+     * spans are sampled by the given sampler. The providers are not shut down, the spans started during the bootstrap
+     * may still end.
+     */
+    void replay(
+            Resource resource, Sampler sampler, SpanProcessor spanProcessor, LogRecordProcessor logRecordProcessor) {
+        Replay replay = new Replay(resource, sampler, spanProcessor, logRecordProcessor);
+        List<ReadableSpan> spans;
+        List<LogRecordData> logRecords;
+        synchronized (this) {
+            if (this.replay != null) {
+                return;
+            }
+            this.replay = replay;
+            spans = new ArrayList<>(this.spans);
+            logRecords = new ArrayList<>(this.logRecords);
+            this.spans.clear();
+            this.logRecords.clear();
+            if (droppedItems > 0) {
+                logger.log(
+                        Level.WARNING,
+                        "Dropped " + droppedItems + " spans and log records emitted during the OpenTelemetry SDK"
+                                + " bootstrap, buffer limited to " + MAX_BUFFERED_ITEMS);
+            }
+        }
+        logger.log(
+                Level.FINE,
+                () -> "Replay " + spans.size() + " spans and " + logRecords.size()
+                        + " log records emitted during the OpenTelemetry SDK bootstrap");
+        // the parent spans start first and take the sampling decision of their trace
+        spans.sort(Comparator.comparingLong(span -> span.toSpanData().getStartEpochNanos()));
+        for (ReadableSpan span : spans) {
+            replay.onEnd(span);
+        }
+        for (LogRecordData logRecord : logRecords) {
+            replay.onEmit(logRecord);
+        }
+    }
+
+    /**
+     * Drops the buffered spans and log records, for example when the SDK can't be built
+     */
+    void discard() {
+        replay(Resource.empty(), Sampler.alwaysOff(), SpanProcessor.composite(), LogRecordProcessor.composite());
+    }
+
+    /**
+     * Processors of the built SDK
+     */
+    private final class Replay {
+        final Resource resource;
+        final Sampler sampler;
+        final SpanProcessor spanProcessor;
+        final LogRecordProcessor logRecordProcessor;
+
+        Replay(Resource resource, Sampler sampler, SpanProcessor spanProcessor, LogRecordProcessor logRecordProcessor) {
+            this.resource = resource;
+            this.sampler = sampler;
+            this.spanProcessor = spanProcessor;
+            this.logRecordProcessor = logRecordProcessor;
+        }
+
+        void onEnd(ReadableSpan span) {
+            ReadableSpan spanWithResource = new ResourceOverridingReadableSpan(span, resource);
+            if (spanProcessor.isEndRequired() && isSampled(spanWithResource.toSpanData())) {
+                spanProcessor.onEnd(spanWithResource);
+            }
+        }
+
+        private boolean isSampled(SpanData span) {
+            synchronized (SdkBootstrapBuffer.this) {
+                return sampledTraces.computeIfAbsent(span.getTraceId(), traceId -> {
+                    SpanContext parentSpanContext = span.getParentSpanContext();
+                    Context parentContext = parentSpanContext.isValid()
+                            ? Context.root().with(Span.wrap(parentSpanContext))
+                            : Context.root();
+                    return sampler.shouldSample(
+                                            parentContext,
+                                            traceId,
+                                            span.getName(),
+                                            span.getKind(),
+                                            span.getAttributes(),
+                                            span.getLinks())
+                                    .getDecision()
+                            == SamplingDecision.RECORD_AND_SAMPLE;
+                });
+            }
+        }
+
+        void onEmit(LogRecordData logRecord) {
+            SpanContext spanContext = logRecord.getSpanContext();
+            Context context = spanContext.isValid() ? Context.root().with(Span.wrap(spanContext)) : Context.root();
+            logRecordProcessor.onEmit(context, new ReplayedLogRecord(logRecord, resource));
+        }
+    }
+
+    private class BufferingSpanProcessor implements SpanProcessor {
+        @Override
+        public void onStart(Context parentContext, ReadWriteSpan span) {}
+
+        @Override
+        public boolean isStartRequired() {
+            return false;
+        }
+
+        @Override
+        public void onEnd(ReadableSpan span) {
+            Replay replay;
+            synchronized (SdkBootstrapBuffer.this) {
+                replay = SdkBootstrapBuffer.this.replay;
+                if (replay == null) {
+                    if (spans.size() < MAX_BUFFERED_ITEMS) {
+                        spans.add(span);
+                    } else {
+                        droppedItems++;
+                    }
+                    return;
+                }
+            }
+            // started during the bootstrap and ended after the replay
+            replay.onEnd(span);
+        }
+
+        @Override
+        public boolean isEndRequired() {
+            return true;
+        }
+    }
+
+    private class BufferingLogRecordProcessor implements LogRecordProcessor {
+        @Override
+        public void onEmit(Context context, ReadWriteLogRecord logRecord) {
+            LogRecordData logRecordData = logRecord.toLogRecordData();
+            Replay replay;
+            synchronized (SdkBootstrapBuffer.this) {
+                replay = SdkBootstrapBuffer.this.replay;
+                if (replay == null) {
+                    if (logRecords.size() < MAX_BUFFERED_ITEMS) {
+                        logRecords.add(logRecordData);
+                    } else {
+                        droppedItems++;
+                    }
+                    return;
+                }
+            }
+            // emitted through a logger obtained during the bootstrap
+            replay.onEmit(logRecordData);
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+
+    /**
+     * {@link ReadableSpan} ended during the bootstrap handed to the processors of the built SDK with its resource
+     */
+    private static final class ResourceOverridingReadableSpan implements ReadableSpan {
+        private final ReadableSpan delegate;
+        private final Resource resource;
+
+        ResourceOverridingReadableSpan(ReadableSpan delegate, Resource resource) {
+            this.delegate = delegate;
+            this.resource = resource;
+        }
+
+        @Override
+        public SpanData toSpanData() {
+            return new DelegatingSpanData(delegate.toSpanData()) {
+                @Override
+                public Resource getResource() {
+                    return resource;
+                }
+            };
+        }
+
+        @Override
+        public SpanContext getSpanContext() {
+            return delegate.getSpanContext();
+        }
+
+        @Override
+        public SpanContext getParentSpanContext() {
+            return delegate.getParentSpanContext();
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public InstrumentationLibraryInfo getInstrumentationLibraryInfo() {
+            return delegate.getInstrumentationLibraryInfo();
+        }
+
+        @Override
+        public InstrumentationScopeInfo getInstrumentationScopeInfo() {
+            return delegate.getInstrumentationScopeInfo();
+        }
+
+        @Override
+        public boolean hasEnded() {
+            return delegate.hasEnded();
+        }
+
+        @Override
+        public long getLatencyNanos() {
+            return delegate.getLatencyNanos();
+        }
+
+        @Override
+        public SpanKind getKind() {
+            return delegate.getKind();
+        }
+
+        @Nullable
+        @Override
+        public <T> T getAttribute(AttributeKey<T> key) {
+            return delegate.getAttribute(key);
+        }
+
+        @Override
+        public Attributes getAttributes() {
+            return delegate.getAttributes();
+        }
+    }
+
+    /**
+     * {@link ReadWriteLogRecord} emitted during the bootstrap handed to the processors of the built SDK with its
+     * resource
+     */
+    private static final class ReplayedLogRecord implements ReadWriteLogRecord {
+        private final LogRecordData delegate;
+        private final Resource resource;
+
+        @GuardedBy("this")
+        private Attributes attributes;
+
+        ReplayedLogRecord(LogRecordData delegate, Resource resource) {
+            this.delegate = delegate;
+            this.resource = resource;
+            this.attributes = delegate.getAttributes();
+        }
+
+        @Override
+        public synchronized <T> ReadWriteLogRecord setAttribute(AttributeKey<T> key, T value) {
+            attributes = attributes.toBuilder().put(key, value).build();
+            return this;
+        }
+
+        @Override
+        public synchronized LogRecordData toLogRecordData() {
+            return new ResourceOverridingLogRecordData(delegate, resource, attributes);
+        }
+    }
+
+    /**
+     * {@link LogRecordData} emitted during the bootstrap with the resource of the built SDK and the attributes set by
+     * its processors
+     */
+    private static final class ResourceOverridingLogRecordData implements LogRecordData {
+        private final LogRecordData delegate;
+        private final Resource resource;
+        private final Attributes attributes;
+
+        ResourceOverridingLogRecordData(LogRecordData delegate, Resource resource, Attributes attributes) {
+            this.delegate = delegate;
+            this.resource = resource;
+            this.attributes = attributes;
+        }
+
+        @Override
+        public Resource getResource() {
+            return resource;
+        }
+
+        @Override
+        public InstrumentationScopeInfo getInstrumentationScopeInfo() {
+            return delegate.getInstrumentationScopeInfo();
+        }
+
+        @Override
+        public long getTimestampEpochNanos() {
+            return delegate.getTimestampEpochNanos();
+        }
+
+        @Override
+        public long getObservedTimestampEpochNanos() {
+            return delegate.getObservedTimestampEpochNanos();
+        }
+
+        @Override
+        public SpanContext getSpanContext() {
+            return delegate.getSpanContext();
+        }
+
+        @Override
+        public Severity getSeverity() {
+            return delegate.getSeverity();
+        }
+
+        @Override
+        public String getSeverityText() {
+            return delegate.getSeverityText();
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public Body getBody() {
+            return delegate.getBody();
+        }
+
+        @Override
+        public Value<?> getBodyValue() {
+            return delegate.getBodyValue();
+        }
+
+        @Override
+        public Attributes getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public int getTotalAttributeCount() {
+            return Math.max(delegate.getTotalAttributeCount(), attributes.size());
+        }
+
+        @Override
+        public String getEventName() {
+            return delegate.getEventName();
+        }
+    }
+}
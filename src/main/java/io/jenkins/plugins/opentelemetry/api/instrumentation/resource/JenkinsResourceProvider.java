@@ -16,6 +16,17 @@ import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+/**
+ * <p>
+ * Jenkins attributes of the OpenTelemetry resource, computed from the configuration properties only.
+ * </p>
+ * <p>
+ * Cheap and non-blocking, this provider is invoked inline by the SDK autoconfiguration on each reconfiguration,
+ * without the background detection and the timeout that the {@code CachingComponentLoader} applies to the host, OS,
+ * process and container detectors, so that {@code service.name}, {@code jenkins.url} and {@code jenkins.version} are
+ * always part of the resource.
+ * </p>
+ */
 public class JenkinsResourceProvider implements ResourceProvider {
     private static final Logger LOGGER = Logger.getLogger(JenkinsResourceProvider.class.getName());
 
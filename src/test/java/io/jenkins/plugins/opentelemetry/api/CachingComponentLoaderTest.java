@@ -0,0 +1,142 @@
+/*
+ * Copyright The Original Author or Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.jenkins.plugins.opentelemetry.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.jenkins.plugins.opentelemetry.api.instrumentation.resource.JenkinsResourceProvider;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.common.ComponentLoader;
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import io.opentelemetry.sdk.autoconfigure.spi.ResourceProvider;
+import io.opentelemetry.sdk.autoconfigure.spi.internal.DefaultConfigProperties;
+import io.opentelemetry.sdk.resources.Resource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class CachingComponentLoaderTest {
+
+    @Test
+    void testDiscoveredProvidersAreCachedUntilPluginsChange() {
+        AtomicInteger discoveries = new AtomicInteger();
+        AtomicInteger detections = new AtomicInteger();
+        TestResourceProvider testResourceProvider = new TestResourceProvider(detections);
+        CachingComponentLoader componentLoader = newCachingComponentLoader(List.of(testResourceProvider), discoveries);
+        componentLoader.setDiscoveryContext(Collections.singletonList("plugin-a:1.0"));
+
+        // not wrapped so that the SDK applies otel.java.enabled.resource.providers on the class of the provider
+        assertSame(testResourceProvider, getSingleResourceProvider(componentLoader));
+        assertSame(testResourceProvider, getSingleResourceProvider(componentLoader));
+        assertEquals(1, discoveries.get());
+        assertEquals(1, detections.get());
+
+        componentLoader.setDiscoveryContext(Collections.singletonList("plugin-a:1.0"));
+        getSingleResourceProvider(componentLoader);
+        assertEquals(1, discoveries.get());
+        componentLoader.setDiscoveryContext(List.of("plugin-a:1.0", "plugin-b:2.0"));
+        getSingleResourceProvider(componentLoader);
+        assertEquals(2, discoveries.get());
+        // detected once per class
+        assertEquals(1, detections.get());
+    }
+
+    @Test
+    void testResourceDetectionNotCompletedWithinTimeoutContinuesInTheBackground() throws InterruptedException {
+        AtomicInteger detections = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        JenkinsResourceProvider jenkinsResourceProvider = new JenkinsResourceProvider();
+        CachingComponentLoader componentLoader = newCachingComponentLoader(
+                List.of(new BlockingResourceProvider(detections, release), jenkinsResourceProvider),
+                new AtomicInteger());
+        componentLoader.setResourceDetectionTimeout(DefaultConfigProperties.createFromMap(
+                Map.of(CachingComponentLoader.RESOURCE_DETECTION_TIMEOUT_PROPERTY, "100ms")));
+        CountDownLatch lateDetection = new CountDownLatch(1);
+        AtomicInteger lateDetections = new AtomicInteger();
+        componentLoader.setLateResourceDetectionListener(() -> {
+            lateDetections.incrementAndGet();
+            lateDetection.countDown();
+        });
+
+        // the configuration only provider is never left out
+        assertSame(jenkinsResourceProvider, getSingleResourceProvider(componentLoader));
+        // the detection in progress is reused rather than piling up blocked detections
+        assertSame(jenkinsResourceProvider, getSingleResourceProvider(componentLoader));
+        release.countDown();
+        assertTrue(lateDetection.await(10, TimeUnit.SECONDS));
+        List<ResourceProvider> resourceProviders = new ArrayList<>();
+        componentLoader.load(ResourceProvider.class).forEach(resourceProviders::add);
+        assertEquals(2, resourceProviders.size());
+        Resource resource = resourceProviders
+                .get(0)
+                .createResource(DefaultConfigProperties.createFromMap(Map.of("test.instance", "instance-1")));
+        assertEquals("instance-1", resource.getAttribute(AttributeKey.stringKey("test.instance")));
+        assertEquals(2, detections.get());
+        assertEquals(1, lateDetections.get());
+    }
+
+    private static CachingComponentLoader newCachingComponentLoader(
+            List<ResourceProvider> resourceProviders, AtomicInteger discoveries) {
+        return new CachingComponentLoader(new ComponentLoader() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> Iterable<T> load(Class<T> spiClass) {
+                discoveries.incrementAndGet();
+                return spiClass == ResourceProvider.class ? (Iterable<T>) resourceProviders : Collections.emptyList();
+            }
+        });
+    }
+
+    private static ResourceProvider getSingleResourceProvider(CachingComponentLoader componentLoader) {
+        List<ResourceProvider> resourceProviders = new ArrayList<>();
+        componentLoader.load(ResourceProvider.class).forEach(resourceProviders::add);
+        assertEquals(1, resourceProviders.size());
+        return resourceProviders.get(0);
+    }
+
+    static class TestResourceProvider implements ResourceProvider {
+        final AtomicInteger detections;
+
+        TestResourceProvider(AtomicInteger detections) {
+            this.detections = detections;
+        }
+
+        @Override
+        public Resource createResource(ConfigProperties config) {
+            detections.incrementAndGet();
+            return Resource.builder()
+                    .put("test.instance", config.getString("test.instance", "unknown"))
+                    .build();
+        }
+    }
+
+    static class BlockingResourceProvider extends TestResourceProvider {
+        final CountDownLatch release;
+
+        BlockingResourceProvider(AtomicInteger detections, CountDownLatch release) {
+            super(detections);
+            this.release = release;
+        }
+
+        @Override
+        public Resource createResource(ConfigProperties config) {
+            try {
+                // e.g. blocking hostname resolution
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.createResource(config);
+        }
+    }
+}
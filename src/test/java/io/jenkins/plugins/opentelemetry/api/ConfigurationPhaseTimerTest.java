@@ -0,0 +1,86 @@
+/*
+ * Copyright The Original Author or Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.jenkins.plugins.opentelemetry.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.logs.Severity;
+import io.opentelemetry.sdk.logs.SdkLoggerProvider;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.logs.export.SimpleLogRecordProcessor;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.HistogramPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.testing.exporter.InMemoryLogRecordExporter;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import java.util.Collection;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ConfigurationPhaseTimerTest {
+
+    @Test
+    void testPhaseDurationsArePublishedAsHistogramsAndLogRecord() {
+        InMemoryMetricReader metricReader = InMemoryMetricReader.create();
+        InMemoryLogRecordExporter logRecordExporter = InMemoryLogRecordExporter.create();
+        try (SdkMeterProvider meterProvider = SdkMeterProvider.builder()
+                        .registerMetricReader(metricReader)
+                        .build();
+                SdkLoggerProvider loggerProvider = SdkLoggerProvider.builder()
+                        .addLogRecordProcessor(SimpleLogRecordProcessor.create(logRecordExporter))
+                        .build()) {
+            ConfigurationPhaseTimer phaseTimer = new ConfigurationPhaseTimer();
+            phaseTimer.lap(ConfigurationPhaseTimer.Phase.FINGERPRINT);
+            phaseTimer.lap(ConfigurationPhaseTimer.Phase.REBIND);
+            // accumulated, e.g. rebinding of the signals reconfigured one after the other
+            phaseTimer.lap(ConfigurationPhaseTimer.Phase.REBIND);
+            phaseTimer.publish(meterProvider, loggerProvider);
+
+            Collection<MetricData> metrics = metricReader.collectAllMetrics();
+            MetricData phaseDuration = metrics.stream()
+                    .filter(metric -> metric.getName().equals(ConfigurationPhaseTimer.PHASE_DURATION_HISTOGRAM_NAME))
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals(
+                    ReconfigurableMeterProvider.INSTRUMENTATION_SCOPE_NAME,
+                    phaseDuration.getInstrumentationScopeInfo().getName());
+            assertEquals(2, phaseDuration.getHistogramData().getPoints().size());
+            for (HistogramPointData point : phaseDuration.getHistogramData().getPoints()) {
+                assertEquals(1, point.getCount());
+            }
+            assertNotNull(getPhasePoint(phaseDuration, ConfigurationPhaseTimer.Phase.REBIND));
+            assertNull(getPhasePoint(phaseDuration, ConfigurationPhaseTimer.Phase.LISTENERS));
+            assertEquals(
+                    1,
+                    metrics.stream()
+                            .filter(metric -> metric.getName().equals(ConfigurationPhaseTimer.DURATION_HISTOGRAM_NAME))
+                            .count());
+
+            List<LogRecordData> logRecords = logRecordExporter.getFinishedLogRecordItems();
+            assertEquals(1, logRecords.size());
+            LogRecordData logRecord = logRecords.get(0);
+            assertEquals(Severity.INFO, logRecord.getSeverity());
+            assertNotNull(logRecord
+                    .getAttributes()
+                    .get(AttributeKey.doubleKey(ConfigurationPhaseTimer.PHASE_DURATION_HISTOGRAM_NAME + ".rebind")));
+            assertNotNull(logRecord
+                    .getAttributes()
+                    .get(AttributeKey.doubleKey(ConfigurationPhaseTimer.DURATION_HISTOGRAM_NAME)));
+        }
+    }
+
+    private static HistogramPointData getPhasePoint(MetricData metric, ConfigurationPhaseTimer.Phase phase) {
+        return metric.getHistogramData().getPoints().stream()
+                .filter(point -> point.getAttributes()
+                        .equals(Attributes.of(ConfigurationPhaseTimer.PHASE, phase.attributeValue())))
+                .findFirst()
+                .orElse(null);
+    }
+}
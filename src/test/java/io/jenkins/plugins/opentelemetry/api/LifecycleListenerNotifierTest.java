@@ -0,0 +1,137 @@
+/*
+ * Copyright The Original Author or Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.jenkins.plugins.opentelemetry.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.HistogramPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class LifecycleListenerNotifierTest {
+
+    @Test
+    void testListenersOfSameOrdinalAreNotifiedInParallelAndTimeBoxed() throws InterruptedException {
+        InMemoryMetricReader metricReader = InMemoryMetricReader.create();
+        try (SdkMeterProvider meterProvider =
+                SdkMeterProvider.builder().registerMetricReader(metricReader).build()) {
+            LifecycleListenerNotifier notifier = new LifecycleListenerNotifier(() -> meterProvider
+                    .get("test-meter")
+                    .histogramBuilder(LifecycleListenerNotifier.LISTENER_DURATION_HISTOGRAM_NAME)
+                    .build());
+            notifier.setParallel(true);
+            notifier.setTimeout(Duration.ofMillis(200));
+
+            List<String> notifications = new CopyOnWriteArrayList<>();
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch interrupted = new CountDownLatch(1);
+            // both first listeners must run concurrently to release each other
+            CountDownLatch firstGroup = new CountDownLatch(2);
+            List<OpenTelemetryLifecycleListener> listeners = Arrays.asList(
+                    new TestListener(1, "last", notifications, null),
+                    new TestListener(0, "first-a", notifications, firstGroup),
+                    new TestListener(0, "first-b", notifications, firstGroup),
+                    new StuckListener(0, release, interrupted));
+            try {
+                long startNanos = System.nanoTime();
+                notifier.notify(listeners, listener -> ((TestListener) listener).run());
+                long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+                assertTrue(durationMillis < 5_000, "Notification stalled by the stuck listener: " + durationMillis);
+                assertEquals(3, notifications.size());
+                assertEquals("last", notifications.get(2));
+                assertTrue(interrupted.await(5, TimeUnit.SECONDS), "Stuck listener not cancelled");
+            } finally {
+                release.countDown();
+                notifier.shutdown();
+            }
+
+            MetricData metric = metricReader.collectAllMetrics().stream()
+                    .filter(metricData ->
+                            metricData.getName().equals(LifecycleListenerNotifier.LISTENER_DURATION_HISTOGRAM_NAME))
+                    .findFirst()
+                    .orElseThrow();
+            HistogramPointData point = metric.getHistogramData().getPoints().stream()
+                    .filter(p -> p.getAttributes()
+                            .equals(Attributes.of(
+                                    LifecycleListenerNotifier.LISTENER_NAME, TestListener.class.getName())))
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals(3, point.getCount());
+        }
+    }
+
+    private static class TestListener implements OpenTelemetryLifecycleListener {
+        final int ordinal;
+        final String name;
+        final List<String> notifications;
+        final CountDownLatch group;
+
+        TestListener(int ordinal, String name, List<String> notifications, CountDownLatch group) {
+            this.ordinal = ordinal;
+            this.name = name;
+            this.notifications = notifications;
+            this.group = group;
+        }
+
+        void run() {
+            if (group != null) {
+                group.countDown();
+                try {
+                    if (!group.await(10, TimeUnit.SECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            notifications.add(name);
+        }
+
+        @Override
+        public int ordinal() {
+            return ordinal;
+        }
+
+        @Override
+        public int compareTo(OpenTelemetryLifecycleListener other) {
+            int result = OpenTelemetryLifecycleListener.super.compareTo(other);
+            return result == 0 && other instanceof TestListener ? name.compareTo(((TestListener) other).name) : result;
+        }
+    }
+
+    private static class StuckListener extends TestListener {
+        final CountDownLatch release;
+        final CountDownLatch interrupted;
+
+        StuckListener(int ordinal, CountDownLatch release, CountDownLatch interrupted) {
+            super(ordinal, "stuck", new CopyOnWriteArrayList<>(), null);
+            this.release = release;
+            this.interrupted = interrupted;
+        }
+
+        @Override
+        void run() {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright The Original Author or Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.jenkins.plugins.opentelemetry.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import org.junit.jupiter.api.Test;
+
+class OpenTelemetrySignalTest {
+
+    @Test
+    void testAffectedBy() {
+        assertEquals(EnumSet.of(OpenTelemetrySignal.TRACES), OpenTelemetrySignal.affectedBy("otel.traces.exporter"));
+        assertEquals(
+                EnumSet.of(OpenTelemetrySignal.TRACES),
+                OpenTelemetrySignal.affectedBy("otel.exporter.otlp.traces.endpoint"));
+        assertEquals(EnumSet.of(OpenTelemetrySignal.TRACES), OpenTelemetrySignal.affectedBy("otel.bsp.schedule.delay"));
+        assertEquals(
+                EnumSet.of(OpenTelemetrySignal.METRICS), OpenTelemetrySignal.affectedBy("otel.metric.export.interval"));
+        assertEquals(
+                EnumSet.of(OpenTelemetrySignal.METRICS),
+                OpenTelemetrySignal.affectedBy("otel.exporter.prometheus.port"));
+        assertEquals(EnumSet.of(OpenTelemetrySignal.LOGS), OpenTelemetrySignal.affectedBy("otel.logs.exporter"));
+        assertEquals(EnumSet.of(OpenTelemetrySignal.LOGS), OpenTelemetrySignal.affectedBy("otel.blrp.schedule.delay"));
+
+        assertEquals(
+                EnumSet.allOf(OpenTelemetrySignal.class),
+                OpenTelemetrySignal.affectedBy("otel.exporter.otlp.endpoint"));
+        assertEquals(EnumSet.allOf(OpenTelemetrySignal.class), OpenTelemetrySignal.affectedBy("otel.service.name"));
+
+        assertEquals(Collections.emptySet(), OpenTelemetrySignal.affectedBy("otel.instrumentation.jdbc.enabled"));
+    }
+}
@@ -32,7 +32,7 @@ class ReconfigurableExtendedLoggerProviderTest {
                         .setInstrumentationVersion("1.0.0")
                         .build();
 
-        LoggerMock authenticationLoggerImpl = (LoggerMock) authenticationLogger.delegate;
+        LoggerMock authenticationLoggerImpl = (LoggerMock) authenticationLogger.getDelegate();
         assertEquals("io.jenkins.authentication", authenticationLoggerImpl.instrumentationScopeName);
         assertNull(authenticationLoggerImpl.schemaUrl);
         assertEquals("1.0.0", authenticationLoggerImpl.instrumentationVersion);
@@ -43,7 +43,7 @@ class ReconfigurableExtendedLoggerProviderTest {
                         .loggerBuilder("io.jenkins.build")
                         .setSchemaUrl("https://jenkins.io/build")
                         .build();
-        LoggerMock buildLoggerImpl = (LoggerMock) buildLogger.delegate;
+        LoggerMock buildLoggerImpl = (LoggerMock) buildLogger.getDelegate();
         assertEquals("io.jenkins.build", buildLoggerImpl.instrumentationScopeName);
         assertEquals("https://jenkins.io/build", buildLoggerImpl.schemaUrl);
         assertNull(buildLoggerImpl.instrumentationVersion);
@@ -64,13 +64,13 @@ class ReconfigurableExtendedLoggerProviderTest {
         loggerProvider.setDelegate(loggerProviderImpl_2);
 
         // VERIFY THE DELEGATE IMPL HAS CHANGED WHILE THE PARAMS REMAINS UNCHANGED
-        LoggerMock authenticationLoggerImpl_2 = (LoggerMock) authenticationLogger.delegate;
+        LoggerMock authenticationLoggerImpl_2 = (LoggerMock) authenticationLogger.getDelegate();
         assertEquals("io.jenkins.authentication", authenticationLoggerImpl_2.instrumentationScopeName);
         assertNull(authenticationLoggerImpl_2.schemaUrl);
         assertEquals("1.0.0", authenticationLoggerImpl_2.instrumentationVersion);
         assertEquals(loggerProviderImpl_2.id, authenticationLoggerImpl_2.loggerProviderId);
 
-        LoggerMock buildLoggerImpl_2 = (LoggerMock) buildLogger.delegate;
+        LoggerMock buildLoggerImpl_2 = (LoggerMock) buildLogger.getDelegate();
 
         assertEquals("io.jenkins.build", buildLoggerImpl_2.instrumentationScopeName);
         assertEquals("https://jenkins.io/build", buildLoggerImpl_2.schemaUrl);
@@ -32,7 +32,7 @@ class ReconfigurableExtendedTracerProviderTest {
                         .setInstrumentationVersion("1.0.0")
                         .build();
 
-        TracerMock authenticationTracerImpl = (TracerMock) authenticationTracer.delegate;
+        TracerMock authenticationTracerImpl = (TracerMock) authenticationTracer.getDelegate();
         assertEquals("io.jenkins.authentication", authenticationTracerImpl.instrumentationScopeName);
         assertNull(authenticationTracerImpl.schemaUrl);
         assertEquals("1.0.0", authenticationTracerImpl.instrumentationVersion);
@@ -43,7 +43,7 @@ class ReconfigurableExtendedTracerProviderTest {
                         .tracerBuilder("io.jenkins.build")
                         .setSchemaUrl("https://jenkins.io/build")
                         .build();
-        TracerMock buildTracerImpl = (TracerMock) buildTracer.delegate;
+        TracerMock buildTracerImpl = (TracerMock) buildTracer.getDelegate();
         assertEquals("io.jenkins.build", buildTracerImpl.instrumentationScopeName);
         assertEquals("https://jenkins.io/build", buildTracerImpl.schemaUrl);
         assertNull(buildTracerImpl.instrumentationVersion);
@@ -64,13 +64,13 @@ class ReconfigurableExtendedTracerProviderTest {
         tracerProvider.setDelegate(tracerProviderImpl_2);
 
         // VERIFY THE DELEGATE IMPL HAS CHANGED WHILE THE PARAMS REMAINS UNCHANGED
-        TracerMock authenticationTracerImpl_2 = (TracerMock) authenticationTracer.delegate;
+        TracerMock authenticationTracerImpl_2 = (TracerMock) authenticationTracer.getDelegate();
         assertEquals("io.jenkins.authentication", authenticationTracerImpl_2.instrumentationScopeName);
         assertNull(authenticationTracerImpl_2.schemaUrl);
         assertEquals("1.0.0", authenticationTracerImpl_2.instrumentationVersion);
         assertEquals(tracerProviderImpl_2.id, authenticationTracerImpl_2.tracerProviderId);
 
-        TracerMock buildTracerImpl_2 = (TracerMock) buildTracer.delegate;
+        TracerMock buildTracerImpl_2 = (TracerMock) buildTracer.getDelegate();
 
         assertEquals("io.jenkins.build", buildTracerImpl_2.instrumentationScopeName);
         assertEquals("https://jenkins.io/build", buildTracerImpl_2.schemaUrl);
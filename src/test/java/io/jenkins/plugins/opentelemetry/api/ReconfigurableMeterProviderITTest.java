@@ -5,13 +5,22 @@
 
 package io.jenkins.plugins.opentelemetry.api;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.BatchCallback;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.DoubleHistogramBuilder;
 import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.LongCounterBuilder;
 import io.opentelemetry.api.metrics.LongUpDownCounter;
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.api.metrics.ObservableLongGauge;
 import io.opentelemetry.api.metrics.ObservableLongMeasurement;
 import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
 import io.opentelemetry.context.propagation.ContextPropagators;
@@ -22,11 +31,32 @@ import io.opentelemetry.sdk.OpenTelemetrySdk;
 import io.opentelemetry.sdk.logs.SdkLoggerProvider;
 import io.opentelemetry.sdk.logs.export.SimpleLogRecordProcessor;
 import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.HistogramPointData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.testing.exporter.InMemoryLogRecordExporter;
 import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
 import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
 import io.opentelemetry.sdk.trace.SdkTracerProvider;
 import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
@@ -35,6 +65,20 @@ import org.junit.jupiter.api.Test;
  */
 class ReconfigurableMeterProviderITTest {
 
+    /**
+     * Number of instruments rebound by {@link ReconfigurableMeterProvider#setDelegate(MeterProvider)}, see
+     * {@code ReconfigurationBenchmark} for the latency of the reconfiguration
+     */
+    static final int RECONFIGURATION_INSTRUMENT_COUNT = 10_000;
+
+    /**
+     * Latency budgets of {@link ReconfigurableMeterProvider#setDelegate(MeterProvider)} and of the measurements
+     * recorded meanwhile, generous enough for slow CI agents, see {@code ReconfigurationBenchmark} for actual numbers
+     */
+    static final Duration RECONFIGURATION_BUDGET = Duration.ofSeconds(5);
+
+    static final Duration RECORDING_DURING_RECONFIGURATION_P99_BUDGET = Duration.ofMillis(50);
+
     @AfterEach
     void tearDown() {
         // Reset GlobalOpenTelemetry between tests to avoid "GlobalOpenTelemetry.set has already been called" errors
@@ -108,6 +152,29 @@ class ReconfigurableMeterProviderITTest {
         }
     }
 
+    @Test
+    void testReplacedOpenTelemetrySdkIsDrainedAsynchronously() {
+        try (ReconfigurableOpenTelemetry reconfigurableOpenTelemetry = new ReconfigurableOpenTelemetry();
+                OpenTelemetryTest openTelemetryTest_1 = newOpenTelemetryTest();
+                OpenTelemetryTest openTelemetryTest_2 = newOpenTelemetryTest()) {
+            reconfigurableOpenTelemetry.setOpenTelemetryImpl(openTelemetryTest_1.openTelemetrySdk);
+            LongCounter longCounter = reconfigurableOpenTelemetry
+                    .getMeter("test-meter")
+                    .counterBuilder("test.long.counter")
+                    .build();
+            longCounter.add(1);
+
+            reconfigurableOpenTelemetry.setOpenTelemetryImpl(openTelemetryTest_2.openTelemetrySdk);
+            longCounter.add(2);
+
+            assertTrue(reconfigurableOpenTelemetry
+                    .getSdkDrain()
+                    .join(10, TimeUnit.SECONDS)
+                    .isSuccess());
+            assertEquals(2, getLongSum("test.long.counter", openTelemetryTest_2.metricReader));
+        }
+    }
+
     @Test
     void testReconfigurableOpenTelemetrySdkAfterNopInitialization() {
         try (ReconfigurableOpenTelemetry reconfigurableOpenTelemetry = new ReconfigurableOpenTelemetry()) {
@@ -190,6 +257,699 @@ class ReconfigurableMeterProviderITTest {
         }
     }
 
+    @Test
+    void testMeasurementsRecordedDuringReconfigurationAreNeitherLostNorDuplicated() throws Exception {
+        ReconfigurableMeterProvider meterProvider = new ReconfigurableMeterProvider();
+        try (OpenTelemetryTest openTelemetryTest_1 = newOpenTelemetryTest();
+                OpenTelemetryTest openTelemetryTest_2 = newOpenTelemetryTest()) {
+            meterProvider.setDelegate(openTelemetryTest_1.openTelemetrySdk.getMeterProvider());
+            LongCounter longCounter = meterProvider
+                    .get("test-meter")
+                    .counterBuilder("test.long.counter")
+                    .build();
+
+            int threads = 4;
+            int incrementsPerThread = 50_000;
+            ExecutorService executorService = Executors.newFixedThreadPool(threads);
+            try {
+                CountDownLatch started = new CountDownLatch(threads);
+                List<Future<?>> recorders = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    recorders.add(executorService.submit(() -> {
+                        started.countDown();
+                        for (int j = 0; j < incrementsPerThread; j++) {
+                            longCounter.add(1);
+                        }
+                    }));
+                }
+                started.await();
+                meterProvider.setDelegate(openTelemetryTest_2.openTelemetrySdk.getMeterProvider());
+                for (Future<?> recorder : recorders) {
+                    recorder.get(1, TimeUnit.MINUTES);
+                }
+            } finally {
+                executorService.shutdown();
+            }
+
+            long total = getLongSum("test.long.counter", openTelemetryTest_1.metricReader)
+                    + getLongSum("test.long.counter", openTelemetryTest_2.metricReader);
+            assertEquals((long) threads * incrementsPerThread, total);
+        }
+    }
+
+    @Test
+    void testSynchronousInstrumentsAreReboundOnFirstUseAfterReconfiguration() {
+        ReconfigurableMeterProvider meterProvider = new ReconfigurableMeterProvider();
+        try (OpenTelemetryTest openTelemetryTest_1 = newOpenTelemetryTest();
+                OpenTelemetryTest openTelemetryTest_2 = newOpenTelemetryTest()) {
+            meterProvider.setDelegate(openTelemetryTest_1.openTelemetrySdk.getMeterProvider());
+            Meter meter = meterProvider.get("test-meter");
+            LongCounter activeCounter =
+                    meter.counterBuilder("test.active.counter").build();
+            LongCounter idleCounter = meter.counterBuilder("test.idle.counter").build();
+            activeCounter.add(1);
+            idleCounter.add(1);
+            assertMetricExist("test.idle.counter", openTelemetryTest_1.metricReader);
+
+            meterProvider.setDelegate(openTelemetryTest_2.openTelemetrySdk.getMeterProvider());
+            assertMetricDoesntExist("test.active.counter", openTelemetryTest_2.metricReader);
+
+            activeCounter.add(2);
+            assertEquals(2, getLongSum("test.active.counter", openTelemetryTest_2.metricReader));
+            assertMetricDoesntExist("test.idle.counter", openTelemetryTest_2.metricReader);
+        }
+    }
+
+    @Test
+    void testPreAggregatedCountersAreFlushedBeforeCollection() {
+        ReconfigurableMeterProvider meterProvider = new ReconfigurableMeterProvider();
+        InMemoryMetricReader metricReader_1 = InMemoryMetricReader.create();
+        InMemoryMetricReader metricReader_2 = InMemoryMetricReader.create();
+        try (SdkMeterProvider sdkMeterProvider_1 = SdkMeterProvider.builder()
+                        .registerMetricReader(meterProvider.preparingCollections(metricReader_1))
+                        .build();
+                SdkMeterProvider sdkMeterProvider_2 = SdkMeterProvider.builder()
+                        .registerMetricReader(meterProvider.preparingCollections(metricReader_2))
+                        .build()) {
+            meterProvider.setDelegate(sdkMeterProvider_1);
+            Meter meter = meterProvider.get("test-meter");
+            LongCounterBuilder counterBuilder = meter.counterBuilder("test.pre.aggregated.counter");
+            ((PreAggregatableCounterBuilder) counterBuilder).setPreAggregated(true);
+            LongCounter counter = counterBuilder.build();
+            Attributes attributes = Attributes.of(AttributeKey.stringKey("label"), "linux");
+            for (int i = 0; i < 1_000; i++) {
+                counter.add(1, attributes);
+            }
+            counter.add(-1, attributes);
+            assertEquals(1_000, getLongSum("test.pre.aggregated.counter", metricReader_1));
+
+            counter.add(2, attributes);
+            meterProvider.setDelegate(sdkMeterProvider_2);
+            counter.add(3, attributes);
+            assertEquals(1_002, getLongSum("test.pre.aggregated.counter", metricReader_1));
+            assertEquals(3, getLongSum("test.pre.aggregated.counter", metricReader_2));
+
+            // pre-aggregated with the measurements without attributes
+            counter.add(4, null);
+            assertEquals(7, getLongSum("test.pre.aggregated.counter", metricReader_2));
+        }
+    }
+
+    @Test
+    void testBufferedHistogramsAreDrainedBeforeCollection() throws Exception {
+        ReconfigurableMeterProvider meterProvider = new ReconfigurableMeterProvider();
+        InMemoryMetricReader metricReader_1 = InMemoryMetricReader.create();
+        InMemoryMetricReader metricReader_2 = InMemoryMetricReader.create();
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try (SdkMeterProvider sdkMeterProvider_1 = SdkMeterProvider.builder()
+                        .registerMetricReader(meterProvider.preparingCollections(metricReader_1))
+                        .build();
+                SdkMeterProvider sdkMeterProvider_2 = SdkMeterProvider.builder()
+                        .registerMetricReader(meterProvider.preparingCollections(metricReader_2))
+                        .build()) {
+            meterProvider.setDelegate(sdkMeterProvider_1);
+            Meter meter = meterProvider.get("test-meter");
+            DoubleHistogramBuilder histogramBuilder = meter.histogramBuilder("test.buffered.histogram");
+            ((BufferableHistogramBuilder) histogramBuilder).setBuffered(true);
+            histogramBuilder.setExplicitBucketBoundariesAdvice(List.of(1.0, 10.0));
+            DoubleHistogram histogram = histogramBuilder.build();
+
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executorService.submit(() -> {
+                    for (int j = 0; j < 1_000; j++) {
+                        histogram.record(5);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+            HistogramPointData point = getHistogramPoint("test.buffered.histogram", metricReader_1);
+            assertEquals(4_000, point.getCount());
+            assertEquals(20_000, point.getSum());
+            assertEquals(List.of(1.0, 10.0), point.getBoundaries());
+
+            histogram.record(2);
+            meterProvider.setDelegate(sdkMeterProvider_2);
+            histogram.record(3);
+            // drained with the measurements without attributes
+            histogram.record(4, null);
+            assertEquals(
+                    20_002,
+                    getHistogramPoint("test.buffered.histogram", metricReader_1).getSum());
+            assertEquals(
+                    7,
+                    getHistogramPoint("test.buffered.histogram", metricReader_2).getSum());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void testAttributeSetsBeyondCardinalityLimitAreRecordedInOverflowSeries() {
+        ReconfigurableMeterProvider meterProvider = new ReconfigurableMeterProvider();
+        meterProvider.setCardinalityLimit(2);
+        try (OpenTelemetryTest openTelemetryTest = newOpenTelemetryTest()) {
+            meterProvider.setDelegate(openTelemetryTest.openTelemetrySdk.getMeterProvider());
+            LongCounter counter = meterProvider
+                    .get("test-meter")
+                    .counterBuilder("test.job.counter")
+                    .build();
+            AttributeKey<String> jobName = AttributeKey.stringKey("job.name");
+            for (String job : List.of("job-1", "job-2", "job-3", "job-4", "job-1")) {
+                counter.add(1, Attributes.of(jobName, job));
+            }
+
+            Map<Attributes, Long> series = openTelemetryTest.metricReader.collectAllMetrics().stream()
+                    .filter(metricData -> "test.job.counter".equals(metricData.getName()))
+                    .flatMap(metricData -> metricData.getLongSumData().getPoints().stream())
+                    .collect(Collectors.toMap(LongPointData::getAttributes, LongPointData::getValue));
+            assertEquals(
+                    Map.of(
+                            Attributes.of(jobName, "job-1"),
+                            2L,
+                            Attributes.of(jobName, "job-2"),
+                            1L,
+                            ReconfigurableMeterProvider.CardinalityLimiter.OVERFLOW_ATTRIBUTES,
+                            2L),
+                    series);
+            assertEquals(
+                    2,
+                    getLongSum(
+                            ReconfigurableMeterProvider.CardinalityLimiter.OVERFLOW_COUNTER_NAME,
+                            openTelemetryTest.metricReader));
+        }
+    }
+
+    @Test
+    void testCardinalityLimitOutlivesGarbageCollectedInstruments() throws InterruptedException {
+        ReconfigurableMeterProvider meterProvider = new ReconfigurableMeterProvider();
+        meterProvider.setCardinalityLimit(2);
+        try (OpenTelemetryTest openTelemetryTest = newOpenTelemetryTest()) {
+            meterProvider.setDelegate(openTelemetryTest.openTelemetrySdk.getMeterProvider());
+            Meter meter = meterProvider.get("test-meter");
+            AttributeKey<String> jobName = AttributeKey.stringKey("job.name");
+            LongCounter counter = meter.counterBuilder("test.job.counter").build();
+            counter.add(1, Attributes.of(jobName, "job-1"));
+            counter.add(1, Attributes.of(jobName, "job-2"));
+            WeakReference<LongCounter> counterReference = new WeakReference<>(counter);
+            counter = null;
+            for (int i = 0; i < 50 && counterReference.get() != null; i++) {
+                System.gc();
+                Thread.sleep(10);
+            }
+            assertNull(counterReference.get());
+
+            meter.counterBuilder("test.job.counter").build().add(1, Attributes.of(jobName, "job-3"));
+
+            Map<Attributes, Long> series = openTelemetryTest.metricReader.collectAllMetrics().stream()
+                    .filter(metricData -> "test.job.counter".equals(metricData.getName()))
+                    .flatMap(metricData -> metricData.getLongSumData().getPoints().stream())
+                    .collect(Collectors.toMap(LongPointData::getAttributes, LongPointData::getValue));
+            assertEquals(
+                    Map.of(
+                            Attributes.of(jobName, "job-1"),
+                            1L,
+                            Attributes.of(jobName, "job-2"),
+                            1L,
+                            ReconfigurableMeterProvider.CardinalityLimiter.OVERFLOW_ATTRIBUTES,
+                            1L),
+                    series);
+        }
+    }
+
+    @Test
+    void testCardinalityLimitFollowsTheSeriesOfTheDelegate() {
+        ReconfigurableMeterProvider meterProvider = new ReconfigurableMeterProvider();
+        meterProvider.setCardinalityLimit(1);
+        InMemoryMetricReader deltaMetricReader = InMemoryMetricReader.createDelta();
+        try (SdkMeterProvider deltaSdkMeterProvider = SdkMeterProvider.builder()
+                        .registerMetricReader(meterProvider.preparingCollections(deltaMetricReader))
+                        .build();
+                OpenTelemetryTest openTelemetryTest = newOpenTelemetryTest()) {
+            meterProvider.setDelegate(deltaSdkMeterProvider);
+            Meter meter = meterProvider.get("test-meter");
+            LongCounter counter = meter.counterBuilder("test.job.counter").build();
+            LongUpDownCounter upDownCounter = meter.upDownCounterBuilder("test.job.updowncounter").build();
+            AttributeKey<String> jobName = AttributeKey.stringKey("job.name");
+            counter.add(1, Attributes.of(jobName, "job-1"));
+            counter.add(1, Attributes.of(jobName, "job-2"));
+            upDownCounter.add(1, Attributes.of(jobName, "job-1"));
+            // the empty attribute set is limited like any other attribute set
+            upDownCounter.add(1);
+            Collection<MetricData> metrics = deltaMetricReader.collectAllMetrics();
+            assertEquals(
+                    Map.of(
+                            Attributes.of(jobName, "job-1"),
+                            1L,
+                            ReconfigurableMeterProvider.CardinalityLimiter.OVERFLOW_ATTRIBUTES,
+                            1L),
+                    getLongSumSeries("test.job.counter", metrics));
+            assertEquals(
+                    Map.of(
+                            Attributes.of(jobName, "job-1"),
+                            1L,
+                            ReconfigurableMeterProvider.CardinalityLimiter.OVERFLOW_ATTRIBUTES,
+                            1L),
+                    getLongSumSeries("test.job.updowncounter", metrics));
+
+            // the delta series are forgotten by the SDK on each collection
+            counter.add(1, Attributes.of(jobName, "job-2"));
+            assertEquals(
+                    Map.of(Attributes.of(jobName, "job-2"), 1L),
+                    getLongSumSeries("test.job.counter", deltaMetricReader.collectAllMetrics()));
+
+            // the new delegate doesn't hold any series
+            meterProvider.setDelegate(openTelemetryTest.openTelemetrySdk.getMeterProvider());
+            counter.add(1, Attributes.of(jobName, "job-3"));
+            assertEquals(
+                    Map.of(Attributes.of(jobName, "job-3"), 1L),
+                    getLongSumSeries("test.job.counter", openTelemetryTest.metricReader.collectAllMetrics()));
+        }
+    }
+
+    static Map<Attributes, Long> getLongSumSeries(String name, Collection<MetricData> metrics) {
+        return metrics.stream()
+                .filter(metricData -> name.equals(metricData.getName()))
+                .flatMap(metricData -> metricData.getLongSumData().getPoints().stream())
+                .collect(Collectors.toMap(LongPointData::getAttributes, LongPointData::getValue));
+    }
+
+    @Test
+    void testObservableCallbacksAreInvokedOnTheCollectingThreadByDefault() {
+        ReconfigurableMeterProvider meterProvider = new ReconfigurableMeterProvider();
+        InMemoryMetricReader metricReader = InMemoryMetricReader.create();
+        try (SdkMeterProvider sdkMeterProvider = SdkMeterProvider.builder()
+                .registerMetricReader(meterProvider.preparingCollections(metricReader))
+                .build()) {
+            meterProvider.setDelegate(sdkMeterProvider);
+            Meter meter = meterProvider.get("test-meter");
+            List<Thread> callbackThreads = new ArrayList<>();
+            meter.gaugeBuilder("test.gauge").ofLongs().buildWithCallback(measurement -> {
+                callbackThreads.add(Thread.currentThread());
+                measurement.record(1);
+            });
+
+            assertMetricExist("test.gauge", metricReader);
+            assertEquals(List.of(Thread.currentThread()), callbackThreads);
+        }
+    }
+
+    @Test
+    void testObservableCallbacksAreExecutedInParallelAndTimeBoxed() {
+        ReconfigurableMeterProvider meterProvider = new ReconfigurableMeterProvider();
+        meterProvider.setCallbackParallel(true);
+        meterProvider.setCallbackTimeout(Duration.ofSeconds(2));
+        InMemoryMetricReader metricReader = InMemoryMetricReader.create();
+        try (SdkMeterProvider sdkMeterProvider = SdkMeterProvider.builder()
+                .registerMetricReader(meterProvider.preparingCollections(metricReader))
+                .build()) {
+            meterProvider.setDelegate(sdkMeterProvider);
+            Meter meter = meterProvider.get("test-meter");
+            // each slow callback only records once the other one runs concurrently
+            CyclicBarrier slowCallbacks = new CyclicBarrier(2);
+            for (String name : List.of("test.slow.gauge.1", "test.slow.gauge.2")) {
+                meter.gaugeBuilder(name).ofLongs().buildWithCallback(measurement -> {
+                    try {
+                        slowCallbacks.await(1, TimeUnit.SECONDS);
+                        measurement.record(1);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (BrokenBarrierException | TimeoutException e) {
+                        slowCallbacks.reset();
+                    }
+                });
+            }
+            AtomicInteger stuckCallbackInvocations = new AtomicInteger();
+            meter.gaugeBuilder("test.stuck.gauge").ofLongs().buildWithCallback(measurement -> {
+                stuckCallbackInvocations.incrementAndGet();
+                sleep(Duration.ofSeconds(30));
+                measurement.record(1);
+            });
+
+            for (int i = 0; i < ObservableCallbackExecutor.MAX_CONSECUTIVE_TIMEOUTS; i++) {
+                Collection<MetricData> metrics = metricReader.collectAllMetrics();
+                assertTrue(metrics.stream().anyMatch(metricData -> "test.slow.gauge.1".equals(metricData.getName())));
+                assertTrue(metrics.stream().anyMatch(metricData -> "test.slow.gauge.2".equals(metricData.getName())));
+                assertTrue(metrics.stream().noneMatch(metricData -> "test.stuck.gauge".equals(metricData.getName())));
+            }
+            assertEquals(ObservableCallbackExecutor.MAX_CONSECUTIVE_TIMEOUTS, stuckCallbackInvocations.get());
+            // the stuck callback is disabled
+            metricReader.collectAllMetrics();
+            assertEquals(ObservableCallbackExecutor.MAX_CONSECUTIVE_TIMEOUTS, stuckCallbackInvocations.get());
+            assertMetricExist(ObservableCallbackExecutor.CALLBACK_DURATION_HISTOGRAM_NAME, metricReader);
+        }
+    }
+
+    @Test
+    void testCallbacksNotStartedBecauseOfStuckCallbacksAreDisabled() {
+        ReconfigurableMeterProvider meterProvider = new ReconfigurableMeterProvider();
+        meterProvider.setCallbackParallel(true);
+        meterProvider.setCallbackTimeout(Duration.ofMillis(500));
+        InMemoryMetricReader metricReader = InMemoryMetricReader.create();
+        CountDownLatch release = new CountDownLatch(1);
+        try (SdkMeterProvider sdkMeterProvider = SdkMeterProvider.builder()
+                .registerMetricReader(meterProvider.preparingCollections(metricReader))
+                .build()) {
+            meterProvider.setDelegate(sdkMeterProvider);
+            Meter meter = meterProvider.get("test-meter");
+            // more callbacks ignoring the interruption than threads, the last ones never start
+            for (int i = 0; i < 16; i++) {
+                meter.gaugeBuilder("test.stuck.gauge." + i).ofLongs().buildWithCallback(measurement -> {
+                    while (true) {
+                        try {
+                            release.await();
+                            return;
+                        } catch (InterruptedException e) {
+                            // ignore the interruption
+                        }
+                    }
+                });
+            }
+
+            for (int i = 0; i < ObservableCallbackExecutor.MAX_CONSECUTIVE_TIMEOUTS; i++) {
+                long startNanos = System.nanoTime();
+                Collection<MetricData> metrics = metricReader.collectAllMetrics();
+                Duration collectionDuration = Duration.ofNanos(System.nanoTime() - startNanos);
+                assertTrue(collectionDuration.compareTo(Duration.ofSeconds(2)) < 0, "took " + collectionDuration);
+                assertTrue(metrics.stream()
+                        .noneMatch(metricData -> metricData.getName().startsWith("test.stuck.gauge.")));
+            }
+            // all the callbacks are disabled, the collection doesn't wait anymore
+            long startNanos = System.nanoTime();
+            metricReader.collectAllMetrics();
+            assertTrue(Duration.ofNanos(System.nanoTime() - startNanos).compareTo(Duration.ofMillis(400)) < 0);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testConcurrentCollectionsWaitForTheirOwnCallbackExecutions() throws Exception {
+        ReconfigurableMeterProvider meterProvider = new ReconfigurableMeterProvider();
+        meterProvider.setCallbackParallel(true);
+        InMemoryMetricReader prometheusMetricReader = InMemoryMetricReader.create();
+        InMemoryMetricReader otlpMetricReader = InMemoryMetricReader.create();
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try (SdkMeterProvider sdkMeterProvider = SdkMeterProvider.builder()
+                .registerMetricReader(meterProvider.preparingCollections(prometheusMetricReader))
+                .registerMetricReader(meterProvider.preparingCollections(otlpMetricReader))
+                .build()) {
+            meterProvider.setDelegate(sdkMeterProvider);
+            Meter meter = meterProvider.get("test-meter");
+            AtomicInteger callbackInvocations = new AtomicInteger();
+            meter.counterBuilder("test.slow.counter").buildWithCallback(measurement -> {
+                callbackInvocations.incrementAndGet();
+                sleep(Duration.ofMillis(300));
+                measurement.record(1);
+            });
+
+            for (int i = 0; i < 3; i++) {
+                Future<Long> otlpSum =
+                        executorService.submit(() -> getLongSum("test.slow.counter", otlpMetricReader));
+                assertEquals(1, getLongSum("test.slow.counter", prometheusMetricReader));
+                assertEquals(1, otlpSum.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(6, callbackInvocations.get());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void testMemoizedObservableCallbacksAreInvokedOncePerTtl() {
+        ReconfigurableMeterProvider meterProvider = new ReconfigurableMeterProvider();
+        InMemoryMetricReader prometheusMetricReader = InMemoryMetricReader.create();
+        InMemoryMetricReader otlpMetricReader = InMemoryMetricReader.create();
+        try (SdkMeterProvider sdkMeterProvider = SdkMeterProvider.builder()
+                .registerMetricReader(meterProvider.preparingCollections(prometheusMetricReader))
+                .registerMetricReader(meterProvider.preparingCollections(otlpMetricReader))
+                .build()) {
+            meterProvider.setDelegate(sdkMeterProvider);
+            Meter meter = meterProvider.get("test-meter");
+            AtomicInteger callbackInvocations = new AtomicInteger();
+            LongCounterBuilder memoizedCounterBuilder = meter.counterBuilder("test.memoized.counter");
+            ((MemoizableCallbackBuilder) memoizedCounterBuilder).setCallbackMemoizationTtl(Duration.ofMinutes(1));
+            memoizedCounterBuilder.buildWithCallback(
+                    measurement -> measurement.record(callbackInvocations.incrementAndGet()));
+            AtomicInteger batchCallbackInvocations = new AtomicInteger();
+            LongCounterBuilder memoizedBatchCounterBuilder = meter.counterBuilder("test.memoized.batch.counter");
+            ((MemoizableCallbackBuilder) memoizedBatchCounterBuilder).setCallbackMemoizationTtl(Duration.ofMinutes(1));
+            ObservableLongMeasurement batchMeasurement = memoizedBatchCounterBuilder.buildObserver();
+            meter.batchCallback(
+                    () -> batchMeasurement.record(batchCallbackInvocations.incrementAndGet()), batchMeasurement);
+            AtomicInteger notMemoizedCallbackInvocations = new AtomicInteger();
+            meter.counterBuilder("test.not.memoized.counter")
+                    .buildWithCallback(
+                            measurement -> measurement.record(notMemoizedCallbackInvocations.incrementAndGet()));
+
+            for (int i = 0; i < 3; i++) {
+                assertEquals(1, getLongSum("test.memoized.counter", prometheusMetricReader));
+                assertEquals(1, getLongSum("test.memoized.counter", otlpMetricReader));
+                assertEquals(1, getLongSum("test.memoized.batch.counter", prometheusMetricReader));
+                assertEquals(1, getLongSum("test.memoized.batch.counter", otlpMetricReader));
+            }
+            assertEquals(1, callbackInvocations.get());
+            assertEquals(1, batchCallbackInvocations.get());
+            // invoked by each of the 12 collections
+            assertEquals(12, notMemoizedCallbackInvocations.get());
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void testBoundCountersFollowReconfiguration() {
+        ReconfigurableMeterProvider meterProvider = new ReconfigurableMeterProvider();
+        try (OpenTelemetryTest openTelemetryTest_1 = newOpenTelemetryTest();
+                OpenTelemetryTest openTelemetryTest_2 = newOpenTelemetryTest()) {
+            meterProvider.setDelegate(openTelemetryTest_1.openTelemetrySdk.getMeterProvider());
+            Meter meter = meterProvider.get("test-meter");
+            BoundLongCounter boundCounter = ((BindableLongCounter)
+                            meter.counterBuilder("test.bound.counter").build())
+                    .bind(Attributes.of(AttributeKey.stringKey("label"), "linux"));
+            boundCounter.add(1);
+            boundCounter.add(2);
+            assertEquals(3, getLongSum("test.bound.counter", openTelemetryTest_1.metricReader));
+
+            meterProvider.setDelegate(openTelemetryTest_2.openTelemetrySdk.getMeterProvider());
+            boundCounter.add(5);
+            assertEquals(5, getLongSum("test.bound.counter", openTelemetryTest_2.metricReader));
+            assertEquals(
+                    "linux",
+                    openTelemetryTest_2.metricReader.collectAllMetrics().stream()
+                            .flatMap(metricData -> metricData.getLongSumData().getPoints().stream())
+                            .findFirst()
+                            .orElseThrow()
+                            .getAttributes()
+                            .get(AttributeKey.stringKey("label")));
+        }
+    }
+
+    @Test
+    void testBoundPreAggregatedCountersResolveCardinalityOnBind() {
+        ReconfigurableMeterProvider meterProvider = new ReconfigurableMeterProvider();
+        meterProvider.setCardinalityLimit(1);
+        InMemoryMetricReader metricReader_1 = InMemoryMetricReader.create();
+        InMemoryMetricReader metricReader_2 = InMemoryMetricReader.create();
+        try (SdkMeterProvider sdkMeterProvider_1 = SdkMeterProvider.builder()
+                        .registerMetricReader(meterProvider.preparingCollections(metricReader_1))
+                        .build();
+                SdkMeterProvider sdkMeterProvider_2 = SdkMeterProvider.builder()
+                        .registerMetricReader(meterProvider.preparingCollections(metricReader_2))
+                        .build()) {
+            meterProvider.setDelegate(sdkMeterProvider_1);
+            LongCounterBuilder counterBuilder = meterProvider.get("test-meter").counterBuilder("test.bound.counter");
+            ((PreAggregatableCounterBuilder) counterBuilder).setPreAggregated(true);
+            BindableLongCounter counter = (BindableLongCounter) counterBuilder.build();
+            AttributeKey<String> label = AttributeKey.stringKey("label");
+            BoundLongCounter linuxCounter = counter.bind(Attributes.of(label, "linux"));
+            BoundLongCounter windowsCounter = counter.bind(Attributes.of(label, "windows"));
+            for (int i = 0; i < 1_000; i++) {
+                linuxCounter.add(1);
+            }
+            windowsCounter.add(1);
+            assertEquals(1_001, getLongSum("test.bound.counter", metricReader_1));
+
+            meterProvider.setDelegate(sdkMeterProvider_2);
+            linuxCounter.add(2);
+            windowsCounter.add(3);
+            Map<Attributes, Long> series = metricReader_2.collectAllMetrics().stream()
+                    .filter(metricData -> "test.bound.counter".equals(metricData.getName()))
+                    .flatMap(metricData -> metricData.getLongSumData().getPoints().stream())
+                    .collect(Collectors.toMap(LongPointData::getAttributes, LongPointData::getValue));
+            assertEquals(
+                    Map.of(
+                            Attributes.of(label, "linux"),
+                            2L,
+                            ReconfigurableMeterProvider.CardinalityLimiter.OVERFLOW_ATTRIBUTES,
+                            3L),
+                    series);
+        }
+    }
+
+    @Test
+    void testClosedObservableInstrumentsAndBatchCallbacksAreNotReregistered() {
+        ReconfigurableMeterProvider meterProvider = new ReconfigurableMeterProvider();
+        try (OpenTelemetryTest openTelemetryTest_1 = newOpenTelemetryTest();
+                OpenTelemetryTest openTelemetryTest_2 = newOpenTelemetryTest()) {
+            meterProvider.setDelegate(openTelemetryTest_1.openTelemetrySdk.getMeterProvider());
+            ReconfigurableMeterProvider.ReconfigurableMeter meter =
+                    (ReconfigurableMeterProvider.ReconfigurableMeter) meterProvider.get("test-meter");
+
+            ObservableLongGauge observableLongGauge = meter.gaugeBuilder("test.observable.long.gauge")
+                    .ofLongs()
+                    .buildWithCallback(observableLongMeasurement -> observableLongMeasurement.record(1));
+            ObservableLongMeasurement observableLongMeasurement =
+                    meter.counterBuilder("test.batch.long.counter").buildObserver();
+            BatchCallback batchCallback =
+                    meter.batchCallback(() -> observableLongMeasurement.record(1), observableLongMeasurement);
+            assertMetricExist("test.observable.long.gauge", openTelemetryTest_1.metricReader);
+            assertMetricExist("test.batch.long.counter", openTelemetryTest_1.metricReader);
+
+            observableLongGauge.close();
+            batchCallback.close();
+            assertEquals(0, meter.registry.count(ReconfigurableMeterProvider.InstrumentKind.OBSERVABLE_LONG_GAUGE));
+            assertEquals(0, meter.registry.count(ReconfigurableMeterProvider.InstrumentKind.BATCH_CALLBACK));
+            assertMetricDoesntExist("test.observable.long.gauge", openTelemetryTest_1.metricReader);
+
+            meterProvider.setDelegate(openTelemetryTest_2.openTelemetrySdk.getMeterProvider());
+            assertMetricDoesntExist("test.observable.long.gauge", openTelemetryTest_2.metricReader);
+            assertMetricDoesntExist("test.batch.long.counter", openTelemetryTest_2.metricReader);
+        }
+    }
+
+    @Test
+    void testManyInstrumentsAreReboundOnReconfigurationWithinBudget() throws InterruptedException {
+        ReconfigurableMeterProvider meterProvider = new ReconfigurableMeterProvider();
+        try (OpenTelemetryTest openTelemetryTest_1 = newOpenTelemetryTest();
+                OpenTelemetryTest openTelemetryTest_2 = newOpenTelemetryTest()) {
+            meterProvider.setDelegate(openTelemetryTest_1.openTelemetrySdk.getMeterProvider());
+            Meter meter = meterProvider.get("test-meter");
+            List<LongCounter> longCounters = registerInstruments(meter, RECONFIGURATION_INSTRUMENT_COUNT);
+            longCounters.forEach(longCounter -> longCounter.add(1));
+            assertEquals(1, getLongSum("test.counter.0", openTelemetryTest_1.metricReader));
+
+            // counters of their own so that the values of the rebound counters are checked afterward
+            List<LongCounter> recordingCounters = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                recordingCounters.add(meter.counterBuilder("test.recording.counter." + i).build());
+            }
+            AtomicBoolean reconfiguring = new AtomicBoolean();
+            AtomicBoolean stopped = new AtomicBoolean();
+            long[] recordingLatencies = new long[1_000_000];
+            AtomicInteger recordingLatencyCount = new AtomicInteger();
+            CountDownLatch started = new CountDownLatch(1);
+            Thread recorder = new Thread(() -> {
+                started.countDown();
+                for (int i = 0; !stopped.get(); i++) {
+                    boolean sampled = reconfiguring.get();
+                    long start = System.nanoTime();
+                    recordingCounters.get(i % recordingCounters.size()).add(1);
+                    long latency = System.nanoTime() - start;
+                    if (sampled && recordingLatencyCount.get() < recordingLatencies.length) {
+                        recordingLatencies[recordingLatencyCount.getAndIncrement()] = latency;
+                    }
+                }
+            });
+            recorder.start();
+            started.await();
+
+            reconfiguring.set(true);
+            long start = System.nanoTime();
+            meterProvider.setDelegate(openTelemetryTest_2.openTelemetrySdk.getMeterProvider());
+            long reconfigurationDuration = System.nanoTime() - start;
+            reconfiguring.set(false);
+            stopped.set(true);
+            recorder.join(TimeUnit.MINUTES.toMillis(1));
+
+            assertTrue(
+                    reconfigurationDuration < RECONFIGURATION_BUDGET.toNanos(),
+                    "Reconfiguration of " + RECONFIGURATION_INSTRUMENT_COUNT + " instruments took "
+                            + Duration.ofNanos(reconfigurationDuration) + ", budget " + RECONFIGURATION_BUDGET);
+            long[] latencies = Arrays.copyOf(recordingLatencies, recordingLatencyCount.get());
+            if (latencies.length > 0) {
+                Arrays.sort(latencies);
+                long p99 = latencies[(int) Math.ceil(latencies.length * 0.99) - 1];
+                assertTrue(
+                        p99 < RECORDING_DURING_RECONFIGURATION_P99_BUDGET.toNanos(),
+                        "p99 recording latency during reconfiguration " + Duration.ofNanos(p99) + ", budget "
+                                + RECORDING_DURING_RECONFIGURATION_P99_BUDGET);
+            }
+
+            longCounters.forEach(longCounter -> longCounter.add(1));
+
+            Collection<MetricData> metrics = openTelemetryTest_2.metricReader.collectAllMetrics();
+            Map<String, MetricData> metricsByName =
+                    metrics.stream().collect(Collectors.toMap(MetricData::getName, metricData -> metricData));
+            for (int i = 0; i < RECONFIGURATION_INSTRUMENT_COUNT; i++) {
+                if (i % 10 < 4) {
+                    MetricData counter = metricsByName.get("test.counter." + i);
+                    assertEquals(1, counter.getLongSumData().getPoints().size(), counter.getName());
+                    assertEquals(
+                            1,
+                            counter.getLongSumData().getPoints().iterator().next().getValue(),
+                            counter.getName());
+                } else if (i % 10 == 7 || i % 10 == 8) {
+                    String gaugeName = "test.observable.gauge." + i;
+                    assertTrue(metricsByName.containsKey(gaugeName), gaugeName);
+                } else if (i % 10 == 9) {
+                    String batchCounterName = "test.batch.counter." + i;
+                    assertTrue(metricsByName.containsKey(batchCounterName), batchCounterName);
+                }
+            }
+        }
+    }
+
+    /**
+     * Registers the given number of instruments on the given meter: 40% counters, 30% histograms, 20% observable gauges
+     * and 10% observable counters reported through batch callbacks.
+     *
+     * @return the registered counters
+     */
+    static List<LongCounter> registerInstruments(Meter meter, int instrumentCount) {
+        List<LongCounter> longCounters = new ArrayList<>();
+        for (int i = 0; i < instrumentCount; i++) {
+            switch (i % 10) {
+                case 0, 1, 2, 3 ->
+                    longCounters.add(meter.counterBuilder("test.counter." + i).build());
+                case 4, 5, 6 -> meter.histogramBuilder("test.histogram." + i).build();
+                case 7, 8 ->
+                    meter.gaugeBuilder("test.observable.gauge." + i)
+                            .buildWithCallback(observableDoubleMeasurement -> observableDoubleMeasurement.record(1));
+                default -> {
+                    ObservableLongMeasurement observableLongMeasurement =
+                            meter.counterBuilder("test.batch.counter." + i).buildObserver();
+                    meter.batchCallback(() -> observableLongMeasurement.record(1), observableLongMeasurement);
+                }
+            }
+        }
+        return longCounters;
+    }
+
+    private static long getLongSum(String metricName, InMemoryMetricReader metricReader) {
+        return metricReader.collectAllMetrics().stream()
+                .filter(metricData -> metricName.equals(metricData.getName()))
+                .flatMap(metricData -> metricData.getLongSumData().getPoints().stream())
+                .mapToLong(LongPointData::getValue)
+                .sum();
+    }
+
+    private static HistogramPointData getHistogramPoint(String metricName, InMemoryMetricReader metricReader) {
+        return metricReader.collectAllMetrics().stream()
+                .filter(metricData -> metricName.equals(metricData.getName()))
+                .flatMap(metricData -> metricData.getHistogramData().getPoints().stream())
+                .findFirst()
+                .orElseThrow();
+    }
+
     private static void assertMetricExist(String metricName, InMemoryMetricReader metricReader) {
         assertTrue(
                 metricReader.collectAllMetrics().stream()
@@ -204,7 +964,7 @@ class ReconfigurableMeterProviderITTest {
                 "Metric '" + metricName + "' should not exist");
     }
 
-    OpenTelemetryTest newOpenTelemetryTest() {
+    static OpenTelemetryTest newOpenTelemetryTest() {
 
         InMemoryLogRecordExporter testLogRecordExporter = InMemoryLogRecordExporter.create();
 
@@ -38,6 +38,7 @@ import io.opentelemetry.api.metrics.ObservableMeasurement;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfoBuilder;
+import java.lang.ref.WeakReference;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
@@ -292,6 +293,60 @@ class ReconfigurableMeterProviderTest {
         assertEquals(meterProviderImpl_2.id, ((LongHistogramMock) longHistogram.getDelegate()).meterProviderId);
     }
 
+    @Test
+    void testUnusedMetersAreGarbageCollectedUnlessTheyHaveCallbacks() throws InterruptedException {
+        ReconfigurableMeterProvider meterProvider = new ReconfigurableMeterProvider();
+        WeakReference<Meter> unusedMeter = new WeakReference<>(meterProvider.get("io.jenkins.unused"));
+        meterProvider.get("io.jenkins.unused").counterBuilder("unused.counter").build();
+        ObservableLongGauge gauge = meterProvider
+                .get("io.jenkins.callback")
+                .gaugeBuilder("gauge")
+                .ofLongs()
+                .buildWithCallback(measurement -> measurement.record(1));
+        WeakReference<Meter> callbackMeter = new WeakReference<>(meterProvider.get("io.jenkins.callback"));
+
+        awaitGarbageCollection(unusedMeter);
+        assertNull(unusedMeter.get());
+        assertNotNull(callbackMeter.get());
+
+        meterProvider.setDelegate(new MeterProviderMock());
+        assertSame(callbackMeter.get(), meterProvider.get("io.jenkins.callback"));
+
+        gauge.close();
+        gauge = null;
+        awaitGarbageCollection(callbackMeter);
+        assertNull(callbackMeter.get());
+    }
+
+    private static void awaitGarbageCollection(WeakReference<?> reference) throws InterruptedException {
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void testExistingInstrumentsAreReturnedWithoutCreatingDelegateBuilders() {
+        ReconfigurableMeterProvider meterProvider = new ReconfigurableMeterProvider(new MeterProviderMock());
+        ReconfigurableMeterProvider.ReconfigurableMeter meter =
+                (ReconfigurableMeterProvider.ReconfigurableMeter) meterProvider.get("io.jenkins");
+        MeterMock meterImpl = (MeterMock) meter.delegate;
+
+        Consumer<ObservableLongMeasurement> callback = measurement -> measurement.record(1);
+        ObservableLongCounter observableLongCounter =
+                meter.counterBuilder("observable.long.counter").buildWithCallback(callback);
+        LongCounter longCounter = meter.counterBuilder("long.counter").build();
+        assertEquals(1, meterImpl.counterBuilderInvocations.get());
+
+        for (int i = 0; i < 10; i++) {
+            assertSame(
+                    observableLongCounter,
+                    meter.counterBuilder("observable.long.counter").buildWithCallback(callback));
+            assertSame(longCounter, meter.counterBuilder("long.counter").build());
+        }
+        assertEquals(1, meterImpl.counterBuilderInvocations.get());
+    }
+
     static class MeterProviderMock implements MeterProvider {
         static final AtomicInteger ID_SOURCE = new AtomicInteger(0);
         final String id;
@@ -317,6 +372,7 @@ class ReconfigurableMeterProviderTest {
         final InstrumentationScopeInfo instrumentationScopeInfo;
         final String meterProviderId;
         final String id;
+        final AtomicInteger counterBuilderInvocations = new AtomicInteger();
 
         public MeterMock(InstrumentationScopeInfo instrumentationScopeInfo, String meterProviderId) {
             this.id = "MeterMock-" + ID_SOURCE.incrementAndGet();
@@ -326,6 +382,7 @@ class ReconfigurableMeterProviderTest {
 
         @Override
         public LongCounterBuilder counterBuilder(String name) {
+            counterBuilderInvocations.incrementAndGet();
             return new LongCounterBuilderMock(id, meterProviderId);
         }
 
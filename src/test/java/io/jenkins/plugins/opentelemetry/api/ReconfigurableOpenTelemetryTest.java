@@ -2,14 +2,21 @@ package io.jenkins.plugins.opentelemetry.api;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.logs.export.LogRecordExporter;
 import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.semconv.ServiceAttributes;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -193,6 +200,93 @@ class ReconfigurableOpenTelemetryTest {
         }
     }
 
+    @Test
+    void test_configuration_unchanged_does_not_rebuild_the_sdk() {
+        Map<String, String> otelConfig = new HashMap<>();
+        otelConfig.put("otel.exporter.otlp.endpoint", "http://localhost:4317");
+        Resource otelResource = Resource.builder()
+                .put(ServiceAttributes.SERVICE_NAME, "jenkins-123")
+                .build();
+        reconfigurableOpenTelemetry.configure(otelConfig, otelResource, true);
+        OpenTelemetry openTelemetryImpl = reconfigurableOpenTelemetry.getImplementation();
+
+        reconfigurableOpenTelemetry.configure(new HashMap<>(otelConfig), otelResource, true);
+        assertSame(openTelemetryImpl, reconfigurableOpenTelemetry.getImplementation());
+
+        otelConfig.put("otel.exporter.otlp.endpoint", "http://localhost:4318");
+        reconfigurableOpenTelemetry.configure(otelConfig, otelResource, true);
+        assertNotSame(openTelemetryImpl, reconfigurableOpenTelemetry.getImplementation());
+    }
+
+    @Test
+    void test_configuration_of_the_instrumentations_only_does_not_rebuild_the_sdk() {
+        Map<String, String> otelConfig = new HashMap<>();
+        otelConfig.put("otel.exporter.otlp.endpoint", "http://localhost:4317");
+        Resource otelResource = Resource.builder()
+                .put(ServiceAttributes.SERVICE_NAME, "jenkins-123")
+                .build();
+        reconfigurableOpenTelemetry.configure(otelConfig, otelResource, true);
+        OpenTelemetry openTelemetryImpl = reconfigurableOpenTelemetry.getImplementation();
+
+        otelConfig.put("otel.instrumentation.jdbc.enabled", "true");
+        otelConfig.put("otel.jenkins.lifecycle.listener.parallel", "true");
+        reconfigurableOpenTelemetry.configure(otelConfig, otelResource, true);
+        assertSame(openTelemetryImpl, reconfigurableOpenTelemetry.getImplementation());
+        assertTrue(reconfigurableOpenTelemetry.getConfig().getBoolean("otel.instrumentation.jdbc.enabled"));
+        assertEquals(
+                "http://localhost:4317",
+                reconfigurableOpenTelemetry.getConfig().getString("otel.exporter.otlp.endpoint"));
+
+        otelConfig.remove("otel.instrumentation.jdbc.enabled");
+        reconfigurableOpenTelemetry.configure(otelConfig, otelResource, true);
+        assertSame(openTelemetryImpl, reconfigurableOpenTelemetry.getImplementation());
+        assertNull(reconfigurableOpenTelemetry.getConfig().getString("otel.instrumentation.jdbc.enabled"));
+        assertTrue(reconfigurableOpenTelemetry.getConfig().getBoolean("otel.jenkins.lifecycle.listener.parallel"));
+    }
+
+    @Test
+    void test_configuration_of_a_single_signal_keeps_the_providers_of_the_other_signals() {
+        Map<String, String> otelConfig = new HashMap<>();
+        otelConfig.put("otel.traces.exporter", "console");
+        otelConfig.put("otel.metrics.exporter", "console");
+        otelConfig.put("otel.logs.exporter", "console");
+        Resource otelResource = Resource.builder()
+                .put(ServiceAttributes.SERVICE_NAME, "jenkins-123")
+                .build();
+        reconfigurableOpenTelemetry.configure(otelConfig, otelResource, true);
+        OpenTelemetrySdk openTelemetrySdk = (OpenTelemetrySdk) reconfigurableOpenTelemetry.getImplementation();
+
+        otelConfig.put("otel.blrp.schedule.delay", "2s");
+        reconfigurableOpenTelemetry.configure(otelConfig, otelResource, true);
+        OpenTelemetrySdk reconfiguredOpenTelemetrySdk =
+                (OpenTelemetrySdk) reconfigurableOpenTelemetry.getImplementation();
+
+        assertSame(openTelemetrySdk.getSdkTracerProvider(), reconfiguredOpenTelemetrySdk.getSdkTracerProvider());
+        assertSame(openTelemetrySdk.getSdkMeterProvider(), reconfiguredOpenTelemetrySdk.getSdkMeterProvider());
+        assertNotSame(openTelemetrySdk.getSdkLoggerProvider(), reconfiguredOpenTelemetrySdk.getSdkLoggerProvider());
+        assertEquals("2s", reconfigurableOpenTelemetry.getConfig().getString("otel.blrp.schedule.delay"));
+        assertEquals("console", reconfigurableOpenTelemetry.getConfig().getString("otel.metrics.exporter"));
+    }
+
+    @Test
+    void test_sdk_bootstrap_is_deferred_after_a_noop_configuration() {
+        try (ReconfigurableOpenTelemetry openTelemetry = new ReconfigurableOpenTelemetry()) {
+            Map<String, String> otelConfig = new HashMap<>();
+            Resource otelResource = Resource.builder()
+                    .put(ServiceAttributes.SERVICE_NAME, "jenkins-123")
+                    .build();
+            openTelemetry.configure(otelConfig, otelResource, true);
+            CompletableResultCode sdkBootstrap = openTelemetry.getSdkBootstrap();
+
+            otelConfig.put(ReconfigurableOpenTelemetry.SDK_BOOTSTRAP_DEFERRED_PROPERTY, "true");
+            otelConfig.put("otel.traces.exporter", "console");
+            openTelemetry.configure(otelConfig, otelResource, true);
+            assertNotSame(sdkBootstrap, openTelemetry.getSdkBootstrap());
+            assertTrue(openTelemetry.getSdkBootstrap().join(10, TimeUnit.SECONDS).isSuccess());
+            assertInstanceOf(OpenTelemetrySdk.class, openTelemetry.getImplementation());
+        }
+    }
+
     @AfterAll
     static void afterClass() {
         reconfigurableOpenTelemetry.close();
@@ -0,0 +1,100 @@
+/*
+ * Copyright The Original Author or Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.jenkins.plugins.opentelemetry.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.logs.export.SimpleLogRecordProcessor;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.testing.exporter.InMemoryLogRecordExporter;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.semconv.ServiceAttributes;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SdkBootstrapBufferTest {
+
+    @Test
+    void testSpansAndLogRecordsEmittedDuringBootstrapAreReplayed() {
+        SdkBootstrapBuffer sdkBootstrapBuffer = new SdkBootstrapBuffer();
+        Tracer tracer = sdkBootstrapBuffer.getTracerProvider().get("test-tracer");
+        tracer.spanBuilder("ended-during-bootstrap").startSpan().end();
+        Span longSpan = tracer.spanBuilder("ended-after-bootstrap").startSpan();
+        sdkBootstrapBuffer
+                .getLoggerProvider()
+                .get("test-logger")
+                .logRecordBuilder()
+                .setBody("emitted during bootstrap")
+                .emit();
+
+        InMemorySpanExporter spanExporter = InMemorySpanExporter.create();
+        InMemoryLogRecordExporter logRecordExporter = InMemoryLogRecordExporter.create();
+        Resource resource = Resource.builder()
+                .put(ServiceAttributes.SERVICE_NAME, "jenkins-123")
+                .build();
+        assertTrue(spanExporter.getFinishedSpanItems().isEmpty());
+        sdkBootstrapBuffer.replay(
+                resource,
+                Sampler.alwaysOn(),
+                SimpleSpanProcessor.create(spanExporter),
+                SimpleLogRecordProcessor.create(logRecordExporter));
+
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        assertEquals(1, spans.size());
+        assertEquals("ended-during-bootstrap", spans.get(0).getName());
+        assertEquals(resource, spans.get(0).getResource());
+        List<LogRecordData> logRecords = logRecordExporter.getFinishedLogRecordItems();
+        assertEquals(1, logRecords.size());
+        assertEquals("emitted during bootstrap", logRecords.get(0).getBodyValue().asString());
+        assertEquals(resource, logRecords.get(0).getResource());
+
+        longSpan.end();
+        spans = spanExporter.getFinishedSpanItems();
+        assertEquals(2, spans.size());
+        assertEquals("ended-after-bootstrap", spans.get(1).getName());
+        assertEquals(resource, spans.get(1).getResource());
+        sdkBootstrapBuffer
+                .getLoggerProvider()
+                .get("test-logger")
+                .logRecordBuilder()
+                .setBody("emitted after bootstrap")
+                .emit();
+        logRecords = logRecordExporter.getFinishedLogRecordItems();
+        assertEquals(2, logRecords.size());
+        assertEquals("emitted after bootstrap", logRecords.get(1).getBodyValue().asString());
+    }
+
+    @Test
+    void testSpansEmittedDuringBootstrapAreSampledByTheBuiltSdk() {
+        SdkBootstrapBuffer sdkBootstrapBuffer = new SdkBootstrapBuffer();
+        Tracer tracer = sdkBootstrapBuffer.getTracerProvider().get("test-tracer");
+        Span parentSpan = tracer.spanBuilder("parent").startSpan();
+        tracer.spanBuilder("child")
+                .setParent(Context.root().with(parentSpan))
+                .startSpan()
+                .end();
+
+        InMemorySpanExporter spanExporter = InMemorySpanExporter.create();
+        sdkBootstrapBuffer.replay(
+                Resource.empty(),
+                Sampler.alwaysOff(),
+                SimpleSpanProcessor.create(spanExporter),
+                SimpleLogRecordProcessor.create(InMemoryLogRecordExporter.create()));
+        assertTrue(spanExporter.getFinishedSpanItems().isEmpty());
+
+        // the sampling decision of the trace applies to its spans ending after the replay
+        parentSpan.end();
+        assertTrue(spanExporter.getFinishedSpanItems().isEmpty());
+    }
+}